@@ -3,8 +3,6 @@ package com.yy.allgomath.config;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import com.yy.allgomath.fourier.dto.FourierResult;
-import com.yy.allgomath.plotter.dto.SurfaceResult;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -56,8 +54,10 @@ public class CacheConfig {
                 "convex", createCacheConfig(Duration.ofMinutes(45), serializer),
 
                 // 순수함수 프리셋 엔드포인트: 입력 조합이 유한해 적중률이 높다
-                "plotter_surface", createCacheConfig(Duration.ofHours(1), typedSerializer(SurfaceResult.class)),
-                "fourier_series", createCacheConfig(Duration.ofHours(1), typedSerializer(FourierResult.class))
+                // JSON 격자와 이진 메시를 함께 담는다(기존 JSON 항목은 그대로 읽힌다)
+                "plotter_surface", createCacheConfig(Duration.ofHours(1), new PlotterSurfaceRedisSerializer()),
+                // 부분합 표가 커서 이진 형식으로 저장한다(기존 JSON 항목은 그대로 읽힌다)
+                "fourier_series", createCacheConfig(Duration.ofHours(1), new FourierResultRedisSerializer())
         );
 
         return RedisCacheManager.builder(connectionFactory)
@@ -0,0 +1,92 @@
+package com.yy.allgomath.config;
+
+import com.yy.allgomath.fourier.dto.FourierResult;
+import com.yy.allgomath.fourier.dto.FourierSynthesis;
+import com.yy.allgomath.fourier.dto.Harmonic;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fourier_series 캐시 값 이진 직렬화. 부분합 표(최대 40 × 4096 double)를 JSON 문자열로 쓰면 크기와
+ * 파싱 비용이 커서 little-endian 원시 배열로 저장한다.
+ * <pre>
+ * byte  MAGIC, byte VERSION
+ * int   harmonics, (int n, double a) × harmonics
+ * int   samples (0 = synthesis 없음), int rows, double × rows × samples
+ * </pre>
+ * 첫 바이트가 MAGIC 이 아니면 이전 버전이 남긴 JSON 항목으로 보고 Jackson 으로 읽는다.
+ */
+class FourierResultRedisSerializer implements RedisSerializer<FourierResult> {
+
+    private static final byte MAGIC = (byte) 0xF5;
+    private static final byte VERSION = 1;
+
+    private final RedisSerializer<FourierResult> legacy = CacheConfig.typedSerializer(FourierResult.class);
+
+    @Override
+    public byte[] serialize(FourierResult value) {
+        if (value == null) {
+            return null;
+        }
+        List<Harmonic> harmonics = value.harmonics();
+        FourierSynthesis synthesis = value.synthesis();
+        int samples = synthesis != null ? synthesis.samples() : 0;
+        int rows = synthesis != null ? synthesis.partialSums().length : 0;
+        int size = 2 + 4 + harmonics.size() * 12 + 8 + rows * samples * 8;
+
+        ByteBuffer buf = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(MAGIC).put(VERSION);
+        buf.putInt(harmonics.size());
+        for (Harmonic h : harmonics) {
+            buf.putInt(h.n()).putDouble(h.a());
+        }
+        buf.putInt(samples).putInt(rows);
+        for (int r = 0; r < rows; r++) {
+            buf.asDoubleBuffer().put(synthesis.partialSums()[r], 0, samples);
+            buf.position(buf.position() + samples * 8);
+        }
+        return buf.array();
+    }
+
+    @Override
+    public FourierResult deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacy.deserialize(bytes);
+        }
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            buf.get();
+            byte version = buf.get();
+            if (version != VERSION) {
+                throw new SerializationException("지원하지 않는 fourier_series 버전: " + version);
+            }
+            int count = buf.getInt();
+            List<Harmonic> harmonics = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                harmonics.add(new Harmonic(buf.getInt(), buf.getDouble()));
+            }
+            int samples = buf.getInt();
+            int rows = buf.getInt();
+            if (samples == 0) {
+                return new FourierResult(harmonics);
+            }
+            double[][] partial = new double[rows][samples];
+            for (int r = 0; r < rows; r++) {
+                buf.asDoubleBuffer().get(partial[r]);
+                buf.position(buf.position() + samples * 8);
+            }
+            return new FourierResult(harmonics, new FourierSynthesis(samples, partial));
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("손상된 fourier_series 캐시 항목", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.yy.allgomath.config;
+
+import com.yy.allgomath.plotter.SurfaceMeshCodec;
+import com.yy.allgomath.plotter.dto.GradPoint;
+import com.yy.allgomath.plotter.dto.SurfaceMesh;
+import com.yy.allgomath.plotter.dto.SurfaceResult;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * plotter_surface 캐시 값 이진 직렬화. 한 캐시에 두 종류 값이 들어간다.
+ * <ul>
+ *   <li>{@link SurfaceMesh}: 응답과 같은 {@link SurfaceMeshCodec} 형식("SRFM")</li>
+ *   <li>{@link SurfaceResult}: "SRFG", int rows, int cols, double zMin, zMax, critical(int + double×5), double z[rows·cols]</li>
+ * </ul>
+ * 둘 다 아니면 이전 버전이 남긴 JSON SurfaceResult 로 읽는다.
+ */
+class PlotterSurfaceRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte[] GRID_MAGIC = {'S', 'R', 'F', 'G'};
+
+    private final RedisSerializer<SurfaceResult> legacy = CacheConfig.typedSerializer(SurfaceResult.class);
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof SurfaceMesh mesh) {
+            return SurfaceMeshCodec.encode(mesh);
+        }
+        if (value instanceof SurfaceResult surface) {
+            return encodeGrid(surface);
+        }
+        throw new SerializationException("plotter_surface 에 저장할 수 없는 타입: " + value.getClass().getName());
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            if (SurfaceMeshCodec.isMesh(bytes)) {
+                return SurfaceMeshCodec.decode(bytes);
+            }
+            if (isGrid(bytes)) {
+                return decodeGrid(bytes);
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new SerializationException("손상된 plotter_surface 캐시 항목", e);
+        }
+        return legacy.deserialize(bytes);
+    }
+
+    private static byte[] encodeGrid(SurfaceResult surface) {
+        double[][] z = surface.z();
+        int rows = z.length;
+        int cols = rows == 0 ? 0 : z[0].length;
+        GradPoint c = surface.critical();
+        ByteBuffer buf = ByteBuffer.allocate(4 + 8 + 16 + 44 + rows * cols * 8).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(GRID_MAGIC).putInt(rows).putInt(cols);
+        buf.putDouble(surface.zMin()).putDouble(surface.zMax());
+        buf.putInt(c.step()).putDouble(c.x()).putDouble(c.y()).putDouble(c.z())
+                .putDouble(c.gradientX()).putDouble(c.gradientY());
+        for (double[] row : z) {
+            buf.asDoubleBuffer().put(row, 0, cols);
+            buf.position(buf.position() + cols * 8);
+        }
+        return buf.array();
+    }
+
+    private static SurfaceResult decodeGrid(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(GRID_MAGIC.length);
+        int rows = buf.getInt();
+        int cols = buf.getInt();
+        double zMin = buf.getDouble();
+        double zMax = buf.getDouble();
+        GradPoint critical = new GradPoint(buf.getInt(), buf.getDouble(), buf.getDouble(), buf.getDouble(),
+                buf.getDouble(), buf.getDouble());
+        double[][] z = new double[rows][cols];
+        for (double[] row : z) {
+            buf.asDoubleBuffer().get(row);
+            buf.position(buf.position() + cols * 8);
+        }
+        return new SurfaceResult(z, zMin, zMax, critical);
+    }
+
+    private static boolean isGrid(byte[] bytes) {
+        return bytes.length >= GRID_MAGIC.length && bytes[0] == GRID_MAGIC[0] && bytes[1] == GRID_MAGIC[1]
+                && bytes[2] == GRID_MAGIC[2] && bytes[3] == GRID_MAGIC[3];
+    }
+}
@@ -0,0 +1,31 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+/** 주파수 영역 마스크 종류. [low, high] 는 Hz. */
+public enum FilterType {
+    LOWPASS,
+    HIGHPASS,
+    BANDPASS,
+    NOTCH;
+
+    public static FilterType from(String name) {
+        for (FilterType t : values()) {
+            if (t.name().equalsIgnoreCase(name)) {
+                return t;
+            }
+        }
+        throw new InvalidParameterException("지원하지 않는 filter type 입니다: " + name
+                + " (lowpass, highpass, bandpass, notch)");
+    }
+
+    /** 주파수 f 성분을 남기는가. */
+    boolean passes(double f, double low, double high) {
+        return switch (this) {
+            case LOWPASS -> f <= high;
+            case HIGHPASS -> f >= low;
+            case BANDPASS -> f >= low && f <= high;
+            case NOTCH -> f < low || f > high;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.Fourier2dParams;
+import com.yy.allgomath.fourier.dto.Fourier2dResult;
+import com.yy.allgomath.fourier.fft.Fft2d;
+import com.yy.allgomath.simulation.Computer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 격자/이미지의 2D 진폭 스펙트럼. 변환은 {@link Fft2d}(행-열 분해, 병렬)로 O(RC·log(RC)).
+ * 응답이 JSON 이라 한 변은 {@value #MAX_SIDE} 로 제한한다(이미지 업로드는 그 안으로 축소해 들어온다).
+ */
+@Service
+public class Fourier2dService implements Computer<Fourier2dParams, Fourier2dResult> {
+
+    static final int MAX_SIDE = 1024;
+
+    @Override
+    public Fourier2dResult compute(Fourier2dParams params) {
+        double[][] grid = params.grid();
+        if (grid == null || grid.length < 1 || grid.length > MAX_SIDE) {
+            throw new InvalidParameterException("grid 행 수는 1 이상 " + MAX_SIDE + " 이하여야 합니다.");
+        }
+        int rows = grid.length;
+        int cols = grid[0] == null ? 0 : grid[0].length;
+        if (cols < 1 || cols > MAX_SIDE) {
+            throw new InvalidParameterException("grid 열 수는 1 이상 " + MAX_SIDE + " 이하여야 합니다.");
+        }
+
+        double[] re = new double[rows * cols];
+        double[] im = new double[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            if (grid[r] == null || grid[r].length != cols) {
+                throw new InvalidParameterException("grid 의 모든 행은 길이가 같아야 합니다.");
+            }
+            System.arraycopy(grid[r], 0, re, r * cols, cols);
+        }
+        Fft2d.forward(re, im, rows, cols);
+
+        double scale = 1.0 / ((double) rows * cols);
+        int rowShift = params.shift() ? rows / 2 : 0;
+        int colShift = params.shift() ? cols / 2 : 0;
+        double[][] magnitude = new double[rows][cols];
+        double dc = 0;
+        double max = 0;
+        for (int r = 0; r < rows; r++) {
+            double[] out = magnitude[(r + rowShift) % rows];
+            int off = r * cols;
+            for (int c = 0; c < cols; c++) {
+                double mag = Math.hypot(re[off + c], im[off + c]) * scale;
+                if (params.log()) {
+                    mag = Math.log1p(mag);
+                }
+                if (r == 0 && c == 0) {
+                    dc = mag;
+                } else if (mag > max) {
+                    max = mag;
+                }
+                out[(c + colShift) % cols] = mag;
+            }
+        }
+        return new Fourier2dResult(rows, cols, magnitude, dc, max);
+    }
+}
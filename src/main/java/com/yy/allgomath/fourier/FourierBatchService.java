@@ -0,0 +1,119 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.ComputationException;
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.FourierBatchParams;
+import com.yy.allgomath.fourier.dto.FourierBatchResult;
+import com.yy.allgomath.fourier.dto.FourierTransformParams;
+import com.yy.allgomath.fourier.dto.FourierTransformResult;
+import com.yy.allgomath.fourier.fft.FftPlans;
+import com.yy.allgomath.fourier.fft.RealFft;
+import com.yy.allgomath.simulation.Computer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 신호를 한 번에 변환한다. 전부 먼저 검증하고(하나라도 틀리면 400), 길이별로 묶어 묶음마다 FFT 계획과
+ * re/im 버퍼를 한 번만 준비한 뒤 코어 수 만큼의 고정 풀에서 병렬로 돌린다. 결과는 요청 순서대로 채운다.
+ * <p>
+ * 풀 큐가 차면 호출 스레드가 직접 계산하므로(CallerRuns) 동시 배치가 몰려도 작업이 쌓이지 않는다.
+ */
+@Service
+public class FourierBatchService implements Computer<FourierBatchParams, FourierBatchResult> {
+
+    static final int MAX_ITEMS = 64;
+    /** 이보다 짧은 신호 묶음은 쪼개지 않는다(태스크 전달 비용이 변환보다 크다). */
+    private static final int MIN_SAMPLES_PER_TASK = 1 << 14;
+
+    private final FourierTransformService transformService;
+    private final ThreadPoolExecutor executor;
+
+    public FourierBatchService(FourierTransformService transformService,
+                               @Value("${fourier.batch.threads:0}") int threads) {
+        this.transformService = transformService;
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(n * 4),
+                r -> {
+                    Thread t = new Thread(r, "fourier-batch-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public FourierBatchResult compute(FourierBatchParams params) {
+        List<FourierTransformParams> items = params.items();
+        if (items == null || items.isEmpty() || items.size() > MAX_ITEMS) {
+            throw new InvalidParameterException("items는 1개 이상 " + MAX_ITEMS + "개 이하여야 합니다.");
+        }
+        for (FourierTransformParams item : items) {
+            FourierTransformService.validate(item);
+        }
+
+        // 길이 → 요청 인덱스 (처음 나온 순서)
+        Map<Integer, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            groups.computeIfAbsent(items.get(i).signal().length, k -> new ArrayList<>()).add(i);
+        }
+
+        FourierTransformResult[] results = new FourierTransformResult[items.size()];
+        List<Future<?>> futures = new ArrayList<>();
+        int workers = executor.getMaximumPoolSize();
+        for (Map.Entry<Integer, List<Integer>> group : groups.entrySet()) {
+            int length = group.getKey();
+            List<Integer> indices = group.getValue();
+            RealFft fft = FftPlans.real(length); // 계획은 묶음당 한 번
+            // 긴 신호 묶음은 워커 수만큼 나누고, 짧은 신호 묶음은 통째로 한 태스크
+            int perTask = Math.max(1, MIN_SAMPLES_PER_TASK / length);
+            int chunk = Math.max(perTask, (indices.size() + workers - 1) / workers);
+            for (int from = 0; from < indices.size(); from += chunk) {
+                List<Integer> slice = indices.subList(from, Math.min(indices.size(), from + chunk));
+                futures.add(executor.submit(() -> {
+                    double[] re = new double[fft.bins()];
+                    double[] im = new double[fft.bins()];
+                    for (int idx : slice) {
+                        results[idx] = transformService.transform(items.get(idx), fft, re, im);
+                    }
+                }));
+            }
+        }
+
+        try {
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(f -> f.cancel(true));
+            throw new ComputationException("배치 변환이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new ComputationException("배치 변환 중 오류가 발생했습니다.", e.getCause());
+        }
+        return new FourierBatchResult(Arrays.asList(results));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
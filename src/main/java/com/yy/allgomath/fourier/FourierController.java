@@ -1,18 +1,45 @@
 package com.yy.allgomath.fourier;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.ConvolveParams;
+import com.yy.allgomath.fourier.dto.ConvolveRequest;
+import com.yy.allgomath.fourier.dto.ConvolveResult;
+import com.yy.allgomath.fourier.dto.Fourier2dParams;
+import com.yy.allgomath.fourier.dto.Fourier2dRequest;
+import com.yy.allgomath.fourier.dto.Fourier2dResult;
+import com.yy.allgomath.fourier.dto.FourierBatchParams;
+import com.yy.allgomath.fourier.dto.FourierBatchRequest;
+import com.yy.allgomath.fourier.dto.FourierBatchResult;
+import com.yy.allgomath.fourier.dto.FilterParams;
+import com.yy.allgomath.fourier.dto.FilterRequest;
+import com.yy.allgomath.fourier.dto.FilterResult;
 import com.yy.allgomath.fourier.dto.FourierComputeRequest;
 import com.yy.allgomath.fourier.dto.FourierParams;
 import com.yy.allgomath.fourier.dto.FourierResult;
 import com.yy.allgomath.fourier.dto.FourierTransformParams;
 import com.yy.allgomath.fourier.dto.FourierTransformRequest;
 import com.yy.allgomath.fourier.dto.FourierTransformResult;
+import com.yy.allgomath.fourier.dto.SpectrogramHeader;
+import com.yy.allgomath.fourier.dto.SpectrogramParams;
+import com.yy.allgomath.fourier.dto.SpectrogramRequest;
+import com.yy.allgomath.fourier.dto.SpectrogramSummary;
+import com.yy.allgomath.fourier.fft.WindowFunction;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 
 /** Fourier 급수 계수 API. HTTP 변환/검증만, 연산은 {@link FourierService}. */
 @RestController
@@ -20,12 +47,20 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class FourierController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final FourierService fourierService;
     private final FourierTransformService fourierTransformService;
+    private final SpectrogramService spectrogramService;
+    private final FourierFilterService fourierFilterService;
+    private final FourierBatchService fourierBatchService;
+    private final Fourier2dService fourier2dService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/series")
     public ResponseEntity<FourierResult> series(@Valid @RequestBody FourierComputeRequest req) {
-        return ResponseEntity.ok(fourierService.compute(new FourierParams(req.wave(), req.N())));
+        return ResponseEntity.ok(fourierService.compute(new FourierParams(req.wave(), req.N(),
+                req.samples() != null ? req.samples() : 0)));
     }
 
     @PostMapping("/transform")
@@ -33,4 +68,104 @@ public class FourierController {
         return ResponseEntity.ok(fourierTransformService.compute(
                 new FourierTransformParams(req.signal(), req.sampleRate())));
     }
+
+    /** 여러 신호를 한 요청으로 변환. 결과는 items 순서와 같다. */
+    @PostMapping("/transform/batch")
+    public ResponseEntity<FourierBatchResult> transformBatch(@Valid @RequestBody FourierBatchRequest req) {
+        return ResponseEntity.ok(fourierBatchService.compute(new FourierBatchParams(req.items().stream()
+                .map(item -> new FourierTransformParams(item.signal(), item.sampleRate()))
+                .toList())));
+    }
+
+    /** 격자(보로노이 소유 격자, Life 보드 등)의 2D 진폭 스펙트럼. */
+    @PostMapping(value = "/fft2d", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Fourier2dResult> fft2d(@Valid @RequestBody Fourier2dRequest req) {
+        return ResponseEntity.ok(fourier2dService.compute(new Fourier2dParams(req.grid(),
+                req.shift() == null || req.shift(), req.log() != null && req.log())));
+    }
+
+    /** 그레이스케일로 읽은 업로드 이미지의 2D 진폭 스펙트럼. 한 변이 1024 를 넘으면 축소한다. */
+    @PostMapping(value = "/fft2d", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Fourier2dResult> fft2dImage(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "true") boolean shift,
+            @RequestParam(defaultValue = "true") boolean log) throws IOException {
+        double[][] grid;
+        try (InputStream in = file.getInputStream()) {
+            grid = GrayscaleImage.read(in, Fourier2dService.MAX_SIDE);
+        }
+        return ResponseEntity.ok(fourier2dService.compute(new Fourier2dParams(grid, shift, log)));
+    }
+
+    /** 주파수 마스크 필터. lowpass/highpass 는 cutoff, bandpass/notch 는 low~high 구간을 쓴다. */
+    @PostMapping("/filter")
+    public ResponseEntity<FilterResult> filter(@Valid @RequestBody FilterRequest req) {
+        return ResponseEntity.ok(fourierFilterService.filter(filterParams(req)));
+    }
+
+    @PostMapping("/convolve")
+    public ResponseEntity<ConvolveResult> convolve(@Valid @RequestBody ConvolveRequest req) {
+        return ResponseEntity.ok(fourierFilterService.convolve(new ConvolveParams(req.signal(), req.kernel())));
+    }
+
+    /**
+     * 긴 신호 STFT. 첫 줄은 {@link SpectrogramHeader}, 이후 한 줄에 열 하나씩(NDJSON) 계산되는 대로 흘려보내고,
+     * 마지막 줄은 {@link SpectrogramSummary}(샘플 수, 잘림 여부)다.
+     */
+    @PostMapping(value = "/spectrogram", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> spectrogram(@Valid @RequestBody SpectrogramRequest req) {
+        SpectrogramParams params = spectrogramParams(req.sampleRate(), req.windowSize(), req.hop(), req.window());
+        return ndjson(params, SampleSource.of(req.signal()));
+    }
+
+    /** 청크 업로드: 본문은 little-endian float32 샘플 스트림, 파라미터는 쿼리로 받는다. */
+    @PostMapping(value = "/spectrogram", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> spectrogramUpload(
+            @RequestParam double sampleRate,
+            @RequestParam int windowSize,
+            @RequestParam(required = false) Integer hop,
+            @RequestParam(required = false) String window,
+            InputStream body) {
+        SpectrogramParams params = spectrogramParams(sampleRate, windowSize, hop, window);
+        return ndjson(params, SampleSource.float32LittleEndian(body));
+    }
+
+    private static SpectrogramParams spectrogramParams(double sampleRate, int windowSize, Integer hop, String window) {
+        return new SpectrogramParams(sampleRate, windowSize,
+                hop != null ? hop : Math.max(1, windowSize / 4),
+                window != null ? WindowFunction.from(window) : WindowFunction.HANN);
+    }
+
+    private static FilterParams filterParams(FilterRequest req) {
+        FilterType type = FilterType.from(req.type());
+        return switch (type) {
+            case LOWPASS -> new FilterParams(req.signal(), req.sampleRate(), type, 0, required(req.cutoff(), "cutoff"));
+            case HIGHPASS -> new FilterParams(req.signal(), req.sampleRate(), type,
+                    required(req.cutoff(), "cutoff"), Double.POSITIVE_INFINITY);
+            case BANDPASS, NOTCH -> new FilterParams(req.signal(), req.sampleRate(), type,
+                    required(req.low(), "low"), required(req.high(), "high"));
+        };
+    }
+
+    private static double required(Double value, String name) {
+        if (value == null) {
+            throw new InvalidParameterException(name + "가 필요합니다.");
+        }
+        return value;
+    }
+
+    private ResponseEntity<StreamingResponseBody> ndjson(SpectrogramParams params, SampleSource source) {
+        SpectrogramHeader header = spectrogramService.header(params); // 스트림 시작 전에 검증(400)
+        StreamingResponseBody body = out -> {
+            writeLine(out, header);
+            writeLine(out, spectrogramService.stream(params, source, column -> writeLine(out, column)));
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+        out.flush();
+    }
 }
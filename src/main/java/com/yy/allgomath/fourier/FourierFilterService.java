@@ -0,0 +1,117 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.Bin;
+import com.yy.allgomath.fourier.dto.ConvolveParams;
+import com.yy.allgomath.fourier.dto.ConvolveResult;
+import com.yy.allgomath.fourier.dto.FilterParams;
+import com.yy.allgomath.fourier.dto.FilterResult;
+import com.yy.allgomath.fourier.fft.FftPlan;
+import com.yy.allgomath.fourier.fft.FftPlans;
+import com.yy.allgomath.fourier.fft.FftScratch;
+import com.yy.allgomath.fourier.fft.FftScratch.Slot;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * 주파수 영역 필터와 FFT 합성곱. 순방향 FFT → 마스크/곱 → 역 FFT 로 시간 영역 신호를 돌려준다.
+ * 복소 중간값은 {@link FftScratch} 의 스레드별 버퍼에 두고, 요청마다 새로 만드는 배열은 결과 배열뿐이다.
+ */
+@Service
+public class FourierFilterService {
+
+    static final int MAX_LENGTH = 65536;
+
+    /**
+     * 양/음 주파수 빈을 같은 마스크로 자르므로(켤레 대칭 유지) 역변환 결과는 실수다.
+     * 스펙트럼은 필터 후 단측 진폭(0..n/2).
+     */
+    public FilterResult filter(FilterParams params) {
+        double[] x = params.signal();
+        if (x == null || x.length < 2 || x.length > MAX_LENGTH) {
+            throw new InvalidParameterException("signal 길이는 2 이상 " + MAX_LENGTH + " 이하여야 합니다.");
+        }
+        double fs = params.sampleRate();
+        if (fs <= 0) {
+            throw new InvalidParameterException("sampleRate는 0보다 커야 합니다.");
+        }
+        if (params.type() == null) {
+            throw new InvalidParameterException("filter type이 필요합니다.");
+        }
+        if (!(params.low() >= 0) || !(params.high() >= params.low())) {
+            throw new InvalidParameterException("주파수 구간은 0 <= low <= high 여야 합니다.");
+        }
+
+        int n = x.length;
+        FftPlan plan = FftPlans.complex(n);
+        double[] re = FftScratch.buffer(Slot.FILTER_RE, n);
+        double[] im = FftScratch.buffer(Slot.FILTER_IM, n);
+        System.arraycopy(x, 0, re, 0, n);
+        Arrays.fill(im, 0, n, 0.0);
+        plan.forward(re, im);
+
+        for (int k = 0; k < n; k++) {
+            double f = Math.min(k, n - k) * fs / n;
+            if (!params.type().passes(f, params.low(), params.high())) {
+                re[k] = 0.0;
+                im[k] = 0.0;
+            }
+        }
+
+        int half = n / 2;
+        Bin[] spectrum = new Bin[half + 1];
+        for (int k = 0; k <= half; k++) {
+            // DC 와 (짝수 n 의) 나이퀴스트는 짝이 없으므로 1/n, 나머지는 음의 주파수 몫까지 2/n
+            double scale = (k == 0 || 2 * k == n) ? 1.0 / n : 2.0 / n;
+            spectrum[k] = new Bin(k * fs / n, Math.hypot(re[k], im[k]) * scale);
+        }
+
+        plan.inverse(re, im);
+        return new FilterResult(Arrays.copyOf(re, n), spectrum);
+    }
+
+    /**
+     * 선형 합성곱(길이 n+m-1). 두 실수 입력을 a + i·b 로 묶어 복소 FFT 한 번으로 양쪽 스펙트럼을 얻고,
+     * A[k] = (Z[k] + conj(Z[-k]))/2, B[k] = (Z[k] - conj(Z[-k]))/(2i) 로 분리해 곱한 뒤 역변환한다.
+     */
+    public ConvolveResult convolve(ConvolveParams params) {
+        double[] a = params.signal();
+        double[] b = params.kernel();
+        if (a == null || b == null || a.length == 0 || b.length == 0) {
+            throw new InvalidParameterException("signal과 kernel이 필요합니다.");
+        }
+        if (a.length > MAX_LENGTH || b.length > MAX_LENGTH) {
+            throw new InvalidParameterException("signal/kernel 길이는 " + MAX_LENGTH + " 이하여야 합니다.");
+        }
+
+        int length = a.length + b.length - 1;
+        int size = Integer.highestOneBit(length);
+        if (size < length) {
+            size <<= 1;
+        }
+        FftPlan plan = FftPlans.complex(size);
+        double[] zr = FftScratch.buffer(Slot.FILTER_RE, size);
+        double[] zi = FftScratch.buffer(Slot.FILTER_IM, size);
+        System.arraycopy(a, 0, zr, 0, a.length);
+        Arrays.fill(zr, a.length, size, 0.0);
+        System.arraycopy(b, 0, zi, 0, b.length);
+        Arrays.fill(zi, b.length, size, 0.0);
+        plan.forward(zr, zi);
+
+        double[] pr = FftScratch.buffer(Slot.AUX_RE, size);
+        double[] pi = FftScratch.buffer(Slot.AUX_IM, size);
+        int mask = size - 1;
+        for (int k = 0; k < size; k++) {
+            int j = (size - k) & mask;
+            double aRe = 0.5 * (zr[k] + zr[j]);
+            double aIm = 0.5 * (zi[k] - zi[j]);
+            double bRe = 0.5 * (zi[k] + zi[j]);
+            double bIm = -0.5 * (zr[k] - zr[j]);
+            pr[k] = aRe * bRe - aIm * bIm;
+            pi[k] = aRe * bIm + aIm * bRe;
+        }
+        plan.inverse(pr, pi);
+        return new ConvolveResult(Arrays.copyOf(pr, length));
+    }
+}
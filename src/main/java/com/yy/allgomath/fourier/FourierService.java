@@ -3,6 +3,7 @@ package com.yy.allgomath.fourier;
 import com.yy.allgomath.common.exception.InvalidParameterException;
 import com.yy.allgomath.fourier.dto.FourierParams;
 import com.yy.allgomath.fourier.dto.FourierResult;
+import com.yy.allgomath.fourier.dto.FourierSynthesis;
 import com.yy.allgomath.fourier.dto.Harmonic;
 import com.yy.allgomath.simulation.Computer;
 import org.springframework.cache.annotation.Cacheable;
@@ -11,13 +12,24 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.List;
 
-/** 파형별 닫힌형 Fourier 사인-급수 계수. one-shot. */
+/**
+ * 파형별 닫힌형 Fourier 사인-급수 계수. one-shot.
+ * samples 를 주면 k=1..N 부분합을 한 주기 표본점에서 미리 계산해 함께 돌려준다(애니메이션용, 캐시 대상).
+ */
 @Service
 public class FourierService implements Computer<FourierParams, FourierResult> {
 
+    static final int MAX_SAMPLES = 4096;
+    /** 회전 점화식 누적 오차를 끊기 위해 이 간격마다 sin/cos 를 새로 구한다. */
+    private static final int REANCHOR = 64;
+
     @Override
-    @Cacheable(value = "fourier_series", key = "#params.wave() + '_' + #params.N()")
+    @Cacheable(value = "fourier_series",
+            key = "#params.wave() + '_' + #params.N() + (#params.samples() > 0 ? '_s' + #params.samples() : '')")
     public FourierResult compute(FourierParams params) {
+        if (params.samples() != 0 && (params.samples() < 2 || params.samples() > MAX_SAMPLES)) {
+            throw new InvalidParameterException("samples는 2 이상 " + MAX_SAMPLES + " 이하여야 합니다.");
+        }
         int count = params.N();
         List<Harmonic> harmonics = new ArrayList<>(count);
         switch (params.wave()) {
@@ -40,6 +52,54 @@ public class FourierService implements Computer<FourierParams, FourierResult> {
             }
             default -> throw new InvalidParameterException("wave는 square, saw, triangle 중 하나여야 합니다.");
         }
-        return new FourierResult(harmonics);
+        if (params.samples() == 0) {
+            return new FourierResult(harmonics);
+        }
+        return new FourierResult(harmonics, synthesize(harmonics, params.samples()));
+    }
+
+    /**
+     * 표본점마다 sin(nθ) 를 체비쇼프 점화식 sin((n+1)θ) = 2cosθ·sin(nθ) - sin((n-1)θ) 로 올려 가며 누적한다.
+     * 표본점 사이의 (cosθ, sinθ) 도 회전 점화식으로 넘기므로 삼각함수 호출은 {@value #REANCHOR} 점에 한 번뿐이다.
+     */
+    static FourierSynthesis synthesize(List<Harmonic> harmonics, int samples) {
+        int count = harmonics.size();
+        int maxN = harmonics.get(count - 1).n();
+        // 차수 n → 계수(없으면 0)
+        double[] coef = new double[maxN + 1];
+        for (Harmonic h : harmonics) {
+            coef[h.n()] = h.a();
+        }
+        double[][] partial = new double[count][samples];
+
+        double step = 2 * Math.PI / samples;
+        double cd = Math.cos(step);
+        double sd = Math.sin(step);
+        double c = 1.0;
+        double s = 0.0;
+        for (int i = 0; i < samples; i++) {
+            if (i % REANCHOR == 0) {
+                c = Math.cos(i * step);
+                s = Math.sin(i * step);
+            }
+            double twoCos = 2 * c;
+            double prev = 0.0;  // sin(0·θ)
+            double cur = s;     // sin(1·θ)
+            double sum = 0.0;
+            int k = 0;
+            for (int n = 1; n <= maxN; n++) {
+                if (coef[n] != 0.0) {
+                    sum += coef[n] * cur;
+                    partial[k++][i] = sum;
+                }
+                double next = twoCos * cur - prev;
+                prev = cur;
+                cur = next;
+            }
+            double nc = c * cd - s * sd;
+            s = s * cd + c * sd;
+            c = nc;
+        }
+        return new FourierSynthesis(samples, partial);
     }
 }
@@ -4,6 +4,8 @@ import com.yy.allgomath.common.exception.InvalidParameterException;
 import com.yy.allgomath.fourier.dto.Bin;
 import com.yy.allgomath.fourier.dto.FourierTransformParams;
 import com.yy.allgomath.fourier.dto.FourierTransformResult;
+import com.yy.allgomath.fourier.fft.FftPlans;
+import com.yy.allgomath.fourier.fft.RealFft;
 import com.yy.allgomath.simulation.Computer;
 import org.springframework.stereotype.Service;
 
@@ -11,36 +13,45 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * 실수 DFT (O(N²)): 단측 진폭 스펙트럼과 피크 주파수를 one-shot으로 반환.
- * N <= 4096이므로 FFT 없이 직접 DFT.
+ * 실수 DFT: 단측 진폭 스펙트럼과 피크 주파수를 one-shot으로 반환.
+ * 변환은 길이별로 캐시된 FFT 계획({@link FftPlans})으로 O(N log N). HTTP 요청은 DTO 에서 4096 으로 따로 제한한다.
  */
 @Service
 public class FourierTransformService implements Computer<FourierTransformParams, FourierTransformResult> {
 
+    static final int MAX_SAMPLES = 1 << 20;
+
     @Override
     public FourierTransformResult compute(FourierTransformParams params) {
         // 검증: compute 최초 진입 시점
+        validate(params);
+        RealFft fft = FftPlans.real(params.signal().length);
+        return transform(params, fft, new double[fft.bins()], new double[fft.bins()]);
+    }
+
+    static void validate(FourierTransformParams params) {
         double[] signal = params.signal();
-        if (signal == null || signal.length < 16 || signal.length > 4096) {
-            throw new InvalidParameterException("signal 길이는 16 이상 4096 이하여야 합니다.");
+        if (signal == null || signal.length < 16 || signal.length > MAX_SAMPLES) {
+            throw new InvalidParameterException("signal 길이는 16 이상 " + MAX_SAMPLES + " 이하여야 합니다.");
         }
         if (params.sampleRate() <= 0) {
             throw new InvalidParameterException("sampleRate는 0보다 커야 합니다.");
         }
+    }
 
+    /**
+     * 검증된 신호 하나를 주어진 계획으로 변환한다. 같은 길이 신호를 묶어 처리하는 배치가 계획과 re/im 버퍼를 재사용한다.
+     */
+    FourierTransformResult transform(FourierTransformParams params, RealFft fft, double[] re, double[] im) {
+        double[] signal = params.signal();
         int N = signal.length;
+        fft.forward(signal, re, im);
+
         int half = N / 2;
         Bin[] spectrum = new Bin[half + 1];
-
         for (int k = 0; k <= half; k++) {
-            double re = 0.0, im = 0.0;
-            for (int n = 0; n < N; n++) {
-                double ang = 2.0 * Math.PI * k * n / N;
-                re += signal[n] * Math.cos(ang);
-                im -= signal[n] * Math.sin(ang);
-            }
             double scale = (k == 0) ? 1.0 / N : 2.0 / N;
-            double mag = Math.hypot(re, im) * scale;
+            double mag = Math.hypot(re[k], im[k]) * scale;
             double freq = (double) k * params.sampleRate() / N;
             spectrum[k] = new Bin(freq, mag);
         }
@@ -0,0 +1,82 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 업로드 이미지를 [0, 1] 휘도 격자로 읽는다. 한 변이 maxSide 를 넘으면 정수 배율 박스 평균으로 줄인다.
+ * <p>
+ * 업로드 제한은 압축된 바이트 크기만 막으므로, 디코딩 전에 헤더의 크기를 읽어 {@value #MAX_PIXELS} 픽셀을 넘으면 거절한다.
+ */
+final class GrayscaleImage {
+
+    // 디코딩된 ARGB 래스터 기준 약 128MB
+    static final long MAX_PIXELS = 1L << 25;
+
+    private GrayscaleImage() {
+    }
+
+    static double[][] read(InputStream in, int maxSide) {
+        BufferedImage image;
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = iis == null ? null : ImageIO.getImageReaders(iis);
+            if (readers == null || !readers.hasNext()) {
+                throw new InvalidParameterException("지원하지 않는 이미지 형식입니다(png, jpeg, gif, bmp).");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new InvalidParameterException("이미지가 너무 큽니다(" + reader.getWidth(0) + "x"
+                            + reader.getHeight(0) + ", 최대 " + MAX_PIXELS + " 픽셀).");
+                }
+                image = reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new InvalidParameterException("이미지를 읽을 수 없습니다.", e);
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int factor = Math.max(1, Math.max(ceilDiv(width, maxSide), ceilDiv(height, maxSide)));
+        int cols = width / factor;
+        int rows = height / factor;
+        if (rows < 1 || cols < 1) {
+            throw new InvalidParameterException("이미지가 너무 작습니다.");
+        }
+
+        // 래스터 전체를 복사하지 않고 격자 한 행(factor 픽셀 행)씩 꺼낸다
+        int[] argb = new int[factor * width];
+        double norm = 1.0 / (255.0 * factor * factor);
+        double[][] grid = new double[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            image.getRGB(0, r * factor, width, factor, argb, 0, width);
+            for (int c = 0; c < cols; c++) {
+                double sum = 0;
+                for (int y = 0; y < factor; y++) {
+                    int row = y * width;
+                    for (int x = c * factor; x < (c + 1) * factor; x++) {
+                        int p = argb[row + x];
+                        // Rec. 601 휘도
+                        sum += 0.299 * ((p >> 16) & 0xFF) + 0.587 * ((p >> 8) & 0xFF) + 0.114 * (p & 0xFF);
+                    }
+                }
+                grid[r][c] = sum * norm;
+            }
+        }
+        return grid;
+    }
+
+    private static int ceilDiv(int a, int b) {
+        return (a + b - 1) / b;
+    }
+}
@@ -0,0 +1,63 @@
+package com.yy.allgomath.fourier;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 스펙트로그램 입력 샘플을 조금씩 읽어 오는 소스. 전체 신호를 한 번에 메모리에 올리지 않는 업로드 경로를 위해 둔다.
+ */
+@FunctionalInterface
+public interface SampleSource {
+
+    /**
+     * buf 를 최대 buf.length 개까지 채운다.
+     *
+     * @return 읽은 샘플 수, 끝이면 -1
+     */
+    int read(double[] buf) throws IOException;
+
+    /** 이미 메모리에 있는 신호(JSON 요청). */
+    static SampleSource of(double[] signal) {
+        int[] pos = {0};
+        return buf -> {
+            if (pos[0] >= signal.length) {
+                return -1;
+            }
+            int len = Math.min(buf.length, signal.length - pos[0]);
+            System.arraycopy(signal, pos[0], buf, 0, len);
+            pos[0] += len;
+            return len;
+        };
+    }
+
+    /** little-endian float32 원시 스트림(application/octet-stream 업로드). 끝의 4바이트 미만 조각은 버린다. */
+    static SampleSource float32LittleEndian(InputStream in) {
+        byte[][] scratch = {new byte[0]};
+        return buf -> {
+            if (scratch[0].length < buf.length * 4) {
+                scratch[0] = new byte[buf.length * 4];
+            }
+            byte[] bytes = scratch[0];
+            int filled = 0;
+            int want = buf.length * 4;
+            while (filled < want) {
+                int r = in.read(bytes, filled, want - filled);
+                if (r < 0) {
+                    break;
+                }
+                filled += r;
+            }
+            int samples = filled / 4;
+            if (samples == 0) {
+                return -1;
+            }
+            ByteBuffer bb = ByteBuffer.wrap(bytes, 0, samples * 4).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < samples; i++) {
+                buf[i] = bb.getFloat();
+            }
+            return samples;
+        };
+    }
+}
@@ -0,0 +1,132 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.Bin;
+import com.yy.allgomath.fourier.dto.SpectrogramColumn;
+import com.yy.allgomath.fourier.dto.SpectrogramHeader;
+import com.yy.allgomath.fourier.dto.SpectrogramParams;
+import com.yy.allgomath.fourier.dto.SpectrogramSummary;
+import com.yy.allgomath.fourier.fft.FftPlans;
+import com.yy.allgomath.fourier.fft.RealFft;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * 스트리밍 STFT. 입력을 블록 단위로 읽어 windowSize 길이 링 버퍼에 넣고, hop 마다 한 프레임을 창 → 실수 FFT →
+ * 진폭 열로 만들어 바로 내보낸다. 메모리에는 링 버퍼/프레임/빈 버퍼만 있고 시간-주파수 행렬 전체는 만들지 않는다.
+ * FFT 계획과 창 테이블은 길이별 캐시({@link FftPlans}, {@link com.yy.allgomath.fourier.fft.WindowFunction})를 공유한다.
+ */
+@Service
+public class SpectrogramService {
+
+    static final int MIN_WINDOW = 16;
+    static final int MAX_WINDOW = 65536;
+    /** 업로드 한 번에 처리할 최대 샘플 수(44.1kHz 기준 약 25분). 넘는 부분은 읽지 않고 요약 줄에 truncated 로 알린다. */
+    static final long MAX_SAMPLES = 1L << 26;
+    private static final int READ_BLOCK = 8192;
+
+    /** 열을 받아 내보내는 쪽(HTTP 스트림 등). */
+    @FunctionalInterface
+    public interface ColumnSink {
+        void accept(SpectrogramColumn column) throws IOException;
+    }
+
+    /** 스트리밍 시작 전에 호출해 잘못된 파라미터를 400 으로 돌려보낸다. */
+    public SpectrogramHeader header(SpectrogramParams params) {
+        validate(params);
+        int n = params.windowSize();
+        return new SpectrogramHeader(params.sampleRate(), n, params.hop(),
+                params.window().name().toLowerCase(), n / 2 + 1, params.sampleRate() / n);
+    }
+
+    /**
+     * @return 내보낸 열 개수, 읽은 샘플 수, 최대 샘플 수에서 잘렸는지
+     */
+    public SpectrogramSummary stream(SpectrogramParams params, SampleSource source, ColumnSink sink)
+            throws IOException {
+        return stream(params, source, sink, MAX_SAMPLES);
+    }
+
+    SpectrogramSummary stream(SpectrogramParams params, SampleSource source, ColumnSink sink, long maxSamples)
+            throws IOException {
+        validate(params);
+        int n = params.windowSize();
+        int hop = params.hop();
+        RealFft fft = FftPlans.real(n);
+        double[] window = params.window().table(n);
+        double windowSum = params.window().sum(n);
+
+        double[] ring = new double[n];
+        double[] frame = new double[n];
+        double[] re = new double[fft.bins()];
+        double[] im = new double[fft.bins()];
+        double[] block = new double[READ_BLOCK];
+
+        int head = 0;         // 다음에 쓸 위치 = 가장 오래된 샘플 위치(가득 찬 뒤)
+        long total = 0;       // 지금까지 받은 샘플 수
+        int columns = 0;
+        boolean truncated = false;
+
+        int read;
+        while (total < maxSamples && (read = source.read(block)) > 0) {
+            // 한도에서 끊긴 블록에 남은 샘플이 있으면 잘린 것
+            truncated = read > maxSamples - total;
+            for (int i = 0; i < read && total < maxSamples; i++) {
+                ring[head] = block[i];
+                head = head + 1 == n ? 0 : head + 1;
+                total++;
+                if (total >= n && (total - n) % hop == 0) {
+                    // 링을 시간 순서로 펼치며 창을 곱한다 (head 가 가장 오래된 샘플)
+                    int tail = n - head;
+                    for (int j = 0; j < tail; j++) {
+                        frame[j] = ring[head + j] * window[j];
+                    }
+                    for (int j = 0; j < head; j++) {
+                        frame[tail + j] = ring[j] * window[tail + j];
+                    }
+                    fft.forward(frame, re, im);
+                    long start = total - n;
+                    sink.accept(column(columns++, (start + n / 2.0) / params.sampleRate(),
+                            re, im, windowSum, params.sampleRate() / n));
+                }
+            }
+        }
+        if (total == maxSamples && !truncated) {
+            // 한도가 블록 경계와 맞은 경우: 한 블록을 더 읽어 남은 입력이 있는지 본다
+            truncated = source.read(block) > 0;
+        }
+        return new SpectrogramSummary(columns, total, truncated);
+    }
+
+    private static SpectrogramColumn column(int index, double time, double[] re, double[] im,
+                                            double windowSum, double binWidth) {
+        double[] mags = new double[re.length];
+        int peak = 0;
+        for (int k = 0; k < mags.length; k++) {
+            // 단측 진폭: 창 계수 합으로 나눠 순수 정현파의 진폭이 창 종류와 무관하게 나오도록
+            double scale = (k == 0) ? 1.0 / windowSum : 2.0 / windowSum;
+            mags[k] = Math.hypot(re[k], im[k]) * scale;
+            if (mags[k] > mags[peak]) {
+                peak = k;
+            }
+        }
+        return new SpectrogramColumn(index, time, mags, new Bin(peak * binWidth, mags[peak]));
+    }
+
+    private static void validate(SpectrogramParams params) {
+        if (params.sampleRate() <= 0) {
+            throw new InvalidParameterException("sampleRate는 0보다 커야 합니다.");
+        }
+        if (params.windowSize() < MIN_WINDOW || params.windowSize() > MAX_WINDOW) {
+            throw new InvalidParameterException(
+                    "windowSize는 " + MIN_WINDOW + " 이상 " + MAX_WINDOW + " 이하여야 합니다.");
+        }
+        if (params.hop() < 1 || params.hop() > params.windowSize()) {
+            throw new InvalidParameterException("hop은 1 이상 windowSize 이하여야 합니다.");
+        }
+        if (params.window() == null) {
+            throw new InvalidParameterException("window가 필요합니다.");
+        }
+    }
+}
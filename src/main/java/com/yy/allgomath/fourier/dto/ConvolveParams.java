@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** FFT 합성곱을 위한 내부 파라미터. */
+public record ConvolveParams(double[] signal, double[] kernel) {
+}
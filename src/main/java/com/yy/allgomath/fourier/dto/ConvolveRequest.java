@@ -0,0 +1,10 @@
+package com.yy.allgomath.fourier.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/** FFT 합성곱 HTTP 요청 DTO. */
+public record ConvolveRequest(
+        @NotNull @Size(min = 1, max = 65536) double[] signal,
+        @NotNull @Size(min = 1, max = 65536) double[] kernel) {
+}
@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 선형 합성곱 결과 (길이 signal + kernel - 1). */
+public record ConvolveResult(double[] result) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.fourier.dto;
+
+import com.yy.allgomath.fourier.FilterType;
+
+/** 주파수 필터를 위한 내부 파라미터. 통과/차단 구간은 [low, high] Hz. */
+public record FilterParams(double[] signal, double sampleRate, FilterType type, double low, double high) {
+}
@@ -0,0 +1,16 @@
+package com.yy.allgomath.fourier.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 주파수 필터 HTTP 요청 DTO. lowpass/highpass 는 cutoff, bandpass/notch 는 low/high 를 쓴다(Hz).
+ */
+public record FilterRequest(
+        @NotNull @Size(min = 2, max = 65536) double[] signal,
+        double sampleRate,
+        @NotNull String type,
+        Double cutoff,
+        Double low,
+        Double high) {
+}
@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 필터 결과: 시간 영역 필터 신호와 필터 후 단측 진폭 스펙트럼. */
+public record FilterResult(double[] signal, Bin[] spectrum) {
+}
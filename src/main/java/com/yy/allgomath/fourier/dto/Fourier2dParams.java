@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 2D FFT를 위한 내부 파라미터. */
+public record Fourier2dParams(double[][] grid, boolean shift, boolean log) {
+}
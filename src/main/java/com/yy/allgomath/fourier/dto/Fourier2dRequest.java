@@ -0,0 +1,14 @@
+package com.yy.allgomath.fourier.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * 2D FFT HTTP 요청 DTO. grid 는 행 배열(모든 행 길이가 같아야 함).
+ * shift(기본 true)는 DC 를 중앙으로 옮기고, log(기본 false)는 진폭을 log(1+|X|) 로 압축한다.
+ */
+public record Fourier2dRequest(
+        @NotNull @Size(min = 1, max = 1024) double[][] grid,
+        Boolean shift,
+        Boolean log) {
+}
@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 2D 진폭 스펙트럼 (|X|/(rows·cols), 요청에 따라 중앙 정렬/로그 압축). max 는 DC 를 뺀 최대값. */
+public record Fourier2dResult(int rows, int cols, double[][] magnitude, double dc, double max) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.fourier.dto;
+
+import java.util.List;
+
+/** DFT 배치를 위한 내부 파라미터. */
+public record FourierBatchParams(List<FourierTransformParams> items) {
+}
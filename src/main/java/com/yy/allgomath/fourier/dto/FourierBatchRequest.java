@@ -0,0 +1,12 @@
+package com.yy.allgomath.fourier.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/** DFT 배치 HTTP 요청 DTO. 각 항목은 단건 /transform 요청과 같은 제약을 받는다. */
+public record FourierBatchRequest(
+        @NotEmpty @Size(max = 64) List<@Valid FourierTransformRequest> items) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.fourier.dto;
+
+import java.util.List;
+
+/** DFT 배치 결과. 요청 항목과 같은 순서. */
+public record FourierBatchResult(List<FourierTransformResult> results) {
+}
@@ -6,5 +6,6 @@ import jakarta.validation.constraints.NotNull;
 
 public record FourierComputeRequest(
         @NotNull String wave,
-        @Min(1) @Max(40) int N) {
+        @Min(1) @Max(40) int N,
+        @Min(2) @Max(4096) Integer samples) {
 }
@@ -1,4 +1,9 @@
 package com.yy.allgomath.fourier.dto;
 
-public record FourierParams(String wave, int N) {
+/** samples 가 0 이면 계수만, 양수면 한 주기 samples 점에서의 부분합 표도 만든다. */
+public record FourierParams(String wave, int N, int samples) {
+
+    public FourierParams(String wave, int N) {
+        this(wave, N, 0);
+    }
 }
@@ -1,6 +1,14 @@
 package com.yy.allgomath.fourier.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
-public record FourierResult(List<Harmonic> harmonics) {
+/** synthesis 는 부분합 표를 요청했을 때만 채운다. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FourierResult(List<Harmonic> harmonics, FourierSynthesis synthesis) {
+
+    public FourierResult(List<Harmonic> harmonics) {
+        this(harmonics, null);
+    }
 }
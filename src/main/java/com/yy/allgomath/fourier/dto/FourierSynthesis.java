@@ -0,0 +1,8 @@
+package com.yy.allgomath.fourier.dto;
+
+/**
+ * 한 주기 부분합 표. 표본점은 θ_i = 2π·i/samples (i = 0..samples-1),
+ * partialSums[k][i] 는 harmonics 의 앞 k+1 개 항의 합을 θ_i 에서 평가한 값이다.
+ */
+public record FourierSynthesis(int samples, double[][] partialSums) {
+}
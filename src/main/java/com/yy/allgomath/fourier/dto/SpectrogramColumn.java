@@ -0,0 +1,5 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 스펙트로그램 한 열: 프레임 중심 시각(초), 단측 진폭(빈 0..windowSize/2), 최대 진폭 빈. */
+public record SpectrogramColumn(int index, double time, double[] mags, Bin peak) {
+}
@@ -0,0 +1,6 @@
+package com.yy.allgomath.fourier.dto;
+
+/** 스펙트로그램 스트림 첫 줄. 열마다 주파수를 반복하지 않도록 k번째 빈 주파수 = k × binWidth 로 준다. */
+public record SpectrogramHeader(double sampleRate, int windowSize, int hop, String window,
+                                int bins, double binWidth) {
+}
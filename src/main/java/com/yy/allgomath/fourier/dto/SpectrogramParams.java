@@ -0,0 +1,7 @@
+package com.yy.allgomath.fourier.dto;
+
+import com.yy.allgomath.fourier.fft.WindowFunction;
+
+/** STFT 계산을 위한 내부 파라미터. */
+public record SpectrogramParams(double sampleRate, int windowSize, int hop, WindowFunction window) {
+}
@@ -0,0 +1,15 @@
+package com.yy.allgomath.fourier.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/** 스펙트로그램 엔드포인트 JSON 요청 DTO. hop/window 생략 시 windowSize/4, hann. */
+public record SpectrogramRequest(
+        @NotNull @Size(min = 16, max = 4_194_304) double[] signal,
+        double sampleRate,
+        @Min(16) @Max(65536) int windowSize,
+        Integer hop,
+        String window) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.fourier.dto;
+
+/**
+ * 스펙트로그램 스트림 마지막 줄. 읽은 샘플 수와 열 개수, 입력이 최대 샘플 수를 넘어 뒷부분을 읽지 않았는지(truncated).
+ */
+public record SpectrogramSummary(int columns, long samples, boolean truncated) {
+}
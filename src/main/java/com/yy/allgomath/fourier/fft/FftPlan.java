@@ -0,0 +1,328 @@
+package com.yy.allgomath.fourier.fft;
+
+import com.yy.allgomath.fourier.fft.FftScratch.Slot;
+
+import java.util.Arrays;
+
+/**
+ * 길이 n 복소 FFT 계획. 생성 시 트위들 테이블/분해를 한 번 만들고 이후 변환마다 재사용한다(불변, 스레드 안전).
+ * <ul>
+ *   <li>2의 거듭제곱: 반복형 radix-2 (비트 역순 + 제자리 버터플라이)</li>
+ *   <li>2·3·5·7 로만 분해되는 길이: 혼합 기수(4/2/3/5/7) 재귀 분해 — 버터플라이는 kissfft 방식</li>
+ *   <li>그 밖(큰 소인수): Bluestein chirp-z — 2의 거듭제곱 길이 순환 합성곱으로 변환</li>
+ * </ul>
+ * 규약: forward = Σ x[n]·e^{-2πikn/N}, inverse 는 1/N 스케일 포함. 실수/허수부는 별도 배열(re, im)로 받고
+ * 길이 n 보다 긴 배열이면 앞 n 개만 쓴다. 내부 작업 배열은 {@link FftScratch}의 스레드별 버퍼를 재사용한다.
+ * 인스턴스는 {@link FftPlans}에서 길이별로 캐시해 얻는다.
+ */
+public final class FftPlan {
+
+    private enum Kind { RADIX2, MIXED, BLUESTEIN }
+
+    private static final int[] RADICES = {4, 2, 3, 5, 7};
+
+    private final int n;
+    private final Kind kind;
+
+    // e^{-2πik/n}, k < n (radix-2 는 앞쪽 n/2 만 씀)
+    private final double[] twRe;
+    private final double[] twIm;
+
+    // 혼합 기수: {p0, m0, p1, m1, ...} (p = 기수, m = 남은 길이)
+    private final int[] factors;
+
+    // Bluestein: chirp w[k] = e^{-iπk²/n}, 합성곱 길이 m 과 conj(chirp) 스펙트럼
+    private final FftPlan convolution;
+    private final double[] chirpRe;
+    private final double[] chirpIm;
+    private final double[] kernelRe;
+    private final double[] kernelIm;
+
+    FftPlan(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("FFT 길이는 1 이상이어야 합니다: " + n);
+        }
+        this.n = n;
+        int[] mixed = (n & (n - 1)) == 0 ? null : factorize(n);
+        this.kind = (n & (n - 1)) == 0 ? Kind.RADIX2 : mixed != null ? Kind.MIXED : Kind.BLUESTEIN;
+        this.factors = mixed;
+
+        if (kind == Kind.BLUESTEIN) {
+            this.twRe = null;
+            this.twIm = null;
+            int m = Integer.highestOneBit(2 * n - 1);
+            if (m < 2 * n - 1) {
+                m <<= 1;
+            }
+            this.convolution = FftPlans.complex(m);
+            this.chirpRe = new double[n];
+            this.chirpIm = new double[n];
+            long twoN = 2L * n;
+            for (int k = 0; k < n; k++) {
+                // k² 를 2n 으로 먼저 줄여야 큰 k 에서도 각도가 정확하다
+                double ang = Math.PI * (((long) k * k) % twoN) / n;
+                chirpRe[k] = Math.cos(ang);
+                chirpIm[k] = -Math.sin(ang);
+            }
+            this.kernelRe = new double[m];
+            this.kernelIm = new double[m];
+            kernelRe[0] = chirpRe[0];
+            kernelIm[0] = -chirpIm[0];
+            for (int k = 1; k < n; k++) {
+                kernelRe[k] = kernelRe[m - k] = chirpRe[k];
+                kernelIm[k] = kernelIm[m - k] = -chirpIm[k];
+            }
+            convolution.forward(kernelRe, kernelIm);
+        } else {
+            this.convolution = null;
+            this.chirpRe = this.chirpIm = this.kernelRe = this.kernelIm = null;
+            int len = kind == Kind.RADIX2 ? Math.max(1, n / 2) : n;
+            this.twRe = new double[len];
+            this.twIm = new double[len];
+            for (int k = 0; k < len; k++) {
+                double ang = 2.0 * Math.PI * k / n;
+                twRe[k] = Math.cos(ang);
+                twIm[k] = -Math.sin(ang);
+            }
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** 이 계획이 직접 가진 테이블 크기(바이트). Bluestein 의 합성곱 계획은 캐시에 따로 잡히므로 빼고 센다. */
+    long tableBytes() {
+        return 8L * (length(twRe) + length(twIm) + length(chirpRe) + length(chirpIm)
+                + length(kernelRe) + length(kernelIm));
+    }
+
+    private static int length(double[] table) {
+        return table == null ? 0 : table.length;
+    }
+
+    /** 제자리 순방향 변환. */
+    public void forward(double[] re, double[] im) {
+        checkLength(re, im);
+        switch (kind) {
+            case RADIX2 -> radix2(re, im);
+            case MIXED -> mixed(re, im);
+            case BLUESTEIN -> bluestein(re, im);
+        }
+    }
+
+    /** 제자리 역변환 (1/n 스케일 포함). conj(FFT(conj(x)))/n 로 순방향 경로를 재사용한다. */
+    public void inverse(double[] re, double[] im) {
+        checkLength(re, im);
+        for (int i = 0; i < n; i++) {
+            im[i] = -im[i];
+        }
+        forward(re, im);
+        double scale = 1.0 / n;
+        for (int i = 0; i < n; i++) {
+            re[i] *= scale;
+            im[i] = -im[i] * scale;
+        }
+    }
+
+    private void checkLength(double[] re, double[] im) {
+        if (re.length < n || im.length < n) {
+            throw new IllegalArgumentException("버퍼 길이가 FFT 길이 " + n + " 보다 짧습니다.");
+        }
+    }
+
+    // ---- radix-2 ----
+
+    private void radix2(double[] re, double[] im) {
+        if (n == 1) {
+            return;
+        }
+        int shift = 32 - Integer.numberOfTrailingZeros(n);
+        for (int i = 0; i < n; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (j > i) {
+                double t = re[i]; re[i] = re[j]; re[j] = t;
+                t = im[i]; im[i] = im[j]; im[j] = t;
+            }
+        }
+        for (int size = 2; size <= n; size <<= 1) {
+            int half = size >> 1;
+            int step = n / size;
+            for (int start = 0; start < n; start += size) {
+                for (int j = 0, k = 0; j < half; j++, k += step) {
+                    int a = start + j;
+                    int b = a + half;
+                    double wr = twRe[k], wi = twIm[k];
+                    double tr = re[b] * wr - im[b] * wi;
+                    double ti = re[b] * wi + im[b] * wr;
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+
+    // ---- 혼합 기수 ----
+
+    /** 4 → 2 → 3 → 5 → 7 순으로 나눈다. 다른 소인수가 남으면 null (Bluestein 대상). */
+    private static int[] factorize(int n) {
+        int[] buf = new int[64];
+        int count = 0;
+        int rest = n;
+        for (int p : RADICES) {
+            while (rest % p == 0) {
+                rest /= p;
+                buf[count++] = p;
+                buf[count++] = rest;
+            }
+        }
+        if (rest != 1) {
+            return null;
+        }
+        int[] out = new int[count];
+        System.arraycopy(buf, 0, out, 0, count);
+        return out;
+    }
+
+    private void mixed(double[] re, double[] im) {
+        double[] outRe = FftScratch.buffer(Slot.MIXED_RE, n);
+        double[] outIm = FftScratch.buffer(Slot.MIXED_IM, n);
+        work(outRe, outIm, 0, re, im, 0, 1, 0);
+        System.arraycopy(outRe, 0, re, 0, n);
+        System.arraycopy(outIm, 0, im, 0, n);
+    }
+
+    /** 재귀 DIT: 입력을 fstride 간격으로 p 갈래로 나눠 하위 변환한 뒤 기수 p 버터플라이로 합친다. */
+    private void work(double[] oRe, double[] oIm, int out, double[] iRe, double[] iIm, int in,
+                      int fstride, int stage) {
+        int p = factors[2 * stage];
+        int m = factors[2 * stage + 1];
+        if (m == 1) {
+            for (int j = 0; j < p; j++) {
+                oRe[out + j] = iRe[in + j * fstride];
+                oIm[out + j] = iIm[in + j * fstride];
+            }
+        } else {
+            for (int j = 0; j < p; j++) {
+                work(oRe, oIm, out + j * m, iRe, iIm, in + j * fstride, fstride * p, stage + 1);
+            }
+        }
+        switch (p) {
+            case 2 -> butterfly2(oRe, oIm, out, fstride, m);
+            case 3 -> butterfly3(oRe, oIm, out, fstride, m);
+            case 4 -> butterfly4(oRe, oIm, out, fstride, m);
+            default -> butterflyGeneric(oRe, oIm, out, fstride, m, p);
+        }
+    }
+
+    private void butterfly2(double[] re, double[] im, int f, int fstride, int m) {
+        for (int k = 0; k < m; k++) {
+            int a = f + k, b = a + m, t = k * fstride;
+            double tr = re[b] * twRe[t] - im[b] * twIm[t];
+            double ti = re[b] * twIm[t] + im[b] * twRe[t];
+            re[b] = re[a] - tr;
+            im[b] = im[a] - ti;
+            re[a] += tr;
+            im[a] += ti;
+        }
+    }
+
+    private void butterfly3(double[] re, double[] im, int f, int fstride, int m) {
+        double epi3 = twIm[fstride * m]; // Im(e^{-2πi/3})
+        for (int k = 0; k < m; k++) {
+            int a = f + k, b = a + m, c = b + m;
+            int t1 = k * fstride, t2 = 2 * k * fstride;
+            double s1r = re[b] * twRe[t1] - im[b] * twIm[t1];
+            double s1i = re[b] * twIm[t1] + im[b] * twRe[t1];
+            double s2r = re[c] * twRe[t2] - im[c] * twIm[t2];
+            double s2i = re[c] * twIm[t2] + im[c] * twRe[t2];
+            double s3r = s1r + s2r, s3i = s1i + s2i;
+            double s0r = (s1r - s2r) * epi3, s0i = (s1i - s2i) * epi3;
+            double br = re[a] - 0.5 * s3r, bi = im[a] - 0.5 * s3i;
+            re[a] += s3r;
+            im[a] += s3i;
+            re[c] = br + s0i;
+            im[c] = bi - s0r;
+            re[b] = br - s0i;
+            im[b] = bi + s0r;
+        }
+    }
+
+    private void butterfly4(double[] re, double[] im, int f, int fstride, int m) {
+        for (int k = 0; k < m; k++) {
+            int a = f + k, b = a + m, c = b + m, d = c + m;
+            int t1 = k * fstride, t2 = 2 * t1, t3 = 3 * t1;
+            double s0r = re[b] * twRe[t1] - im[b] * twIm[t1];
+            double s0i = re[b] * twIm[t1] + im[b] * twRe[t1];
+            double s1r = re[c] * twRe[t2] - im[c] * twIm[t2];
+            double s1i = re[c] * twIm[t2] + im[c] * twRe[t2];
+            double s2r = re[d] * twRe[t3] - im[d] * twIm[t3];
+            double s2i = re[d] * twIm[t3] + im[d] * twRe[t3];
+            double s5r = re[a] - s1r, s5i = im[a] - s1i;
+            double fr = re[a] + s1r, fi = im[a] + s1i;
+            double s3r = s0r + s2r, s3i = s0i + s2i;
+            double s4r = s0r - s2r, s4i = s0i - s2i;
+            re[c] = fr - s3r;
+            im[c] = fi - s3i;
+            re[a] = fr + s3r;
+            im[a] = fi + s3i;
+            re[b] = s5r + s4i;
+            im[b] = s5i - s4r;
+            re[d] = s5r - s4i;
+            im[d] = s5i + s4r;
+        }
+    }
+
+    /** 기수 5, 7: p² 직접 합. 트위들은 전체 테이블에서 (fstride·k) 누적 인덱스로 뽑는다. */
+    private void butterflyGeneric(double[] re, double[] im, int f, int fstride, int m, int p) {
+        double[] sRe = new double[p];
+        double[] sIm = new double[p];
+        for (int u = 0; u < m; u++) {
+            for (int q = 0, k = f + u; q < p; q++, k += m) {
+                sRe[q] = re[k];
+                sIm[q] = im[k];
+            }
+            for (int q1 = 0, k = u; q1 < p; q1++, k += m) {
+                double accR = sRe[0], accI = sIm[0];
+                int idx = 0;
+                for (int q = 1; q < p; q++) {
+                    idx += fstride * k;
+                    if (idx >= n) {
+                        idx -= n;
+                    }
+                    accR += sRe[q] * twRe[idx] - sIm[q] * twIm[idx];
+                    accI += sRe[q] * twIm[idx] + sIm[q] * twRe[idx];
+                }
+                re[f + k] = accR;
+                im[f + k] = accI;
+            }
+        }
+    }
+
+    // ---- Bluestein ----
+
+    private void bluestein(double[] re, double[] im) {
+        int m = convolution.size();
+        double[] aRe = FftScratch.buffer(Slot.BLUESTEIN_RE, m);
+        double[] aIm = FftScratch.buffer(Slot.BLUESTEIN_IM, m);
+        for (int k = 0; k < n; k++) {
+            aRe[k] = re[k] * chirpRe[k] - im[k] * chirpIm[k];
+            aIm[k] = re[k] * chirpIm[k] + im[k] * chirpRe[k];
+        }
+        Arrays.fill(aRe, n, m, 0.0);
+        Arrays.fill(aIm, n, m, 0.0);
+        convolution.forward(aRe, aIm);
+        for (int k = 0; k < m; k++) {
+            double r = aRe[k] * kernelRe[k] - aIm[k] * kernelIm[k];
+            aIm[k] = aRe[k] * kernelIm[k] + aIm[k] * kernelRe[k];
+            aRe[k] = r;
+        }
+        convolution.inverse(aRe, aIm);
+        for (int k = 0; k < n; k++) {
+            re[k] = aRe[k] * chirpRe[k] - aIm[k] * chirpIm[k];
+            im[k] = aRe[k] * chirpIm[k] + aIm[k] * chirpRe[k];
+        }
+    }
+}
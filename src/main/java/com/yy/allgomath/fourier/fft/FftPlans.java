@@ -0,0 +1,82 @@
+package com.yy.allgomath.fourier.fft;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 길이별 FFT 계획 캐시 (프로세스 전역). 트위들/chirp 테이블 생성 비용을 요청마다 다시 내지 않도록 한다.
+ * 임의 길이가 들어올 수 있어 개수가 아니라 테이블 바이트 합계로 묶는다: 복소/실수 캐시마다 최근 사용 순으로
+ * {@link #MAX_BYTES}까지 보관하고, 그보다 큰 계획(2^20 근처 Bluestein 등)은 캐시하지 않고 매번 만든다.
+ */
+public final class FftPlans {
+
+    static final long MAX_BYTES = 32L << 20;
+
+    private static final PlanCache<FftPlan> COMPLEX = new PlanCache<>(FftPlan::tableBytes);
+    private static final PlanCache<RealFft> REAL = new PlanCache<>(RealFft::tableBytes);
+
+    private FftPlans() {
+    }
+
+    public static FftPlan complex(int n) {
+        FftPlan plan = COMPLEX.get(n);
+        if (plan != null) {
+            return plan;
+        }
+        // Bluestein 계획은 생성 중 다른 길이 계획을 다시 조회하므로 잠금 밖에서 만든다
+        return COMPLEX.putIfAbsent(n, new FftPlan(n));
+    }
+
+    public static RealFft real(int n) {
+        RealFft plan = REAL.get(n);
+        if (plan != null) {
+            return plan;
+        }
+        return REAL.putIfAbsent(n, new RealFft(n));
+    }
+
+    /** 캐시에 잡힌 테이블 바이트 (복소 + 실수). */
+    static long cachedBytes() {
+        return COMPLEX.bytes() + REAL.bytes();
+    }
+
+    /** 테이블 바이트 합계로 묶는 LRU. */
+    private static final class PlanCache<V> {
+
+        private final LinkedHashMap<Integer, V> plans = new LinkedHashMap<>(16, 0.75f, true);
+        private final ToLongFunction<V> sizeOf;
+        private long bytes;
+
+        PlanCache(ToLongFunction<V> sizeOf) {
+            this.sizeOf = sizeOf;
+        }
+
+        synchronized V get(int n) {
+            return plans.get(n);
+        }
+
+        /** 먼저 들어간 계획이 있으면 그것을, 없으면 created 를 (예산 안이면 캐시에 넣고) 돌려준다. */
+        synchronized V putIfAbsent(int n, V created) {
+            V raced = plans.get(n);
+            if (raced != null) {
+                return raced;
+            }
+            long size = sizeOf.applyAsLong(created);
+            if (size > MAX_BYTES) {
+                return created;
+            }
+            plans.put(n, created);
+            bytes += size;
+            for (Iterator<V> eldest = plans.values().iterator(); bytes > MAX_BYTES; ) {
+                bytes -= sizeOf.applyAsLong(eldest.next());
+                eldest.remove();
+            }
+            return created;
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+    }
+}
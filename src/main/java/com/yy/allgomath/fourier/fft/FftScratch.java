@@ -0,0 +1,41 @@
+package com.yy.allgomath.fourier.fft;
+
+/**
+ * 스레드별로 재사용하는 FFT 작업 버퍼. 요청마다 길이 n 배열을 새로 만들지 않도록 슬롯별로 한 벌씩 들고 있다.
+ * <p>
+ * 돌려받은 배열은 n 보다 길 수 있고 이전 내용이 남아 있으므로, 호출자가 [0, n) 만 쓰고 필요한 부분은 직접 0 으로 채운다.
+ * 같은 슬롯을 중첩 호출에서 겹쳐 쓰지 않도록 용도별로 슬롯을 나눈다.
+ * 아주 긴 신호용 버퍼까지 스레드마다 붙잡아 두지 않도록 {@value #RETAIN_LIMIT} 원소를 넘으면 매번 새로 만든다.
+ */
+public final class FftScratch {
+
+    public enum Slot {
+        MIXED_RE, MIXED_IM,
+        BLUESTEIN_RE, BLUESTEIN_IM,
+        REAL_RE, REAL_IM,
+        FILTER_RE, FILTER_IM,
+        AUX_RE, AUX_IM,
+        GRID_RE, GRID_IM
+    }
+
+    static final int RETAIN_LIMIT = 1 << 16;
+
+    private static final ThreadLocal<double[][]> BUFFERS =
+            ThreadLocal.withInitial(() -> new double[Slot.values().length][]);
+
+    private FftScratch() {
+    }
+
+    public static double[] buffer(Slot slot, int n) {
+        if (n > RETAIN_LIMIT) {
+            return new double[n];
+        }
+        double[][] buffers = BUFFERS.get();
+        double[] b = buffers[slot.ordinal()];
+        if (b == null || b.length < n) {
+            b = new double[Math.max(n, 64)];
+            buffers[slot.ordinal()] = b;
+        }
+        return b;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yy.allgomath.fourier.fft;
+
+import com.yy.allgomath.fourier.fft.FftScratch.Slot;
+
+import java.util.Arrays;
+
+/**
+ * 실수 입력 FFT. 짝수 길이 n 은 x[2j] + i·x[2j+1] 로 묶어 n/2 길이 복소 FFT 한 번으로 계산하고
+ * 분리 단계(X[k] = E[k] + e^{-2πik/n}·O[k])에서 단측 스펙트럼 0..n/2 를 복원한다. 홀수 길이는 복소 FFT 로 처리한다.
+ * 인스턴스는 {@link FftPlans#real(int)}에서 길이별로 캐시해 얻는다(불변, 스레드 안전).
+ */
+public final class RealFft {
+
+    private final int n;
+    private final FftPlan plan;
+    // e^{-2πik/n}, k <= n/2 (짝수 길이 분리 단계용)
+    private final double[] twRe;
+    private final double[] twIm;
+
+    RealFft(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("FFT 길이는 1 이상이어야 합니다: " + n);
+        }
+        this.n = n;
+        boolean packed = n % 2 == 0;
+        this.plan = FftPlans.complex(packed ? n / 2 : n);
+        if (packed) {
+            int half = n / 2;
+            this.twRe = new double[half + 1];
+            this.twIm = new double[half + 1];
+            for (int k = 0; k <= half; k++) {
+                double ang = 2.0 * Math.PI * k / n;
+                twRe[k] = Math.cos(ang);
+                twIm[k] = -Math.sin(ang);
+            }
+        } else {
+            this.twRe = this.twIm = null;
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** 분리 단계 트위들 크기(바이트). 안쪽 복소 계획은 캐시에 따로 잡힌다. */
+    long tableBytes() {
+        return twRe == null ? 0 : 16L * twRe.length;
+    }
+
+    /** 단측 출력 길이 (n/2 + 1). */
+    public int bins() {
+        return n / 2 + 1;
+    }
+
+    /**
+     * @param x     길이 n 실수 신호 (변경하지 않음)
+     * @param outRe 길이 ≥ n/2+1, X[0..n/2] 실수부
+     * @param outIm 길이 ≥ n/2+1, X[0..n/2] 허수부
+     */
+    public void forward(double[] x, double[] outRe, double[] outIm) {
+        if (x.length < n || outRe.length < bins() || outIm.length < bins()) {
+            throw new IllegalArgumentException("버퍼 길이가 실수 FFT 길이 " + n + " 에 맞지 않습니다.");
+        }
+        if (twRe == null) {
+            double[] re = FftScratch.buffer(Slot.REAL_RE, n);
+            double[] im = FftScratch.buffer(Slot.REAL_IM, n);
+            System.arraycopy(x, 0, re, 0, n);
+            Arrays.fill(im, 0, n, 0.0);
+            plan.forward(re, im);
+            System.arraycopy(re, 0, outRe, 0, bins());
+            System.arraycopy(im, 0, outIm, 0, bins());
+            return;
+        }
+
+        int half = n / 2;
+        double[] zRe = FftScratch.buffer(Slot.REAL_RE, half);
+        double[] zIm = FftScratch.buffer(Slot.REAL_IM, half);
+        for (int j = 0; j < half; j++) {
+            zRe[j] = x[2 * j];
+            zIm[j] = x[2 * j + 1];
+        }
+        plan.forward(zRe, zIm);
+
+        for (int k = 0; k <= half; k++) {
+            int a = k == half ? 0 : k;
+            int b = k == 0 ? 0 : half - k;
+            // E = (Z[k] + conj(Z[h-k]))/2, O = (Z[k] - conj(Z[h-k]))/(2i)
+            double eRe = 0.5 * (zRe[a] + zRe[b]);
+            double eIm = 0.5 * (zIm[a] - zIm[b]);
+            double oRe = 0.5 * (zIm[a] + zIm[b]);
+            double oIm = -0.5 * (zRe[a] - zRe[b]);
+            outRe[k] = eRe + twRe[k] * oRe - twIm[k] * oIm;
+            outIm[k] = eIm + twRe[k] * oIm + twIm[k] * oRe;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.yy.allgomath.fourier.fft;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STFT 창 함수. 길이별 계수 테이블을 한 번 만들어 캐시하고 공유한다(반환 배열은 읽기 전용으로 쓸 것).
+ */
+public enum WindowFunction {
+    RECTANGULAR,
+    HANN,
+    HAMMING,
+    BLACKMAN;
+
+    private static final int MAX_CACHED = 64;
+    private static final Map<String, double[]> TABLES = new ConcurrentHashMap<>();
+
+    /** 이름(대소문자 무시)으로 찾는다. */
+    public static WindowFunction from(String name) {
+        for (WindowFunction w : values()) {
+            if (w.name().equalsIgnoreCase(name)) {
+                return w;
+            }
+        }
+        throw new InvalidParameterException("지원하지 않는 window 입니다: " + name
+                + " (rectangular, hann, hamming, blackman)");
+    }
+
+    /** 주기형(periodic) 계수 테이블. STFT 에서 hop 겹침 합이 평탄하도록 분모는 n 이다. */
+    public double[] table(int n) {
+        String key = name() + ":" + n;
+        double[] cached = TABLES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        double[] w = new double[n];
+        for (int i = 0; i < n; i++) {
+            double a = 2 * Math.PI * i / n;
+            w[i] = switch (this) {
+                case RECTANGULAR -> 1.0;
+                case HANN -> 0.5 - 0.5 * Math.cos(a);
+                case HAMMING -> 0.54 - 0.46 * Math.cos(a);
+                case BLACKMAN -> 0.42 - 0.5 * Math.cos(a) + 0.08 * Math.cos(2 * a);
+            };
+        }
+        if (TABLES.size() >= MAX_CACHED) {
+            TABLES.clear();
+        }
+        TABLES.putIfAbsent(key, w);
+        return w;
+    }
+
+    /** 계수 합(coherent gain × n). 진폭 정규화에 쓴다. */
+    public double sum(int n) {
+        double s = 0;
+        for (double v : table(n)) {
+            s += v;
+        }
+        return s;
+    }
+}
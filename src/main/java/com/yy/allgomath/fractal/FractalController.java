@@ -43,8 +43,9 @@ public class FractalController {
             @RequestParam @Min(1) int resolution,
             @RequestParam(defaultValue = "classic") String colorScheme,
             @RequestParam(defaultValue = "true") boolean smooth,
-            @RequestParam(defaultValue = "0.0") double centerX,
-            @RequestParam(defaultValue = "0.0") double centerY,
+            // 깊은 줌에서는 double 보다 많은 자릿수가 필요하므로 중심은 십진 문자열로 받는다
+            @RequestParam(defaultValue = "0.0") String centerX,
+            @RequestParam(defaultValue = "0.0") String centerY,
             @RequestParam(defaultValue = "1.0") double zoom,
             @RequestParam(required = false) Double juliaReal,
             @RequestParam(required = false) Double juliaImag) throws IOException {
@@ -78,8 +79,9 @@ public class FractalController {
             @RequestParam @Min(1) int resolution,
             @RequestParam(defaultValue = "classic") String colorScheme,
             @RequestParam(defaultValue = "true") boolean smooth,
-            @RequestParam(defaultValue = "0.0") double centerX,
-            @RequestParam(defaultValue = "0.0") double centerY,
+            // 깊은 줌에서는 double 보다 많은 자릿수가 필요하므로 중심은 십진 문자열로 받는다
+            @RequestParam(defaultValue = "0.0") String centerX,
+            @RequestParam(defaultValue = "0.0") String centerY,
             @RequestParam(defaultValue = "1.0") double zoom,
             @RequestParam(required = false) Double juliaReal,
             @RequestParam(required = false) Double juliaImag) {
@@ -1,32 +1,43 @@
 package com.yy.allgomath.fractal;
 
 import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.common.exception.ParameterRangeException;
+import com.yy.allgomath.fractal.calculator.DoubleDoubleKernel;
 import com.yy.allgomath.fractal.calculator.FractalCalculator;
 import com.yy.allgomath.fractal.dto.FractalParameters;
 import com.yy.allgomath.fractal.dto.FractalResult;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
 /**
  * 프랙탈 도메인 오케스트레이션.
  * 파라미터 조립 + 계산기 위임을 담당하며, 계산/캐시는 calculateWithCaching 경로(mandelbrot_tile/julia)에 위임한다.
+ * 만델브로 뷰를 서빙한 뒤에는 {@link TilePrefetcher}에 이웃/자식 타일 프리페치를 맡긴다.
+ * 픽셀 간격이 double 정밀도 아래로 내려가는 깊은 줌은 {@link DoubleDoubleKernel}로 캐시 없이 계산한다.
  */
 @Service
 @RequiredArgsConstructor
 public class FractalService {
 
     private final FractalCalculatorFactory calculatorFactory;
+    private final TilePrefetcher tilePrefetcher;
 
     /**
      * 통합 프랙탈 생성. 컨트롤러 쿼리 파라미터로부터 FractalParameters를 조립하여 계산한다.
+     * 중심은 십진 문자열로 받는다. double 경로는 가장 가까운 double 을, 깊은 줌은 double-double 전체를 쓴다.
      */
     public FractalResult generate(String type, int iterations, int resolution,
                                   String colorScheme, boolean smooth,
-                                  double centerX, double centerY, double zoom,
+                                  String centerXText, String centerYText, double zoom,
                                   Double juliaReal, Double juliaImag) {
+        double[] cx = parseCenter("centerX", centerXText);
+        double[] cy = parseCenter("centerY", centerYText);
+        double centerX = cx[0];
+        double centerY = cy[0];
         double range = 4.0 / zoom;
         FractalParameters.FractalParametersBuilder builder = FractalParameters.defaults()
                 .xMin(centerX - range / 2).xMax(centerX + range / 2)
@@ -36,19 +47,49 @@ public class FractalService {
                 .colorScheme(colorScheme)
                 .smooth(smooth);
 
-        if ("julia".equalsIgnoreCase(type)) {
+        boolean julia = "julia".equalsIgnoreCase(type);
+        if (julia) {
             if (juliaReal == null || juliaImag == null) {
                 throw new InvalidParameterException("줄리아 집합의 경우 juliaReal과 juliaImag 파라미터가 필요합니다.");
             }
             builder.cReal(juliaReal).cImag(juliaImag);
         }
 
+        double spacing = range / resolution;
+        if ((julia || "mandelbrot".equalsIgnoreCase(type))
+                && DoubleDoubleKernel.required(centerX, centerY, spacing)) {
+            if (!DoubleDoubleKernel.supported(centerX, centerY, spacing)) {
+                throw new ParameterRangeException(String.format(
+                        "zoom이 너무 깊습니다: 픽셀 간격 %.3e 는 지원 정밀도(상대 %.0e) 밖입니다.",
+                        spacing, DoubleDoubleKernel.DOUBLE_DOUBLE_LIMIT));
+            }
+            double[][] values = DoubleDoubleKernel.render(julia, cx[0], cx[1], cy[0], cy[1], spacing,
+                    resolution, resolution, iterations, smooth,
+                    julia ? juliaReal : 0.0, julia ? juliaImag : 0.0);
+            return new FractalResult(resolution, resolution, values, colorScheme, smooth);
+        }
+
         FractalParameters params = builder.build();
         FractalCalculator calculator = calculatorFactory.getCalculator(type); // 미지원 타입이면 예외(->400)
         double[][] values = calculator.calculateWithCaching(params);
+        if ("mandelbrot".equalsIgnoreCase(type)) {
+            tilePrefetcher.prefetchAround(params); // 다음 팬/줌 타일을 유휴 시간에 미리 채운다
+        }
         return new FractalResult(resolution, resolution, values, colorScheme, smooth);
     }
 
+    private static double[] parseCenter(String name, String text) {
+        try {
+            double[] hiLo = DoubleDoubleKernel.split(new BigDecimal(text.trim()));
+            if (Double.isFinite(hiLo[0])) {
+                return hiLo;
+            }
+        } catch (NumberFormatException e) {
+            // 아래에서 같은 메시지로 거절
+        }
+        throw new InvalidParameterException(name + " 는 유한한 십진수여야 합니다: " + text);
+    }
+
     public List<String> getSupportedFractalTypes() {
         return calculatorFactory.getSupportedTypes();
     }
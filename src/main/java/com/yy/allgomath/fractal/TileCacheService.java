@@ -2,28 +2,59 @@ package com.yy.allgomath.fractal;
 
 import com.yy.allgomath.fractal.dto.TileData;
 import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.store.DiskTileStore;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.util.Locale;
+
 @Slf4j
 @Component
 public class TileCacheService {
     private static final int PRECISION = 10000; // 4 decimal places
+    private static final int STORE_STEPS_PER_TILE = 1024; // 디스크 키의 좌표 단위 = 타일 폭 / 1024 (1/32 픽셀)
+
+    // fractal.tile-store.enabled=true 일 때만 주입된다. Redis 미스 시 그 아래 계층으로 조회/적재
+    @Autowired(required = false)
+    private DiskTileStore diskTileStore;
 
     //DTO wrapper
     @Cacheable(value = "mandelbrot_tile",
-            key = "#params.maxIterations + '_' + #params.smooth + '_' + " +
-                    "T(Math).round(#tileXMin * " + PRECISION + ") + '_' + " +
-                    "T(Math).round(#tileYMin * " + PRECISION + ") + '_' + " +
-                    "T(Math).round(#tileXMax * " + PRECISION + ") + '_' + " +
-                    "T(Math).round(#tileYMax * " + PRECISION + ")"
+            key = "T(com.yy.allgomath.fractal.TileCacheService).tileKey(#params.maxIterations, #params.smooth, " +
+                    "#tileXMin, #tileYMin, #tileXMax, #tileYMax)"
     )
     public TileData  calculateTile(FractalParameters params,
                                     double tileXMin, double tileYMin,
                                     double tileXMax, double tileYMax) {
         log.debug("calculateTile cache miss");
         log.debug("tile params: maxIter={}, smooth={}", params.getMaxIterations(), params.isSmooth());
+        String key = null;
+        if (diskTileStore != null) {
+            key = storeKey(params.getMaxIterations(), params.isSmooth(), tileXMin, tileYMin, tileXMax, tileYMax);
+        }
+        if (key != null) {
+            TileData stored = diskTileStore.get(key);
+            if (stored != null) {
+                log.debug("calculateTile disk store hit");
+                return stored;
+            }
+        }
+        TileData tile = computeTile(params, tileXMin, tileYMin, tileXMax, tileYMax);
+        log.debug("calculateTile done");
+        if (key != null && diskTileStore.worthStoring(params.getMaxIterations())) {
+            diskTileStore.put(key, tile);
+        }
+        return tile;
+    }
+
+    /**
+     * 캐시를 거치지 않는 순수 타일 계산. 배치(피라미드) 작업이 Redis 를 오염시키지 않고 저장소에 직접 쓸 때 쓴다.
+     */
+    public TileData computeTile(FractalParameters params,
+                                double tileXMin, double tileYMin,
+                                double tileXMax, double tileYMax) {
         double[][] tileValues = new double[32][32];
 
         double pixelXStep = (tileXMax - tileXMin) / 32;
@@ -43,10 +74,41 @@ public class TileCacheService {
                 }
             }
         }
-        log.debug("calculateTile done");
         return new TileData(tileValues);
     }
 
+    /**
+     * mandelbrot_tile 캐시 키. @Cacheable SpEL과 프리페처/클러스터 코디네이터가 같은 문자열을 쓰도록 한 곳에 둔다.
+     */
+    public static String tileKey(int maxIterations, boolean smooth,
+                                 double tileXMin, double tileYMin, double tileXMax, double tileYMax) {
+        return maxIterations + "_" + smooth + "_"
+                + Math.round(tileXMin * PRECISION) + "_"
+                + Math.round(tileYMin * PRECISION) + "_"
+                + Math.round(tileXMax * PRECISION) + "_"
+                + Math.round(tileYMax * PRECISION);
+    }
+
+    /**
+     * 디스크 저장소 키. TTL 이 없어 잘못 겹친 키가 영구히 남으므로 {@link #tileKey}처럼 절대 1e-4 로 반올림하지 않고,
+     * 타일 폭(유효숫자 7자리)과 타일 폭의 1/{@value #STORE_STEPS_PER_TILE} 단위로 센 위치를 쓴다.
+     * 그래서 어느 줌에서도 이웃 타일은 다른 키가 되고, 같은 타일을 다른 뷰에서 계산한 반올림 오차는 같은 키로 모인다.
+     *
+     * @return 좌표가 그 단위로 정확히 표현되지 않을 만큼 깊은 줌이면 null (저장소를 쓰지 않는다)
+     */
+    public static String storeKey(int maxIterations, boolean smooth,
+                                  double tileXMin, double tileYMin, double tileXMax, double tileYMax) {
+        String width = String.format(Locale.ROOT, "%.6e", tileXMax - tileXMin);
+        String height = String.format(Locale.ROOT, "%.6e", tileYMax - tileYMin);
+        double step = Math.min(Double.parseDouble(width), Double.parseDouble(height)) / STORE_STEPS_PER_TILE;
+        double x = tileXMin / step, y = tileYMin / step;
+        if (!(step > 0) || !(Math.abs(x) < 0x1p53) || !(Math.abs(y) < 0x1p53)) {
+            return null;
+        }
+        return "tile_" + maxIterations + "_" + smooth + "_" + width + "_" + height + "_"
+                + Math.round(x) + "_" + Math.round(y);
+    }
+
     private double calculateMandelbrot(Complex c, int maxIterations) {
         Complex z = new Complex(0, 0);
         int iteration = 0;
@@ -0,0 +1,205 @@
+package com.yy.allgomath.fractal;
+
+import com.yy.allgomath.fractal.calculator.FractalCalculator;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서빙한 뷰 다음에 올 타일을 미리 mandelbrot_tile 에 채우는 저우선 백그라운드 프리페처.
+ * <p>
+ * 대상은 (1) 현재 타일 격자를 한 칸 둘러싼 이웃 링(한 타일 폭 팬)과 (2) 같은 중심의 2배 줌 뷰 타일이다.
+ * 실제 계산이 도는 ForkJoin 공용 풀(calculateWithCaching 병렬 스트림)이 유휴일 때만 계산하고,
+ * 노드당 대기 타일 수(budget)를 넘는 요청은 버린다. 기동 시 프리셋 뷰(mandelbrotDefaults/juliaDefaults)도 예열한다.
+ */
+@Slf4j
+@Component
+public class TilePrefetcher {
+
+    private static final int TILE_SIZE = 32; // MandelbrotCalculator 와 동일해야 키가 맞는다
+    private static final long IDLE_POLL_MILLIS = 50;
+    private static final long IDLE_WAIT_MAX_MILLIS = 2_000;
+
+    private final TileCacheService tileCacheService;
+    private final FractalCalculatorFactory calculatorFactory;
+    private final boolean enabled;
+    private final boolean warmOnStartup;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public TilePrefetcher(TileCacheService tileCacheService,
+                          FractalCalculatorFactory calculatorFactory,
+                          @Value("${fractal.prefetch.enabled:true}") boolean enabled,
+                          @Value("${fractal.prefetch.warm-on-startup:true}") boolean warmOnStartup,
+                          @Value("${fractal.prefetch.budget:512}") int budget) {
+        this.tileCacheService = tileCacheService;
+        this.calculatorFactory = calculatorFactory;
+        this.enabled = enabled;
+        this.warmOnStartup = warmOnStartup;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, budget)),
+                r -> {
+                    Thread t = new Thread(r, "tile-prefetch");
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 방금 서빙한 만델브로 뷰의 이웃 링 + 자식 타일을 예약한다. 이미 대기 중인 키는 건너뛰고, 예산 초과분은 버린다.
+     */
+    public void prefetchAround(FractalParameters params) {
+        if (!enabled) {
+            return;
+        }
+        int queued = 0;
+        for (TileBounds b : plan(params)) {
+            String key = TileCacheService.tileKey(params.getMaxIterations(), params.isSmooth(),
+                    b.xMin(), b.yMin(), b.xMax(), b.yMax());
+            if (!pending.add(key)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> computeWhenIdle(params, b, key));
+                queued++;
+            } catch (RejectedExecutionException e) {
+                pending.remove(key);
+                break; // 예산 소진: 나머지도 들어갈 자리가 없다
+            }
+        }
+        log.debug("prefetch queued {} tiles (pending={})", queued, pending.size());
+    }
+
+    /**
+     * 프리셋 뷰 예열. 기동 직후 한 번, 같은 백그라운드 실행기에서 돈다(기동을 막지 않음).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmPresets() {
+        if (!enabled || !warmOnStartup) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                FractalParameters mandelbrot = FractalParameters.mandelbrotDefaults().build();
+                warm("mandelbrot", mandelbrot);
+                warm("julia", FractalParameters.juliaDefaults().build());
+                prefetchAround(mandelbrot);
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("preset warm-up skipped: prefetch queue full");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 예약 대상 타일 경계. 이웃 링을 먼저, 자식(2배 줌) 타일을 나중에 둔다.
+     * 경계 계산식은 MandelbrotCalculator.calculateTile*Min/Max 와 같다(인덱스를 격자 밖으로 늘렸을 뿐).
+     */
+    List<TileBounds> plan(FractalParameters params) {
+        int tilesX = (params.getWidth() + TILE_SIZE - 1) / TILE_SIZE;
+        int tilesY = (params.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
+        List<TileBounds> out = new ArrayList<>(2 * (tilesX + tilesY) + 4 + tilesX * tilesY);
+
+        for (int ty = -1; ty <= tilesY; ty++) {
+            for (int tx = -1; tx <= tilesX; tx++) {
+                boolean inside = tx >= 0 && tx < tilesX && ty >= 0 && ty < tilesY;
+                if (!inside) {
+                    out.add(tileAt(params, tilesX, tilesY, tx, ty));
+                }
+            }
+        }
+
+        FractalParameters child = zoomedIn(params);
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                out.add(tileAt(child, tilesX, tilesY, tx, ty));
+            }
+        }
+        return out;
+    }
+
+    private static TileBounds tileAt(FractalParameters p, int tilesX, int tilesY, int tx, int ty) {
+        double tileWidth = (p.getXMax() - p.getXMin()) / tilesX;
+        double tileHeight = (p.getYMax() - p.getYMin()) / tilesY;
+        return new TileBounds(
+                p.getXMin() + tx * tileWidth, p.getYMin() + ty * tileHeight,
+                p.getXMin() + (tx + 1) * tileWidth, p.getYMin() + (ty + 1) * tileHeight);
+    }
+
+    /** 같은 중심, 같은 해상도의 2배 줌 뷰 (FractalService.generate 에서 zoom 을 두 배로 준 것과 같은 범위). */
+    private static FractalParameters zoomedIn(FractalParameters p) {
+        double cx = (p.getXMin() + p.getXMax()) / 2;
+        double cy = (p.getYMin() + p.getYMax()) / 2;
+        double halfW = (p.getXMax() - p.getXMin()) / 4;
+        double halfH = (p.getYMax() - p.getYMin()) / 4;
+        return FractalParameters.builder()
+                .xMin(cx - halfW).xMax(cx + halfW)
+                .yMin(cy - halfH).yMax(cy + halfH)
+                .width(p.getWidth()).height(p.getHeight())
+                .maxIterations(p.getMaxIterations())
+                .smooth(p.isSmooth())
+                .colorScheme(p.getColorScheme())
+                .build();
+    }
+
+    private void computeWhenIdle(FractalParameters params, TileBounds b, String key) {
+        try {
+            if (!awaitComputeIdle()) {
+                return; // 사용자 요청이 계속 몰리면 프리페치는 포기한다
+            }
+            // 프록시 경유 호출이라 이미 캐시에 있으면 적중만 하고 끝난다
+            tileCacheService.calculateTile(params, b.xMin(), b.yMin(), b.xMax(), b.yMax());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.debug("prefetch tile failed: {}", e.getMessage());
+        } finally {
+            pending.remove(key);
+        }
+    }
+
+    private void warm(String type, FractalParameters params) {
+        try {
+            FractalCalculator calculator = calculatorFactory.getCalculator(type);
+            calculator.calculateWithCaching(params);
+            log.info("preset warmed: {}", type);
+        } catch (RuntimeException e) {
+            log.warn("preset warm-up failed ({}): {}", type, e.getMessage());
+        }
+    }
+
+    private static boolean awaitComputeIdle() throws InterruptedException {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        long deadline = System.currentTimeMillis() + IDLE_WAIT_MAX_MILLIS;
+        while (pool.getActiveThreadCount() > 0 || pool.hasQueuedSubmissions()) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(IDLE_POLL_MILLIS);
+        }
+        return true;
+    }
+
+    record TileBounds(double xMin, double yMin, double xMax, double yMax) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.yy.allgomath.fractal.calculator;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+
+/**
+ * double-double(hi + lo, 약 106비트) 정밀도 만델브로/줄리아 커널. double 로는 픽셀이 뭉개지는 깊은 줌 구간용.
+ * <p>
+ * 좌표는 객체 없이 (hi, lo) 지역 변수 쌍으로만 다루고, 곱셈 오차항은 {@link Math#fma}로 정확히 얻는다.
+ * 중심도 (hi, lo) 쌍으로 받아 픽셀 좌표를 중심 + 오프셋의 twoSum 으로 만들기 때문에, 두 double 사이에 놓인 중심으로도
+ * 팬/줌할 수 있고 xMin/xMax 를 double 로 잃지 않는다.
+ * 타일 캐시 키(1e-4 반올림)로는 이 구간의 타일을 구분할 수 없어 캐시 없이 뷰 전체를 계산한다.
+ */
+public final class DoubleDoubleKernel {
+
+    /** 상대 픽셀 간격이 이보다 작으면 double 경로의 픽셀 좌표가 몇백 ulp 안으로 뭉개진다. */
+    public static final double DOUBLE_LIMIT = 1e-13;
+    /** double-double 의 유효 정밀도(~1e-32)에 여유를 둔 하한. 이보다 깊으면 이 커널로도 정확하지 않다. */
+    public static final double DOUBLE_DOUBLE_LIMIT = 1e-30;
+
+    private DoubleDoubleKernel() {
+    }
+
+    /** 좌표 크기에 대한 픽셀 간격 비율. 반복 중 |z| 가 O(1) 까지 커지므로 크기는 최소 1로 본다. */
+    public static double relativeSpacing(double centerX, double centerY, double spacing) {
+        double scale = Math.max(Math.max(Math.abs(centerX), Math.abs(centerY)), 1.0);
+        return spacing / scale;
+    }
+
+    /** double 로는 부족하고 double-double 이 필요한 줌인가. */
+    public static boolean required(double centerX, double centerY, double spacing) {
+        return relativeSpacing(centerX, centerY, spacing) < DOUBLE_LIMIT;
+    }
+
+    /** double-double 로도 표현 가능한 줌인가. */
+    public static boolean supported(double centerX, double centerY, double spacing) {
+        return relativeSpacing(centerX, centerY, spacing) >= DOUBLE_DOUBLE_LIMIT;
+    }
+
+    /** 십진 좌표를 double-double (hi, lo)로 나눈다. hi 는 가장 가까운 double, lo 는 남은 차이. */
+    public static double[] split(BigDecimal value) {
+        double hi = value.doubleValue();
+        if (!Double.isFinite(hi)) {
+            return new double[]{hi, 0.0};
+        }
+        return new double[]{hi, value.subtract(new BigDecimal(hi)).doubleValue()};
+    }
+
+    /** 중심이 double 로 정확한 뷰. */
+    public static double[][] render(boolean julia, double centerX, double centerY, double spacing,
+                                    int width, int height, int maxIterations, boolean smooth,
+                                    double cReal, double cImag) {
+        return render(julia, centerX, 0.0, centerY, 0.0, spacing, width, height, maxIterations, smooth, cReal, cImag);
+    }
+
+    /**
+     * 중심(hi + lo)/픽셀 간격으로 주어진 뷰를 계산한다. 픽셀 (x, y)는 기존 경로와 같이 xMin + x·spacing 위치다.
+     *
+     * @param julia true 면 z0 = 픽셀, c = (cReal, cImag) / false 면 만델브로(z0 = 0, c = 픽셀)
+     */
+    public static double[][] render(boolean julia, double centerXHi, double centerXLo,
+                                    double centerYHi, double centerYLo, double spacing,
+                                    int width, int height, int maxIterations, boolean smooth,
+                                    double cReal, double cImag) {
+        double[][] values = new double[height][width];
+        IntStream.range(0, height).parallel().forEach(y -> {
+            double offY = (y - height / 2.0) * spacing;
+            double sY = centerYHi + offY;
+            double eY = twoSumError(centerYHi, offY, sY) + centerYLo;
+            double imH = sY + eY;
+            double imL = eY - (imH - sY);
+            double[] row = values[y];
+            for (int x = 0; x < width; x++) {
+                double offX = (x - width / 2.0) * spacing;
+                double sX = centerXHi + offX;
+                double eX = twoSumError(centerXHi, offX, sX) + centerXLo;
+                double reH = sX + eX;
+                double reL = eX - (reH - sX);
+                row[x] = julia
+                        ? iterate(reH, reL, imH, imL, cReal, 0.0, cImag, 0.0, maxIterations, smooth)
+                        : iterate(0.0, 0.0, 0.0, 0.0, reH, reL, imH, imL, maxIterations, smooth);
+            }
+        });
+        return values;
+    }
+
+    /**
+     * z(n+1) = z(n)² + c 를 double-double 로 반복한다. 반환값 규약은 MandelbrotCalculator/JuliaCalculator 와 같다
+     * (수렴 -1, 발산 시 반복 횟수 또는 부드러운 반복 횟수).
+     */
+    static double iterate(double zrH, double zrL, double ziH, double ziL,
+                          double crH, double crL, double ciH, double ciL,
+                          int maxIterations, boolean smooth) {
+        double bailout = smooth ? 256.0 : 4.0;
+        int iteration = 0;
+
+        while (iteration < maxIterations && zrH * zrH + ziH * ziH < bailout) {
+            // x², y², xy (hi·hi 는 fma 로 정확히, 교차항은 lo 로)
+            double xxH = zrH * zrH;
+            double xxL = Math.fma(zrH, zrH, -xxH) + 2.0 * zrH * zrL;
+            double yyH = ziH * ziH;
+            double yyL = Math.fma(ziH, ziH, -yyH) + 2.0 * ziH * ziL;
+            double xyH = zrH * ziH;
+            double xyL = Math.fma(zrH, ziH, -xyH) + zrH * ziL + zrL * ziH;
+
+            // re = x² - y² + cr
+            double s = xxH - yyH;
+            double e = twoSumError(xxH, -yyH, s) + (xxL - yyL);
+            double t = s + crH;
+            e += twoSumError(s, crH, t) + crL;
+            double reH = t + e;
+            double reL = e - (reH - t);
+
+            // im = 2xy + ci
+            s = 2.0 * xyH;
+            t = s + ciH;
+            e = twoSumError(s, ciH, t) + 2.0 * xyL + ciL;
+            double imH = t + e;
+            double imL = e - (imH - t);
+
+            zrH = reH;
+            zrL = reL;
+            ziH = imH;
+            ziL = imL;
+            iteration++;
+        }
+
+        if (iteration == maxIterations) {
+            return -1;
+        }
+        if (!smooth) {
+            return iteration;
+        }
+        double logZn = Math.log(zrH * zrH + ziH * ziH) / 2.0;
+        double nu = Math.log(logZn / Math.log(2)) / Math.log(2);
+        return iteration + 1 - nu;
+    }
+
+    /** Knuth twoSum 의 오차항: a + b = sum + error (정확히). */
+    private static double twoSumError(double a, double b, double sum) {
+        double bb = sum - a;
+        return (a - (sum - bb)) + (b - bb);
+    }
+}
@@ -2,10 +2,14 @@ package com.yy.allgomath.fractal.calculator;
 
 import com.yy.allgomath.fractal.Complex;
 import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.dto.TileData;
+import com.yy.allgomath.fractal.store.DiskTileStore;
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.stream.IntStream;
 
 /**
@@ -14,8 +18,14 @@ import java.util.stream.IntStream;
 @Component
 public class JuliaCalculator implements FractalCalculator {
 
+    private static final double KEY_PRECISION = 1e8;
+
     private final ObjectProvider<JuliaCalculator> self;
 
+    // fractal.tile-store.enabled=true 일 때만 주입된다. 피라미드 작업이 미리 렌더한 뷰를 여기서 찾는다
+    @Autowired(required = false)
+    private DiskTileStore diskTileStore;
+
     public JuliaCalculator(ObjectProvider<JuliaCalculator> self) {
         this.self = self;
     }
@@ -25,6 +35,13 @@ public class JuliaCalculator implements FractalCalculator {
                     "#params.width, #params.height, #params.maxIterations, #params.cReal, #params.cImag)")
     @Override
     public double[][] calculate(FractalParameters params) {
+        return compute(params);
+    }
+
+    /**
+     * 캐시를 거치지 않는 뷰 계산. 배치(피라미드) 작업이 Redis 를 거치지 않고 저장소에 직접 쓸 때 쓴다.
+     */
+    public double[][] compute(FractalParameters params) {
         validateParameters(params);
         validateJuliaParameters(params);
         
@@ -52,6 +69,12 @@ public class JuliaCalculator implements FractalCalculator {
 
     @Override
     public double[][] calculateWithCaching(FractalParameters params) {
+        if (diskTileStore != null && params.getCReal() != null && params.getCImag() != null) {
+            TileData stored = diskTileStore.get(viewKey(params));
+            if (stored != null) {
+                return stored.getValues();
+            }
+        }
         // @Cacheable은 프록시 경유 호출에서만 동작하므로 자기 빈을 프록시로 재조회해 위임한다
         return self.getObject().calculate(params);
     }
@@ -66,6 +89,19 @@ public class JuliaCalculator implements FractalCalculator {
         return "줄리아 집합 - 고정된 복소수 c에 대해 z(n+1) = z(n)² + c 수열의 발산 여부를 계산";
     }
     
+    /**
+     * 디스크 저장소 키. 뷰 전체가 한 레코드이므로 해상도와 c 까지 키에 넣는다.
+     */
+    public static String viewKey(FractalParameters params) {
+        return "julia_" + params.getMaxIterations() + "_" + params.isSmooth() + "_"
+                + params.getWidth() + "x" + params.getHeight() + "_"
+                + Math.round(params.getXMin() * KEY_PRECISION) + "_"
+                + Math.round(params.getYMin() * KEY_PRECISION) + "_"
+                + Math.round(params.getXMax() * KEY_PRECISION) + "_"
+                + Math.round(params.getYMax() * KEY_PRECISION) + "_"
+                + params.getCReal() + "_" + params.getCImag();
+    }
+
     /**
      * 줄리아 집합 특화 파라미터 검증
      */
@@ -125,6 +161,12 @@ public class JuliaCalculator implements FractalCalculator {
         public static final Complex DENDRITE = new Complex(0.0, 1.0);
     }
     
+    /**
+     * {@link #getConstantByName}이 받는 이름 목록
+     */
+    public static final List<String> CONSTANT_NAMES = List.of(
+            "dragon", "lightning", "spiral", "rabbit", "airplane", "douady_rabbit", "san_marco_dragon", "dendrite");
+
     /**
      * 상수 이름으로 Complex 객체 반환
      */
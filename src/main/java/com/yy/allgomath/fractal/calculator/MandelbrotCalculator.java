@@ -4,7 +4,9 @@ import com.yy.allgomath.fractal.Complex;
 import com.yy.allgomath.fractal.dto.TileData;
 import com.yy.allgomath.fractal.dto.FractalParameters;
 import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.cluster.ClusterTileRenderer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
@@ -21,9 +23,13 @@ public class MandelbrotCalculator implements FractalCalculator {
     //기존 만델브로 캐싱 사이즈가 너무 크기 떄문에 조금 더 상세한 캐싱 유도해야함. => 32
     private static final int TILE_SIZE = 32; // 32x32 타일
     private final TileCacheService tileCacheService;
+    // fractal.cluster.enabled=true 일 때만 빈이 있다
+    private final ObjectProvider<ClusterTileRenderer> clusterRenderer;
 
-    public MandelbrotCalculator(TileCacheService tileCacheService) {
+    public MandelbrotCalculator(TileCacheService tileCacheService,
+                                ObjectProvider<ClusterTileRenderer> clusterRenderer) {
         this.tileCacheService = tileCacheService;
+        this.clusterRenderer = clusterRenderer;
     }
 
 
@@ -73,6 +79,11 @@ public class MandelbrotCalculator implements FractalCalculator {
                 int tilesY = (params.getHeight() + TILE_SIZE - 1) / TILE_SIZE;
                 log.debug("tile grid: {}x{} = {} tiles", tilesX, tilesY, tilesX * tilesY);
 
+                ClusterTileRenderer cluster = clusterRenderer.getIfAvailable();
+                if (cluster != null && cluster.shouldDistribute(tilesX * tilesY)) {
+                    return calculateDistributed(cluster, params, values, tilesX, tilesY);
+                }
+
                 List<TileResult> tileResults = IntStream.range(0, tilesX * tilesY)
                         .parallel()
                         .mapToObj(tileIndex -> {
@@ -120,6 +131,29 @@ public class MandelbrotCalculator implements FractalCalculator {
                 throw e;
             }
     }
+    /**
+     * 클러스터 모드: 타일 경계를 코디네이터에 넘기고, 돌아온 타일을 로컬 경로와 같은 방식으로 복사한다.
+     */
+    private double[][] calculateDistributed(ClusterTileRenderer cluster, FractalParameters params,
+                                            double[][] values, int tilesX, int tilesY) {
+        double[][] bounds = new double[tilesX * tilesY][];
+        for (int tileIndex = 0; tileIndex < bounds.length; tileIndex++) {
+            int tileX = tileIndex % tilesX;
+            int tileY = tileIndex / tilesX;
+            bounds[tileIndex] = new double[]{
+                    calculateTileXMin(params, tileX), calculateTileYMin(params, tileY),
+                    calculateTileXMax(params, tileX), calculateTileYMax(params, tileY)};
+        }
+        TileData[] tiles = cluster.render(params, bounds);
+        for (int tileIndex = 0; tileIndex < tiles.length; tileIndex++) {
+            if (tiles[tileIndex] != null && tiles[tileIndex].getValues() != null) {
+                copyTileToArray(values, tiles[tileIndex].getValues(), tileIndex % tilesX, tileIndex / tilesX, params);
+            }
+        }
+        log.debug("calculateWithCaching done (cluster)");
+        return values;
+    }
+
     // 타일 결과를 담는 내부 클래스
     private static class TileResult {
         final int tileX;
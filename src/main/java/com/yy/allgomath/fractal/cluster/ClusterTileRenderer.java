@@ -0,0 +1,131 @@
+package com.yy.allgomath.fractal.cluster;
+
+import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.dto.TileData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * 클러스터 모드 코디네이터. 요청을 받은 노드가 캐시에 없는 타일을 공유 큐에 올리고,
+ * 모든 노드의 {@link TileJobWorker}가 계산해 mandelbrot_tile 에 쓰면 캐시에서 모아 조립한다.
+ * 대기 시간(wait-millis) 안에 끝나지 않은 타일은 로컬에서 직접 계산한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "fractal.cluster", name = "enabled", havingValue = "true")
+public class ClusterTileRenderer {
+
+    static final String TILE_CACHE = "mandelbrot_tile";
+    private static final long POLL_MILLIS = 20;
+
+    private final TileJobQueue queue;
+    private final TileCacheService tileCacheService;
+    private final CacheManager cacheManager;
+    private final int minTiles;
+    private final long waitMillis;
+
+    public ClusterTileRenderer(TileJobQueue queue,
+                               TileCacheService tileCacheService,
+                               CacheManager cacheManager,
+                               @Value("${fractal.cluster.min-tiles:64}") int minTiles,
+                               @Value("${fractal.cluster.wait-millis:1500}") long waitMillis) {
+        this.queue = queue;
+        this.tileCacheService = tileCacheService;
+        this.cacheManager = cacheManager;
+        this.minTiles = minTiles;
+        this.waitMillis = waitMillis;
+    }
+
+    /** 작은 뷰는 큐 왕복 비용이 계산보다 커서 로컬로 둔다. */
+    public boolean shouldDistribute(int tileCount) {
+        return tileCount >= minTiles;
+    }
+
+    /**
+     * @param bounds 타일별 {xMin, yMin, xMax, yMax}
+     * @return 같은 순서의 타일 결과
+     */
+    public TileData[] render(FractalParameters params, double[][] bounds) {
+        Cache cache = cacheManager.getCache(TILE_CACHE);
+        String renderId = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        TileData[] out = new TileData[bounds.length];
+        String[] keys = new String[bounds.length];
+        List<TileJob> jobs = new ArrayList<>();
+
+        for (int i = 0; i < bounds.length; i++) {
+            double[] b = bounds[i];
+            TileJob job = new TileJob(renderId, params.getMaxIterations(), params.isSmooth(),
+                    b[0], b[1], b[2], b[3], now);
+            keys[i] = job.cacheKey();
+            out[i] = cached(cache, keys[i]);
+            if (out[i] == null) {
+                jobs.add(job);
+            }
+        }
+
+        if (!jobs.isEmpty() && enqueue(jobs)) {
+            awaitWorkers(renderId, jobs.size(), now + waitMillis);
+            for (int i = 0; i < out.length; i++) {
+                if (out[i] == null) {
+                    out[i] = cached(cache, keys[i]);
+                }
+            }
+        }
+
+        // 스트래글러(미완료/실패/유실)는 로컬 계산으로 메운다
+        int[] missing = IntStream.range(0, out.length).filter(i -> out[i] == null).toArray();
+        if (missing.length > 0) {
+            log.debug("cluster render {}: {} of {} tiles computed locally", renderId, missing.length, out.length);
+            IntStream.of(missing).parallel().forEach(i -> out[i] = tileCacheService.calculateTile(
+                    params, bounds[i][0], bounds[i][1], bounds[i][2], bounds[i][3]));
+        }
+        return out;
+    }
+
+    private boolean enqueue(List<TileJob> jobs) {
+        try {
+            queue.pushAll(jobs);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("tile job enqueue failed, rendering locally: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void awaitWorkers(String renderId, int expected, long deadline) {
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                if (queue.doneCount(renderId) >= expected) {
+                    return;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("tile job progress check failed: {}", e.getMessage());
+        }
+    }
+
+    private static TileData cached(Cache cache, String key) {
+        if (cache == null) {
+            return null;
+        }
+        try {
+            return cache.get(key, TileData.class);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.yy.allgomath.fractal.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 리스트 기반 작업 큐. LPUSH 로 넣고 BRPOP 으로 꺼내 FIFO 로 소비한다(블로킹 명령은 Lettuce 전용 연결 사용).
+ * BRPOP 대기도 명령 타임아웃(spring.data.redis.timeout) 안에 답이 와야 하므로, 대기 시간은 그 절반으로 묶는다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "fractal.cluster", name = "enabled", havingValue = "true")
+public class RedisTileJobQueue implements TileJobQueue {
+
+    static final String KEY = "fractal:tile-jobs";
+    private static final Duration DONE_TTL = Duration.ofMinutes(1);
+
+    private final StringRedisTemplate redis;
+    private final Duration maxBlock;
+
+    public RedisTileJobQueue(StringRedisTemplate redis,
+                             @Value("${spring.data.redis.timeout:2000ms}") Duration commandTimeout) {
+        this.redis = redis;
+        this.maxBlock = commandTimeout.dividedBy(2);
+    }
+
+    @Override
+    public void pushAll(List<TileJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        redis.opsForList().leftPushAll(KEY, jobs.stream().map(TileJob::encode).toList());
+    }
+
+    @Override
+    public TileJob poll(Duration timeout) {
+        Duration block = timeout.compareTo(maxBlock) > 0 ? maxBlock : timeout;
+        String raw = redis.opsForList().rightPop(KEY, block);
+        return raw == null ? null : TileJob.decode(raw);
+    }
+
+    @Override
+    public void markDone(TileJob job) {
+        String key = doneKey(job.renderId());
+        redis.opsForValue().increment(key);
+        redis.expire(key, DONE_TTL);
+    }
+
+    @Override
+    public long doneCount(String renderId) {
+        String v = redis.opsForValue().get(doneKey(renderId));
+        return v == null ? 0L : Long.parseLong(v);
+    }
+
+    static String doneKey(String renderId) {
+        return "fractal:render:" + renderId + ":done";
+    }
+}
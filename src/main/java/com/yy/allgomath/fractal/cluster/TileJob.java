@@ -0,0 +1,32 @@
+package com.yy.allgomath.fractal.cluster;
+
+import com.yy.allgomath.fractal.TileCacheService;
+
+/**
+ * 클러스터 큐에 올라가는 타일 작업 1개. 결과 위치는 mandelbrot_tile 캐시 키로 정해지므로 작업 자체는 입력만 담는다.
+ * renderId 는 코디네이터가 완료 수를 세는 데만 쓴다.
+ * 큐 페이로드는 '|' 구분 평문(JSON 직렬화기 타입 정보 의존 없음).
+ */
+public record TileJob(String renderId, int maxIterations, boolean smooth,
+                      double xMin, double yMin, double xMax, double yMax,
+                      long enqueuedAt) {
+
+    public String cacheKey() {
+        return TileCacheService.tileKey(maxIterations, smooth, xMin, yMin, xMax, yMax);
+    }
+
+    public String encode() {
+        return renderId + "|" + maxIterations + "|" + smooth + "|" + xMin + "|" + yMin + "|" + xMax + "|" + yMax + "|" + enqueuedAt;
+    }
+
+    public static TileJob decode(String raw) {
+        String[] f = raw.split("\\|");
+        if (f.length != 8) {
+            throw new IllegalArgumentException("잘못된 타일 작업 페이로드: " + raw);
+        }
+        return new TileJob(f[0], Integer.parseInt(f[1]), Boolean.parseBoolean(f[2]),
+                Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+                Double.parseDouble(f[5]), Double.parseDouble(f[6]),
+                Long.parseLong(f[7]));
+    }
+}
@@ -0,0 +1,18 @@
+package com.yy.allgomath.fractal.cluster;
+
+import java.time.Duration;
+import java.util.List;
+
+/** 노드 간 공유 타일 작업 큐. 운영은 Redis 리스트, 테스트는 인메모리 대체 구현을 쓴다. */
+public interface TileJobQueue {
+
+    void pushAll(List<TileJob> jobs);
+
+    /** 작업 하나를 꺼낸다. timeout 동안 없으면 null. */
+    TileJob poll(Duration timeout);
+
+    /** 워커가 작업을 캐시에 쓴 뒤 호출한다. 코디네이터는 캐시를 타일마다 폴링하지 않고 이 카운터 하나만 본다. */
+    void markDone(TileJob job);
+
+    long doneCount(String renderId);
+}
@@ -0,0 +1,105 @@
+package com.yy.allgomath.fractal.cluster;
+
+import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 모든 노드에서 도는 타일 워커. 공유 큐에서 작업을 꺼내 TileCacheService 프록시로 계산해 mandelbrot_tile 에 쓴다.
+ * 코디네이터가 이미 포기했을 만큼 오래된 작업(job-ttl 초과)은 계산하지 않고 버린다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "fractal.cluster", name = "enabled", havingValue = "true")
+public class TileJobWorker {
+
+    // 빈 큐 대기. Redis 명령 타임아웃(기본 2s)보다 충분히 짧아야 빈 폴링이 타임아웃 예외로 끝나지 않는다
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration FAILURE_BACKOFF = Duration.ofSeconds(2);
+
+    private final TileJobQueue queue;
+    private final TileCacheService tileCacheService;
+    private final int workerCount;
+    private final long jobTtlMillis;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public TileJobWorker(TileJobQueue queue,
+                         TileCacheService tileCacheService,
+                         @Value("${fractal.cluster.workers:0}") int workers,
+                         @Value("${fractal.cluster.job-ttl-millis:10000}") long jobTtlMillis) {
+        this.queue = queue;
+        this.tileCacheService = tileCacheService;
+        this.workerCount = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.jobTtlMillis = jobTtlMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread t = new Thread(this::loop, "tile-worker-" + i);
+            t.setDaemon(true);
+            t.start();
+            threads.add(t);
+        }
+        log.info("tile workers started: {}", workerCount);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        threads.clear();
+    }
+
+    private void loop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                TileJob job = queue.poll(POLL_TIMEOUT);
+                if (job != null) {
+                    process(job);
+                }
+            } catch (RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("tile worker poll failed: {}", e.getMessage());
+                sleepQuietly(); // Redis 장애 시 바쁜 재시도 방지
+            }
+        }
+    }
+
+    void process(TileJob job) {
+        if (System.currentTimeMillis() - job.enqueuedAt() > jobTtlMillis) {
+            return;
+        }
+        FractalParameters params = FractalParameters.defaults()
+                .maxIterations(job.maxIterations())
+                .smooth(job.smooth())
+                .build();
+        tileCacheService.calculateTile(params, job.xMin(), job.yMin(), job.xMax(), job.yMax());
+        queue.markDone(job);
+    }
+
+    private static void sleepQuietly() {
+        try {
+            Thread.sleep(FAILURE_BACKOFF.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.yy.allgomath.fractal.pyramid;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * 피라미드 작업 진행 기록. 프리셋별로 "다음에 할 레벨:청크"를 properties 파일에 남긴다.
+ * 저장은 임시 파일 → 원자적 이동이라 중간에 죽어도 직전 체크포인트가 남는다.
+ */
+class PyramidCheckpoint {
+
+    private final Path file;
+    private final Properties progress = new Properties();
+
+    PyramidCheckpoint(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                progress.load(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException("체크포인트를 읽을 수 없습니다: " + file, e);
+            }
+        }
+    }
+
+    /** @return {level, chunk}. 기록이 없으면 {0, 0} */
+    synchronized int[] position(String presetId) {
+        String v = progress.getProperty(presetId);
+        if (v == null) {
+            return new int[]{0, 0};
+        }
+        String[] parts = v.split(":");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    synchronized void advance(String presetId, int level, int chunk) {
+        progress.setProperty(presetId, level + ":" + chunk);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                progress.store(out, "fractal pyramid progress (preset=level:chunk)");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("체크포인트를 쓸 수 없습니다: " + file, e);
+        }
+    }
+}
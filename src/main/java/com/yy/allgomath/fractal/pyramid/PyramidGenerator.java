@@ -0,0 +1,271 @@
+package com.yy.allgomath.fractal.pyramid;
+
+import com.yy.allgomath.common.exception.ComputationException;
+import com.yy.allgomath.fractal.Complex;
+import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.calculator.JuliaCalculator;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.dto.TileData;
+import com.yy.allgomath.fractal.store.DiskTileStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * 프리셋 영역의 LOD 피라미드를 미리 렌더해 {@link DiskTileStore}에 채운다.
+ * <p>
+ * 레벨 k 는 FractalService.generate 에 zoom=2^k 를 준 뷰와 같은 격자다.
+ * 만델브로는 프리셋 중심 뷰에 정렬된 32px 타일 격자로 영역 전체(와 중심 뷰 자체)를 덮고,
+ * 줄리아는 타일 경로가 없어 영역을 2^k × 2^k 개의 뷰로 나눠 뷰 단위로 저장한다.
+ * 청크가 끝날 때마다 체크포인트를 남겨 중단 후 재실행하면 이어서 진행한다.
+ * 저장소가 차서 청크의 타일을 다 쓰지 못하면 컴팩션을 끝낸 뒤 그 청크를 한 번 더 돌리고,
+ * 그래도 빈 타일이 남으면 체크포인트를 넘기지 않고 멈춘다(재실행 시 그 청크부터 다시 채운다).
+ */
+@Slf4j
+@Component
+@Profile("pyramid")
+public class PyramidGenerator {
+
+    private static final int TILE_SIZE = 32; // MandelbrotCalculator 와 동일해야 키가 맞는다
+    private static final int TILE_CHUNK = 256;
+    private static final long TILE_RECORD_BYTES = 8L * TILE_SIZE * TILE_SIZE + 64;
+
+    private final TileCacheService tileCacheService;
+    private final JuliaCalculator juliaCalculator;
+    private final DiskTileStore store;
+    private final int resolution;
+    private final int iterations;
+    private final boolean smooth;
+    private final int mandelbrotLevels;
+    private final int juliaLevels;
+    private final int threads;
+    private final PyramidCheckpoint checkpoint;
+
+    public PyramidGenerator(TileCacheService tileCacheService,
+                            JuliaCalculator juliaCalculator,
+                            DiskTileStore store,
+                            @Value("${fractal.pyramid.resolution:512}") int resolution,
+                            @Value("${fractal.pyramid.iterations:500}") int iterations,
+                            @Value("${fractal.pyramid.smooth:true}") boolean smooth,
+                            @Value("${fractal.pyramid.mandelbrot-levels:4}") int mandelbrotLevels,
+                            @Value("${fractal.pyramid.julia-levels:2}") int juliaLevels,
+                            @Value("${fractal.pyramid.threads:0}") int threads,
+                            @Value("${fractal.pyramid.checkpoint:./data/tiles/pyramid.checkpoint}") String checkpointPath) {
+        this.tileCacheService = tileCacheService;
+        this.juliaCalculator = juliaCalculator;
+        this.store = store;
+        this.resolution = resolution;
+        this.iterations = iterations;
+        this.smooth = smooth;
+        this.mandelbrotLevels = mandelbrotLevels;
+        this.juliaLevels = juliaLevels;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.checkpoint = new PyramidCheckpoint(Paths.get(checkpointPath));
+    }
+
+    /** 만델브로 기본 뷰 → 줄리아 유명 상수 순으로 모든 레벨을 채운다. */
+    public void generate() {
+        long start = System.currentTimeMillis();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            warnIfOverCapacity();
+            renderMandelbrot(pool);
+            for (Map.Entry<String, Complex> e : juliaConstants().entrySet()) {
+                renderJulia(e.getKey(), e.getValue());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("pyramid done in {} ms: {} records in store", System.currentTimeMillis() - start, store.size());
+    }
+
+    // ---- 만델브로: 타일 단위 ----
+
+    private void renderMandelbrot(ForkJoinPool pool) {
+        FractalParameters region = FractalParameters.mandelbrotDefaults().build();
+        String presetId = "mandelbrot_r" + resolution + "_i" + iterations + "_s" + smooth;
+        int[] pos = checkpoint.position(presetId);
+
+        for (int level = pos[0]; level <= mandelbrotLevels; level++) {
+            TileGrid grid = TileGrid.of(region, resolution, level);
+            int chunks = (grid.count() + TILE_CHUNK - 1) / TILE_CHUNK;
+            int firstChunk = level == pos[0] ? pos[1] : 0;
+            log.info("{} level {}: {} tiles ({} chunks, resuming at {})",
+                    presetId, level, grid.count(), chunks, firstChunk);
+
+            for (int chunk = firstChunk; chunk < chunks; chunk++) {
+                int from = chunk * TILE_CHUNK;
+                int to = Math.min(grid.count(), from + TILE_CHUNK);
+                long unwritten = runOn(pool, () -> renderTiles(grid, from, to));
+                if (unwritten > 0) {
+                    log.warn("{} level {} chunk {}: {} tiles not stored; compacting and retrying",
+                            presetId, level, chunk, unwritten);
+                    store.compact();
+                    unwritten = runOn(pool, () -> renderTiles(grid, from, to));
+                }
+                if (unwritten > 0) {
+                    throw new ComputationException("타일 저장소가 가득 차 " + presetId + " 레벨 " + level
+                            + " 청크 " + chunk + "의 타일 " + unwritten + "개를 쓰지 못했습니다. "
+                            + "fractal.tile-store.max-bytes 를 늘리거나 레벨을 줄인 뒤 다시 실행하세요.");
+                }
+                checkpoint.advance(presetId, level, chunk + 1);
+            }
+            checkpoint.advance(presetId, level + 1, 0);
+        }
+    }
+
+    /** @return [from, to) 중 저장소에 쓰지 못한 타일 수 */
+    private long renderTiles(TileGrid grid, int from, int to) {
+        return IntStream.range(from, to).parallel().filter(i -> !renderTile(grid, i)).count();
+    }
+
+    /** @return 타일이 저장소에 있는지(이미 있었거나 이번에 썼거나) */
+    private boolean renderTile(TileGrid grid, int index) {
+        double[] b = grid.bounds(index);
+        String key = TileCacheService.storeKey(iterations, smooth, b[0], b[1], b[2], b[3]);
+        if (key == null) {
+            return true; // double 로 위치를 못 가리는 깊은 줌: 서빙 경로도 저장소를 쓰지 않는다
+        }
+        if (store.contains(key)) {
+            return true; // 체크포인트 이후에 이미 써진 타일(중단 직전 청크, 또는 재시도 전 청크에서 써진 타일)
+        }
+        FractalParameters params = FractalParameters.mandelbrotDefaults()
+                .maxIterations(iterations).smooth(smooth).build();
+        return store.put(key, tileCacheService.computeTile(params, b[0], b[1], b[2], b[3]));
+    }
+
+    /**
+     * 레벨 k 의 타일 격자. 프리셋 중심 뷰(FractalService.generate 와 같은 xMin = center - range/2)를 원점으로
+     * 타일 폭 단위로 영역을 덮는다. 그래서 중심 뷰와 그 뷰를 타일 단위로 팬한 뷰는 모두 같은 키로 떨어진다.
+     */
+    record TileGrid(double originX, double originY, double tileWidth, double tileHeight,
+                    int iFrom, int jFrom, int cols, int rows) {
+
+        static TileGrid of(FractalParameters region, int resolution, int level) {
+            double range = 4.0 / (1L << level);
+            int tilesPerView = (resolution + TILE_SIZE - 1) / TILE_SIZE;
+            double w = range / tilesPerView;
+            double cx = (region.getXMin() + region.getXMax()) / 2;
+            double cy = (region.getYMin() + region.getYMax()) / 2;
+            double ox = cx - range / 2;
+            double oy = cy - range / 2;
+            // 영역 ∪ 중심 뷰 (줌 0 에서는 뷰가 영역보다 넓다)
+            int iFrom = Math.min(0, (int) Math.floor((region.getXMin() - ox) / w));
+            int iTo = Math.max(tilesPerView, (int) Math.ceil((region.getXMax() - ox) / w));
+            int jFrom = Math.min(0, (int) Math.floor((region.getYMin() - oy) / w));
+            int jTo = Math.max(tilesPerView, (int) Math.ceil((region.getYMax() - oy) / w));
+            return new TileGrid(ox, oy, w, w, iFrom, jFrom, iTo - iFrom, jTo - jFrom);
+        }
+
+        int count() {
+            return cols * rows;
+        }
+
+        /** @return {xMin, yMin, xMax, yMax} — MandelbrotCalculator.calculateTile*Min/Max 와 같은 식 */
+        double[] bounds(int index) {
+            int i = iFrom + index % cols;
+            int j = jFrom + index / cols;
+            return new double[]{
+                    originX + i * tileWidth, originY + j * tileHeight,
+                    originX + (i + 1) * tileWidth, originY + (j + 1) * tileHeight};
+        }
+    }
+
+    // ---- 줄리아: 뷰 단위 ----
+
+    private void renderJulia(String name, Complex c) {
+        String presetId = "julia_" + name + "_r" + resolution + "_i" + iterations + "_s" + smooth;
+        int[] pos = checkpoint.position(presetId);
+
+        for (int level = pos[0]; level <= juliaLevels; level++) {
+            int perAxis = 1 << level;
+            int firstView = level == pos[0] ? pos[1] : 0;
+            log.info("{} level {}: {} views (resuming at {})", presetId, level, perAxis * perAxis, firstView);
+
+            // 뷰 하나가 이미 공용 풀 전체를 쓰는 병렬 계산이라 뷰 단위로 순차 진행/체크포인트한다
+            for (int view = firstView; view < perAxis * perAxis; view++) {
+                FractalParameters params = juliaView(c, level, view % perAxis, view / perAxis);
+                String key = JuliaCalculator.viewKey(params);
+                if (!store.contains(key)) {
+                    TileData tile = new TileData(juliaCalculator.compute(params));
+                    if (!store.put(key, tile)) {
+                        store.compact();
+                        if (!store.put(key, tile)) {
+                            throw new ComputationException("타일 저장소가 가득 차 " + presetId + " 레벨 " + level
+                                    + " 뷰 " + view + "를 쓰지 못했습니다. "
+                                    + "fractal.tile-store.max-bytes 를 늘리거나 레벨을 줄인 뒤 다시 실행하세요.");
+                        }
+                    }
+                }
+                checkpoint.advance(presetId, level, view + 1);
+            }
+            checkpoint.advance(presetId, level + 1, 0);
+        }
+    }
+
+    /** juliaDefaults 영역([-2,2]²)을 2^k 등분한 (i, j)번째 뷰. 중심/범위 계산은 FractalService.generate 와 같다. */
+    FractalParameters juliaView(Complex c, int level, int i, int j) {
+        double range = 4.0 / (1L << level);
+        FractalParameters region = FractalParameters.juliaDefaults().build();
+        double centerX = region.getXMin() + (i + 0.5) * range;
+        double centerY = region.getYMin() + (j + 0.5) * range;
+        return FractalParameters.juliaDefaults()
+                .xMin(centerX - range / 2).xMax(centerX + range / 2)
+                .yMin(centerY - range / 2).yMax(centerY + range / 2)
+                .width(resolution).height(resolution)
+                .maxIterations(iterations).smooth(smooth)
+                .cReal(c.getReal()).cImag(c.getImag())
+                .build();
+    }
+
+    /** 같은 값을 가리키는 별칭(airplane=lightning 등)은 한 번만 렌더한다. */
+    static Map<String, Complex> juliaConstants() {
+        Map<String, Complex> byValue = new LinkedHashMap<>();
+        Map<String, Complex> out = new LinkedHashMap<>();
+        for (String name : JuliaCalculator.CONSTANT_NAMES) {
+            Complex c = JuliaCalculator.getConstantByName(name);
+            if (byValue.putIfAbsent(c.getReal() + "," + c.getImag(), c) == null) {
+                out.put(name, c);
+            }
+        }
+        return out;
+    }
+
+    private void warnIfOverCapacity() {
+        FractalParameters region = FractalParameters.mandelbrotDefaults().build();
+        long bytes = 0;
+        for (int level = 0; level <= mandelbrotLevels; level++) {
+            bytes += TileGrid.of(region, resolution, level).count() * TILE_RECORD_BYTES;
+        }
+        long views = 0;
+        for (int level = 0; level <= juliaLevels; level++) {
+            views += 1L << (2 * level);
+        }
+        bytes += views * juliaConstants().size() * 8L * resolution * resolution;
+        log.info("pyramid estimate: {} MB (store capacity {} MB)", bytes >> 20, store.capacityBytes() >> 20);
+        if (bytes > store.capacityBytes()) {
+            log.warn("pyramid exceeds tile store capacity; older levels will be compacted away. "
+                    + "Lower fractal.pyramid.*-levels or raise fractal.tile-store.max-bytes");
+        }
+    }
+
+    private static <T> T runOn(ForkJoinPool pool, Callable<T> task) {
+        try {
+            return pool.submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ComputationException("피라미드 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new ComputationException("피라미드 타일 계산 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.yy.allgomath.fractal.pyramid;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * 배치 진입점: {@code --spring.profiles.active=pyramid} 로 띄우면 피라미드를 채우고 종료한다.
+ * 중단 후 같은 명령으로 다시 띄우면 체크포인트부터 이어서 진행한다.
+ */
+@Component
+@Profile("pyramid")
+public class PyramidRunner implements ApplicationRunner {
+
+    private final PyramidGenerator generator;
+    private final ApplicationContext context;
+    private final boolean exitWhenDone;
+
+    public PyramidRunner(PyramidGenerator generator,
+                         ApplicationContext context,
+                         @Value("${fractal.pyramid.exit-when-done:true}") boolean exitWhenDone) {
+        this.generator = generator;
+        this.context = context;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generator.generate();
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.yy.allgomath.fractal.store;
+
+import com.yy.allgomath.fractal.dto.TileData;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 만델브로 타일 영속 저장소 (Redis 아래 계층). 재시작/Redis 축출 후에도 비싼 타일을 페이지 캐시 읽기 한 번으로 돌려준다.
+ * <p>
+ * 단일 append-only 세그먼트 파일을 {@link MappedByteBuffer}로 매핑하고, 키 → 레코드 오프셋 인덱스는 메모리에 둔다.
+ * 레코드: [magic][keyLen][key][rows][cols][double × rows·cols]. magic 은 본문을 다 쓴 뒤 마지막에 기록해
+ * 쓰다 죽은 꼬리 레코드는 재기동 스캔에서 자연히 버려진다.
+ * 용량(max-bytes)에 닿으면 백그라운드 컴팩션이 살아있는 레코드만 새 파일로 옮기고, 그래도 모자라면 오래된 절반을 버린다.
+ * <p>
+ * 인덱스는 열 때 한 번만 만들므로 다른 프로세스가 같은 파일에 쓴 레코드는 보이지 않고, 두 프로세스의 append 는
+ * 로그를 깨뜨린다. 그래서 디렉터리의 잠금 파일에 배타 잠금을 잡아 두 번째 프로세스는 열 때 바로 실패한다.
+ * (세그먼트 파일은 컴팩션 때 교체되므로 잠금은 별도 파일에 건다.)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "fractal.tile-store", name = "enabled", havingValue = "true")
+public class DiskTileStore {
+
+    private static final int MAGIC = 0x54494C45; // "TILE"
+    private static final String SEGMENT = "tiles.seg";
+    private static final String LOCK = "tiles.lock";
+    private static final long INITIAL_MAP_BYTES = 16L << 20;
+
+    private final Path dir;
+    private final long maxBytes;
+    private final int minIterations;
+
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private FileChannel lockChannel;
+    private FileLock fileLock;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long writePos;
+    private long deadBytes;
+
+    public DiskTileStore(@Value("${fractal.tile-store.path:./data/tiles}") String path,
+                         @Value("${fractal.tile-store.max-bytes:1073741824}") long maxBytes,
+                         @Value("${fractal.tile-store.min-iterations:500}") int minIterations) {
+        this.dir = Paths.get(path);
+        // MappedByteBuffer 인덱스는 int 라 2GB 미만으로 묶는다
+        this.maxBytes = Math.min(maxBytes, Integer.MAX_VALUE - 8L);
+        this.minIterations = minIterations;
+    }
+
+    @PostConstruct
+    public void open() {
+        lock.writeLock().lock();
+        try {
+            Files.createDirectories(dir);
+            lockExclusively();
+            channel = FileChannel.open(dir.resolve(SEGMENT),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(Math.min(Math.max(INITIAL_MAP_BYTES, channel.size()), maxBytes));
+            rebuildIndex();
+            log.info("disk tile store opened: {} tiles, {} bytes", index.size(), writePos);
+        } catch (IOException e) {
+            releaseFileLock();
+            throw new UncheckedIOException("타일 저장소를 열 수 없습니다: " + dir, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void lockExclusively() throws IOException {
+        lockChannel = FileChannel.open(dir.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            fileLock = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null; // 같은 JVM 안에서 이미 열려 있음
+        }
+        if (fileLock == null) {
+            lockChannel.close();
+            lockChannel = null;
+            throw new IllegalStateException("타일 저장소를 다른 프로세스가 이미 열었습니다: " + dir
+                    + " (피라미드는 서빙 인스턴스를 내린 상태에서 렌더링한 뒤 넘길 것)");
+        }
+    }
+
+    private void releaseFileLock() {
+        try {
+            if (fileLock != null) {
+                fileLock.release();
+            }
+            if (lockChannel != null) {
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            log.warn("disk tile store lock release failed: {}", e.getMessage());
+        } finally {
+            fileLock = null;
+            lockChannel = null;
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (buffer != null) {
+                buffer.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("disk tile store close failed: {}", e.getMessage());
+        } finally {
+            releaseFileLock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** 이 반복 횟수 이상인 타일만 디스크에 남길 가치가 있다. */
+    public boolean worthStoring(int maxIterations) {
+        return maxIterations >= minIterations;
+    }
+
+    public TileData get(String key) {
+        Long offset = index.get(key);
+        if (offset == null) {
+            return null;
+        }
+        // 컴팩션 중에는 기다리지 않고 미스로 처리한다(호출자가 계산)
+        if (compacting.get()) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            Long current = index.get(key); // 잠금 획득 전 컴팩션으로 오프셋이 바뀌었을 수 있다
+            return current == null ? null : readValue(current);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 레코드를 실제로 썼는지. 용량이 차서 컴팩션만 요청하고 버렸거나, 닫혔거나, 쓰기에 실패하면 false
+     */
+    public boolean put(String key, TileData tile) {
+        double[][] values = tile.getValues();
+        if (values == null || values.length == 0) {
+            return false;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int rows = values.length, cols = values[0].length;
+        long size = recordSize(keyBytes.length, rows, cols);
+
+        lock.writeLock().lock();
+        try {
+            if (channel == null || !channel.isOpen()) {
+                return false;
+            }
+            if (writePos + size > maxBytes) {
+                requestCompaction();
+                return false; // 자리가 날 때까지 이번 타일은 Redis 에만 남는다
+            }
+            ensureMapped(writePos + size);
+            long recordStart = writePos;
+            int p = (int) recordStart + 4;
+            buffer.putInt(p, keyBytes.length);
+            buffer.put(p + 4, keyBytes);
+            p += 4 + keyBytes.length;
+            buffer.putInt(p, rows);
+            buffer.putInt(p + 4, cols);
+            p += 8;
+            for (double[] row : values) {
+                for (int x = 0; x < cols; x++) {
+                    buffer.putDouble(p, x < row.length ? row[x] : 0.0);
+                    p += 8;
+                }
+            }
+            buffer.putInt((int) recordStart, MAGIC); // 커밋 표시는 마지막에
+            writePos += size;
+
+            Long previous = index.put(key, recordStart);
+            if (previous != null) {
+                deadBytes += recordSizeAt(previous);
+            }
+            if (deadBytes > writePos / 2 && writePos > INITIAL_MAP_BYTES) {
+                requestCompaction();
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("disk tile store write failed: {}", e.getMessage());
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long capacityBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 살아있는 레코드만 새 세그먼트로 옮긴다. 그래도 용량의 절반을 넘으면 오래된(앞쪽) 레코드부터 버린다.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (channel == null || !channel.isOpen()) {
+                return;
+            }
+            List<Map.Entry<String, Long>> live = new ArrayList<>(index.entrySet());
+            live.sort(Map.Entry.comparingByValue(Comparator.naturalOrder()));
+            long liveBytes = 0;
+            for (Map.Entry<String, Long> e : live) {
+                liveBytes += recordSizeAt(e.getValue());
+            }
+            int from = 0;
+            while (liveBytes > maxBytes / 2 && from < live.size()) {
+                liveBytes -= recordSizeAt(live.get(from++).getValue());
+            }
+
+            Path tmp = dir.resolve(SEGMENT + ".compact");
+            Map<String, Long> newIndex = new ConcurrentHashMap<>();
+            long pos = 0;
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (int i = from; i < live.size(); i++) {
+                    long offset = live.get(i).getValue();
+                    int len = (int) recordSizeAt(offset);
+                    ByteBuffer slice = buffer.duplicate();
+                    slice.limit((int) offset + len).position((int) offset);
+                    while (slice.hasRemaining()) {
+                        out.write(slice, pos + (slice.position() - offset));
+                    }
+                    newIndex.put(live.get(i).getKey(), pos);
+                    pos += len;
+                }
+                out.force(true);
+            }
+
+            channel.close();
+            Files.move(tmp, dir.resolve(SEGMENT), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(dir.resolve(SEGMENT), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            map(Math.min(Math.max(INITIAL_MAP_BYTES, pos * 2), maxBytes));
+            index.clear();
+            index.putAll(newIndex);
+            writePos = pos;
+            deadBytes = 0;
+            log.info("disk tile store compacted: {} tiles kept, {} dropped, {} bytes", newIndex.size(), from, pos);
+        } catch (IOException e) {
+            log.warn("disk tile store compaction failed: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void requestCompaction() {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        Thread t = new Thread(() -> {
+            try {
+                compact();
+            } finally {
+                compacting.set(false);
+            }
+        }, "tile-store-compact");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    private void rebuildIndex() {
+        index.clear();
+        long pos = 0;
+        long limit = buffer.capacity();
+        while (pos + 16 <= limit && buffer.getInt((int) pos) == MAGIC) {
+            int keyLen = buffer.getInt((int) pos + 4);
+            if (keyLen <= 0 || pos + 8 + keyLen + 8 > limit) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLen];
+            buffer.get((int) pos + 8, keyBytes);
+            long size = recordSizeAt(pos);
+            if (pos + size > limit) {
+                break;
+            }
+            Long previous = index.put(new String(keyBytes, StandardCharsets.UTF_8), pos);
+            if (previous != null) {
+                deadBytes += recordSizeAt(previous);
+            }
+            pos += size;
+        }
+        writePos = pos;
+    }
+
+    private TileData readValue(long offset) {
+        int p = (int) offset + 4;
+        int keyLen = buffer.getInt(p);
+        p += 4 + keyLen;
+        int rows = buffer.getInt(p);
+        int cols = buffer.getInt(p + 4);
+        p += 8;
+        double[][] values = new double[rows][cols];
+        for (int y = 0; y < rows; y++) {
+            for (int x = 0; x < cols; x++) {
+                values[y][x] = buffer.getDouble(p);
+                p += 8;
+            }
+        }
+        return new TileData(values);
+    }
+
+    private long recordSizeAt(long offset) {
+        int keyLen = buffer.getInt((int) offset + 4);
+        int rows = buffer.getInt((int) offset + 8 + keyLen);
+        int cols = buffer.getInt((int) offset + 12 + keyLen);
+        return recordSize(keyLen, rows, cols);
+    }
+
+    private static long recordSize(int keyLen, int rows, int cols) {
+        return 4L + 4 + keyLen + 8 + 8L * rows * cols;
+    }
+
+    private void ensureMapped(long required) throws IOException {
+        if (required <= buffer.capacity()) {
+            return;
+        }
+        long size = buffer.capacity();
+        while (size < required) {
+            size *= 2;
+        }
+        map(Math.min(size, maxBytes));
+    }
+
+    private void map(long size) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+}
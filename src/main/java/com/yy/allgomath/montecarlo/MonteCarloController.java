@@ -2,10 +2,14 @@ package com.yy.allgomath.montecarlo;
 
 import com.yy.allgomath.montecarlo.dto.MonteCarloRequest;
 import com.yy.allgomath.montecarlo.dto.MonteCarloResult;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloRequest;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloResult;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/monte-carlo")
@@ -14,9 +18,33 @@ public class MonteCarloController {
     @Autowired
     private MonteCarloService monteCarloService;
 
+    @Autowired
+    private MonteCarloStreamer monteCarloStreamer;
+
+    @Autowired
+    private NdMonteCarloService ndMonteCarloService;
+
     @PostMapping("/integrate")
     public ResponseEntity<MonteCarloResult> integrate(@Valid @RequestBody MonteCarloRequest request) {
         MonteCarloResult result = monteCarloService.performMonteCarloIntegration(request);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Same request, streamed as server-sent events ({@code snapshot} events, then a {@code result} event).
+     * The body is JSON, so clients read the stream with fetch rather than EventSource.
+     */
+    @PostMapping(value = "/integrate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter integrateStream(@Valid @RequestBody MonteCarloRequest request) {
+        return monteCarloStreamer.stream(request);
+    }
+
+    /**
+     * N-dimensional integration over a box (ball, gaussian or oscillatory integrand). Returns the estimate with its
+     * confidence interval and a log-spaced convergence history, but no points.
+     */
+    @PostMapping("/nd/integrate")
+    public ResponseEntity<NdMonteCarloResult> integrateNd(@Valid @RequestBody NdMonteCarloRequest request) {
+        return ResponseEntity.ok(ndMonteCarloService.integrate(request));
+    }
 }
\ No newline at end of file
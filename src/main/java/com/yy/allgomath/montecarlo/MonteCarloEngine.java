@@ -0,0 +1,422 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.montecarlo.dto.MonteCarloPoint;
+import com.yy.allgomath.montecarlo.function.MathFunction;
+import com.yy.allgomath.montecarlo.qmc.PointSource;
+import com.yy.allgomath.montecarlo.qmc.PointStream;
+import com.yy.allgomath.montecarlo.qmc.Sampler;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Monte Carlo integrator over a rectangle.
+ * <p>
+ * The estimator works on independent units whose values average to the integral: a single sample, an antithetic
+ * pair, or a whole stratified pass (see {@link VarianceReduction}). The standard error is the spread of the unit
+ * values. For quasi-random samplers this i.i.d. formula is conservative, because their points are not independent.
+ * <p>
+ * Units are cut into chunks of about {@value #CHUNK} samples. Each chunk opens its own {@link PointStream} at its
+ * first draw index; pseudo-random streams draw from a {@link SplittableRandom} substream split in chunk order from
+ * one seeded root before any work starts, so a given seed gives the same result no matter how many workers run or
+ * in which order the chunks finish. Low-discrepancy streams are index-addressed and need no substream.
+ * Chunks run on the common ForkJoin pool and keep a running mean/M2 of their unit values; the chunk states are
+ * merged in chunk order with Chan's pairwise update. A positive {@code tolerance} turns {@code iterations} into a
+ * budget: the run stops once the 95% half-width {@link #Z_95}·SE is at most the tolerance. An optional listener
+ * receives a {@link Progress} snapshot after every wave.
+ * <p>
+ * Inside a chunk, samples are placed {@value #BLOCK} at a time into primitive coordinate arrays and the function is
+ * evaluated once per block, so its loop is a tight monomorphic loop the JIT can unroll and vectorize. Plain runs
+ * (one sample per unit, constant weight) take a separate placement and scoring loop without the per-sample mode
+ * branches.
+ * <p>
+ * History checkpoints are given as sample counts, so a caller can ask for uniform or log-spaced history.
+ */
+final class MonteCarloEngine {
+
+    static final int CHUNK = 1 << 16;
+    /** Samples placed, then evaluated together by {@link MathFunction#evaluate(double[], double[], double[], int)}. */
+    static final int BLOCK = 1024;
+    static final long DEFAULT_SEED = 0x5DEECE66DL;
+    /** Stratified mode aims for this many passes, with at most {@value #MAX_STRATA_SIDE}² strata. */
+    static final int STRATIFIED_PASSES = 32;
+    static final int MAX_STRATA_SIDE = 256;
+    /** Share of importance samples drawn from the inside box; the rest stay uniform so weights remain bounded. */
+    static final double IMPORTANCE_MIX = 0.9;
+    /** Normal quantile of the 95% confidence interval. */
+    static final double Z_95 = 1.959963984540054;
+
+    /**
+     * Mean and standard error of the unit values, the hit count over all evaluated samples, samples actually used
+     * (a whole number of units), whether a tolerance run stopped early on its interval, the reached checkpoints and
+     * the cumulative estimate at each, and the sampled points.
+     */
+    record Tally(double estimate, double standardError, long inside, long samples, boolean converged,
+                 long[] historySamples, double[] history, MonteCarloPoint[] points) {
+    }
+
+    /**
+     * Snapshot after a wave: samples so far, the running estimate and its standard error, the history checkpoints
+     * (sample counts and estimates) and kept points completed by this wave.
+     */
+    record Progress(long samples, double estimate, double standardError, long[] historySamples, double[] history,
+                    MonteCarloPoint[] points) {
+    }
+
+    private MonteCarloEngine() {
+    }
+
+    static Tally run(MathFunction function, DoublePredicate inside, Sampler sampler, VarianceReduction mode,
+                     double xMin, double xMax, double yMin, double yMax,
+                     int iterations, double tolerance, long seed, int pointStride, long[] checkpoints,
+                     Consumer<Progress> listener) {
+        Job job = new Job(function, inside, sampler, mode, xMin, xMax, yMin, yMax, iterations, seed, pointStride,
+                checkpoints);
+        int chunks = job.chunks;
+        int perUnit = job.perUnit;
+        long[] marksAt = job.marksAt;
+
+        // Without a tolerance or listener all chunks form one wave. Otherwise waves of 1, 1, 2, 4, ... chunks run in
+        // turn; after each one the listener gets a snapshot and the run stops once the merged interval is narrow
+        // enough. Wave sizes do not depend on the worker count, so the stopping point is as reproducible as the
+        // estimate.
+        boolean waves = tolerance > 0 || listener != null;
+        double[] history = new double[marksAt.length];
+        long count = 0;
+        double mean = 0, m2 = 0, prefix = 0;
+        long hits = 0;
+        int done = 0, m = 0;
+        boolean converged = false;
+        for (int wave = 1; done < chunks && !converged; wave = Math.min(chunks, 2 * wave)) {
+            int from = done, to = waves ? Math.min(chunks, done + Math.max(1, wave / 2)) : chunks;
+            IntStream.range(from, to).parallel().forEach(job::chunk);
+
+            // Chan et al. pairwise merge, in chunk order. A history mark is the prefix sum of the earlier chunks plus
+            // the partial sum inside its chunk.
+            long before = count;
+            int markBefore = m;
+            for (int c = from; c < to; c++) {
+                long chunkCount = job.chunkCount[c];
+                long end = c * job.unitsPerChunk + chunkCount;
+                for (; m < marksAt.length && marksAt[m] <= end; m++) {
+                    history[m] = (prefix + job.marks[m]) / marksAt[m];
+                }
+                prefix += job.chunkMean[c] * chunkCount;
+                long n = count + chunkCount;
+                double delta = job.chunkMean[c] - mean;
+                m2 += job.chunkM2[c] + delta * delta * count * chunkCount / n;
+                mean += delta * chunkCount / n;
+                count = n;
+                hits += job.chunkInside[c];
+            }
+            done = to;
+            converged = tolerance > 0 && count > 1 && Z_95 * standardError(m2, count) <= tolerance;
+            if (listener != null) {
+                listener.accept(new Progress(count * perUnit, mean, standardError(m2, count),
+                        samplesAt(marksAt, markBefore, m, perUnit),
+                        Arrays.copyOfRange(history, markBefore, m),
+                        Arrays.copyOfRange(job.points, pointIndex(before * perUnit, pointStride),
+                                pointIndex(count * perUnit, pointStride))));
+            }
+        }
+
+        MonteCarloPoint[] used = Arrays.copyOf(job.points, pointIndex(count * perUnit, pointStride));
+        return new Tally(mean, standardError(m2, count), hits, count * perUnit, converged,
+                samplesAt(marksAt, 0, m, perUnit), Arrays.copyOf(history, m), used);
+    }
+
+    /** Settings shared by every chunk of one run, and the per-chunk results. */
+    private static final class Job {
+
+        final MathFunction function;
+        final DoublePredicate inside;
+        final VarianceReduction mode;
+        final double xMin, yMin, width, height, area;
+        final int dims, side, perUnit, drawsPerUnit, pointStride;
+        // one sample per unit and constant weight: no mode branches per sample
+        final boolean plain;
+        final long units, unitsPerChunk;
+        final int chunks;
+        // importance proposal: uniform on the inside box (clipped to the bounds) with probability boxMix, else uniform
+        // on the bounds. A hit at (x, y) is weighted by 1/q(x, y).
+        final double boxMix, boxX0, boxY0, boxX1, boxY1, inBoxWeight, outBoxWeight;
+        final PointSource source;
+        final SplittableRandom[] streams;
+        final long[] marksAt;
+
+        // per chunk: units seen, mean and sum of squared deviations of the unit values, hits
+        final long[] chunkCount;
+        final double[] chunkMean, chunkM2;
+        final long[] chunkInside;
+        // sum of unit values within the chunk at every history mark that falls in it; offsets are added after the merge
+        final double[] marks;
+        final MonteCarloPoint[] points;
+
+        Job(MathFunction function, DoublePredicate inside, Sampler sampler, VarianceReduction mode,
+            double xMin, double xMax, double yMin, double yMax,
+            int iterations, long seed, int pointStride, long[] checkpoints) {
+            this.function = function;
+            this.inside = inside;
+            this.mode = mode;
+            this.xMin = xMin;
+            this.yMin = yMin;
+            this.width = xMax - xMin;
+            this.height = yMax - yMin;
+            this.area = width * height;
+            this.pointStride = pointStride;
+
+            this.side = mode != VarianceReduction.STRATIFIED ? 1
+                    : (int) Math.max(1, Math.min(MAX_STRATA_SIDE, Math.sqrt((double) iterations / STRATIFIED_PASSES)));
+            // samples per unit, and stream draws per unit (an antithetic partner needs no draw)
+            this.perUnit = mode == VarianceReduction.STRATIFIED ? side * side
+                    : mode == VarianceReduction.ANTITHETIC ? 2 : 1;
+            this.drawsPerUnit = mode == VarianceReduction.ANTITHETIC ? 1 : perUnit;
+            this.units = iterations / perUnit;
+
+            double[] box = mode == VarianceReduction.IMPORTANCE ? function.insideBox() : null;
+            double x0 = xMin, y0 = yMin, w = 0, h = 0, mix = 0;
+            if (box != null) {
+                x0 = Math.max(xMin, box[0]);
+                y0 = Math.max(yMin, box[2]);
+                w = Math.min(xMax, box[1]) - x0;
+                h = Math.min(yMax, box[3]) - y0;
+                if (w > 0 && h > 0 && w * h < area) {
+                    mix = IMPORTANCE_MIX;
+                }
+            }
+            this.boxMix = mix;
+            this.boxX0 = x0;
+            this.boxY0 = y0;
+            this.boxX1 = x0 + w;
+            this.boxY1 = y0 + h;
+            this.inBoxWeight = mix > 0 ? 1.0 / (mix / (w * h) + (1 - mix) / area) : area;
+            this.outBoxWeight = mix > 0 ? area / (1 - mix) : area;
+            this.dims = mode == VarianceReduction.IMPORTANCE ? 3 : 2;
+            this.plain = mode == VarianceReduction.NONE || mode == VarianceReduction.IMPORTANCE && mix == 0;
+
+            this.source = sampler.prepare(dims, seed);
+            this.unitsPerChunk = Math.max(1, CHUNK / perUnit);
+            this.chunks = (int) ((units + unitsPerChunk - 1) / unitsPerChunk);
+            SplittableRandom root = new SplittableRandom(seed);
+            this.streams = new SplittableRandom[chunks];
+            for (int c = 0; c < chunks; c++) {
+                streams[c] = root.split();
+            }
+
+            this.marksAt = unitCheckpoints(checkpoints, perUnit, units);
+            this.chunkCount = new long[chunks];
+            this.chunkMean = new double[chunks];
+            this.chunkM2 = new double[chunks];
+            this.chunkInside = new long[chunks];
+            this.marks = new double[marksAt.length];
+            this.points = new MonteCarloPoint[pointIndex(units * perUnit, pointStride)];
+        }
+
+        void chunk(int c) {
+            long uFrom = c * unitsPerChunk, uTo = Math.min(units, uFrom + unitsPerChunk);
+            PointStream stream = source.stream(uFrom * drawsPerUnit, streams[c]);
+            double[] u = new double[dims];
+            // one block of coordinates, weights, function values and finished unit values, reused for every block
+            double[] xs = new double[BLOCK], ys = new double[BLOCK], ws = new double[BLOCK], fs = new double[BLOCK];
+            double[] vs = new double[BLOCK];
+            double localMean = 0, localM2 = 0, localSum = 0, value = 0;
+            long localHits = 0;
+            long sample = uFrom * perUnit, end = uTo * perUnit, unit = uFrom;
+            // position inside the current unit while consuming a block
+            int k = 0;
+            // next sample index that is kept as a point, next unit count that closes a history mark
+            long nextPoint = (sample + pointStride - 1) / pointStride * pointStride;
+            int mark = firstAfter(marksAt, uFrom);
+            long nextMark = mark < marksAt.length ? marksAt[mark] : -1;
+            while (sample < end) {
+                int n = (int) Math.min(BLOCK, end - sample);
+                // unit values finished in this block
+                int nv = 0;
+                long blockHits = 0;
+                if (plain) {
+                    placePlain(stream, u, xs, ys, n);
+                    function.evaluate(xs, ys, fs, n);
+                    for (int i = 0; i < n; i++) {
+                        // 0/1 arithmetic instead of a branch: hits are data-dependent and mispredict
+                        int in = inside.test(fs[i]) ? 1 : 0;
+                        blockHits += in;
+                        vs[i] = in * area;
+                    }
+                    localHits += blockHits;
+                    nv = n;
+                } else {
+                    // blocks start on a unit boundary only when perUnit divides BLOCK; k carries the position over
+                    place(stream, u, xs, ys, ws, n, k);
+                    function.evaluate(xs, ys, fs, n);
+                    for (int i = 0; i < n; i++) {
+                        if (inside.test(fs[i])) {
+                            localHits++;
+                            value += ws[i];
+                        }
+                        if (++k == perUnit) {
+                            vs[nv++] = value / perUnit;
+                            value = 0;
+                            k = 0;
+                        }
+                    }
+                }
+                for (; nextPoint < sample + n; nextPoint += pointStride) {
+                    int i = (int) (nextPoint - sample);
+                    points[(int) (nextPoint / pointStride)] =
+                            new MonteCarloPoint(xs[i], ys[i], fs[i], inside.test(fs[i]));
+                }
+                sample += n;
+                if (nv == 0) {
+                    continue;
+                }
+                long unitBefore = unit;
+                unit += nv;
+                // history marks inside the block: partial sums of the unit values up to each mark
+                double partial = 0;
+                int j = 0;
+                for (; nextMark > 0 && nextMark <= unit; nextMark = mark < marksAt.length ? marksAt[mark] : -1) {
+                    for (int upto = (int) (nextMark - unitBefore); j < upto; j++) {
+                        partial += vs[j];
+                    }
+                    marks[mark++] = localSum + partial;
+                }
+                // block mean and M2, folded into the chunk state with the same pairwise update as the chunk merge.
+                // Plain unit values are 0 or area, so both follow from the hit count.
+                double blockSum, blockM2 = 0;
+                if (plain) {
+                    blockSum = blockHits * area;
+                    blockM2 = area * area * blockHits * (nv - blockHits) / nv;
+                } else {
+                    blockSum = partial;
+                    for (; j < nv; j++) {
+                        blockSum += vs[j];
+                    }
+                    double blockMean = blockSum / nv;
+                    for (int i = 0; i < nv; i++) {
+                        double d = vs[i] - blockMean;
+                        blockM2 += d * d;
+                    }
+                }
+                localSum += blockSum;
+                double blockMean = blockSum / nv;
+                long seen = unit - uFrom, before = seen - nv;
+                double delta = blockMean - localMean;
+                localM2 += blockM2 + delta * delta * before * nv / seen;
+                localMean += delta * nv / seen;
+            }
+            chunkCount[c] = uTo - uFrom;
+            chunkMean[c] = localMean;
+            chunkM2[c] = localM2;
+            chunkInside[c] = localHits;
+        }
+
+        private void placePlain(PointStream stream, double[] u, double[] xs, double[] ys, int n) {
+            for (int i = 0; i < n; i++) {
+                stream.next(u);
+                xs[i] = xMin + u[0] * width;
+                ys[i] = yMin + u[1] * height;
+            }
+        }
+
+        /** Places n samples starting at position k of the current unit. */
+        private void place(PointStream stream, double[] u, double[] xs, double[] ys, double[] ws, int n, int k) {
+            for (int i = 0; i < n; i++, k = k + 1 == perUnit ? 0 : k + 1) {
+                ws[i] = area;
+                if (mode == VarianceReduction.ANTITHETIC && k == 1) {
+                    // reflection of the previous draw through the centre of the bounds
+                    xs[i] = xMin + (1 - u[0]) * width;
+                    ys[i] = yMin + (1 - u[1]) * height;
+                    continue;
+                }
+                stream.next(u);
+                if (mode == VarianceReduction.STRATIFIED) {
+                    xs[i] = xMin + (k / side + u[0]) * width / side;
+                    ys[i] = yMin + (k % side + u[1]) * height / side;
+                } else if (boxMix > 0 && u[2] < boxMix) {
+                    xs[i] = boxX0 + u[0] * (boxX1 - boxX0);
+                    ys[i] = boxY0 + u[1] * (boxY1 - boxY0);
+                    ws[i] = inBoxWeight;
+                } else {
+                    double x = xMin + u[0] * width, y = yMin + u[1] * height;
+                    xs[i] = x;
+                    ys[i] = y;
+                    if (boxMix > 0) {
+                        boolean inBox = x >= boxX0 && x <= boxX1 && y >= boxY0 && y <= boxY1;
+                        ws[i] = inBox ? inBoxWeight : outBoxWeight;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long[] samplesAt(long[] marksAt, int from, int to, int perUnit) {
+        long[] out = new long[to - from];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = marksAt[from + i] * perUnit;
+        }
+        return out;
+    }
+
+    /** Sample counts every {@code stride} samples up to {@code iterations}. */
+    static long[] uniformCheckpoints(long iterations, int stride) {
+        long[] at = new long[(int) (iterations / stride)];
+        for (int i = 0; i < at.length; i++) {
+            at[i] = (i + 1) * (long) stride;
+        }
+        return at;
+    }
+
+    /**
+     * Log-spaced sample counts from 10 up to {@code iterations}, {@code perDecade} per decade, always ending at
+     * {@code iterations} itself.
+     */
+    static long[] logCheckpoints(long iterations, int perDecade) {
+        long[] at = new long[(int) (perDecade * Math.max(1, Math.log10(iterations))) + 2];
+        int n = 0;
+        for (int k = 0; ; k++) {
+            long s = Math.round(10 * Math.pow(10, (double) k / perDecade));
+            if (s >= iterations) {
+                break;
+            }
+            if (n == 0 || s > at[n - 1]) {
+                at[n++] = s;
+            }
+        }
+        at[n++] = iterations;
+        return Arrays.copyOf(at, n);
+    }
+
+    /** Sample checkpoints as strictly increasing unit counts in [1, units]; at most one per stratified pass. */
+    private static long[] unitCheckpoints(long[] checkpoints, int perUnit, long units) {
+        long[] at = new long[checkpoints.length];
+        int n = 0;
+        for (long s : checkpoints) {
+            long u = Math.max(1, s / perUnit);
+            if (u > units) {
+                break;
+            }
+            if (n == 0 || u > at[n - 1]) {
+                at[n++] = u;
+            }
+        }
+        return Arrays.copyOf(at, n);
+    }
+
+    /** Index of the first checkpoint greater than {@code unit}. */
+    static int firstAfter(long[] at, long unit) {
+        int i = Arrays.binarySearch(at, unit + 1);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /** Number of kept points among the first {@code samples} samples. */
+    private static int pointIndex(long samples, int pointStride) {
+        return (int) ((samples + pointStride - 1) / pointStride);
+    }
+
+    static double standardError(double m2, long count) {
+        return count > 1 ? Math.sqrt(m2 / (count - 1) / count) : 0;
+    }
+}
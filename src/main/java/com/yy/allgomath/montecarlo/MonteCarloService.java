@@ -3,109 +3,133 @@ package com.yy.allgomath.montecarlo;
 import com.yy.allgomath.montecarlo.dto.MonteCarloPoint;
 import com.yy.allgomath.montecarlo.dto.MonteCarloRequest;
 import com.yy.allgomath.montecarlo.dto.MonteCarloResult;
+import com.yy.allgomath.montecarlo.dto.MonteCarloSnapshot;
 import com.yy.allgomath.montecarlo.function.MathFunction;
 import com.yy.allgomath.montecarlo.function.MathFunctionFactory;
+import com.yy.allgomath.montecarlo.qmc.Sampler;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
 
 @Service
 public class MonteCarloService {
 
     // 응답에 담는 시각화 포인트 상한. 추정 정확도는 전 반복으로 유지하고 포인트만 균등 샘플링한다.
     public static final int MAX_POINTS = 5000;
+    // 수렴 이력 상한. 이력 간격은 max(10, iterations / MAX_HISTORY).
+    public static final int MAX_HISTORY = 10_000;
+    // 스트리밍 이력은 10 표본부터 로그 간격(10 배당 이 개수)으로 찍는다.
+    public static final int STREAM_CHECKPOINTS_PER_DECADE = 20;
 
     public MonteCarloResult performMonteCarloIntegration(MonteCarloRequest request) {
-        MathFunction function = MathFunctionFactory.createFunction(request.getFunctionType());
+        return integrate(request, null);
+    }
 
-        List<MonteCarloPoint> points = new ArrayList<>();
-        List<Double> convergenceHistory = new ArrayList<>();
+    /**
+     * Same integration, but snapshots are handed to {@code listener} while the sampler runs and the history is
+     * log-spaced. The returned result carries the matching {@code historySamples}.
+     */
+    public MonteCarloResult streamMonteCarloIntegration(MonteCarloRequest request,
+                                                        Consumer<MonteCarloSnapshot> listener) {
+        return integrate(request, listener);
+    }
+
+    private MonteCarloResult integrate(MonteCarloRequest request, Consumer<MonteCarloSnapshot> listener) {
+        MathFunction function = MathFunctionFactory.createFunction(request.getFunctionType());
+        DoublePredicate inside = insideTest(request.getFunctionType());
 
         double xMin = request.getBounds().getxMin();
         double xMax = request.getBounds().getxMax();
         double yMin = request.getBounds().getyMin();
         double yMax = request.getBounds().getyMax();
 
-        double area = (xMax - xMin) * (yMax - yMin);
-        int insideCount = 0;
-        double sum = 0.0;
-        int pointStride = Math.max(1, request.getIterations() / MAX_POINTS);
-
-        for (int i = 0; i < request.getIterations(); i++) {
-            double x = xMin + ThreadLocalRandom.current().nextDouble() * (xMax - xMin);
-            double y = yMin + ThreadLocalRandom.current().nextDouble() * (yMax - yMin);
-            boolean samplePoint = (i % pointStride == 0);
-
-            try {
-                double functionValue = function.evaluate(x, y);
-                boolean inside = determineInside(request.getFunctionType(), x, y, functionValue);
-
-                if (inside) {
-                    insideCount++;
-                    if (!Double.isNaN(functionValue)) {
-                        sum += functionValue;
-                    }
-                }
-
-                if (samplePoint) {
-                    points.add(new MonteCarloPoint(x, y, functionValue, inside));
-                }
-
-                if ((i + 1) % 10 == 0) {
-                    double currentEstimate = ((double) insideCount / (i + 1)) * area;
-                    convergenceHistory.add(currentEstimate);
-                }
-
-            } catch (Exception e) {
-                if (samplePoint) {
-                    points.add(new MonteCarloPoint(x, y, Double.NaN, false));
-                }
-
-                if ((i + 1) % 10 == 0) {
-                    double currentEstimate = ((double) insideCount / (i + 1)) * area;
-                    convergenceHistory.add(currentEstimate);
-                }
-            }
+        int iterations = request.getIterations();
+        int pointStride = Math.max(1, (iterations + MAX_POINTS - 1) / MAX_POINTS);
+        int historyStride = Math.max(10, iterations / MAX_HISTORY);
+        long[] checkpoints = listener != null
+                ? MonteCarloEngine.logCheckpoints(iterations, STREAM_CHECKPOINTS_PER_DECADE)
+                : MonteCarloEngine.uniformCheckpoints(iterations, historyStride);
+        long seed = request.getSeed() != null ? request.getSeed() : MonteCarloEngine.DEFAULT_SEED;
+        Sampler sampler = Sampler.from(request.getSampler());
+        VarianceReduction variance = VarianceReduction.from(request.getVariance());
+        // with a tolerance, iterations is the sample budget and the run stops once the 95% half-width is small enough
+        double tolerance = request.getTolerance() != null ? request.getTolerance() : 0;
+
+        MonteCarloEngine.Tally tally = MonteCarloEngine.run(function, inside, sampler, variance,
+                xMin, xMax, yMin, yMax, iterations, tolerance, seed, pointStride, checkpoints,
+                listener == null ? null : p -> listener.accept(new MonteCarloSnapshot(p.samples(), p.estimate(),
+                        p.standardError(), boxed(p.historySamples()), boxed(p.history()), Arrays.asList(p.points()))));
+        List<Double> convergenceHistory = boxed(tally.history());
+        List<MonteCarloPoint> points = Arrays.asList(tally.points());
+
+        // QMC runs also return the plain pseudo-random history of the same length for comparison
+        List<Double> referenceHistory = null;
+        if (sampler.isQuasiRandom()) {
+            referenceHistory = boxed(MonteCarloEngine.run(function, inside, Sampler.RANDOM,
+                    VarianceReduction.NONE, xMin, xMax, yMin, yMax, (int) tally.samples(), 0, seed, iterations,
+                    checkpoints, null).history());
         }
 
-        double estimate = ((double) insideCount / request.getIterations()) * area;
+        double estimate = tally.estimate();
         double actualValue = function.getActualIntegral(xMin, xMax, yMin, yMax);
 
-        return new MonteCarloResult(points, estimate, actualValue, insideCount,
-                                  request.getIterations(), convergenceHistory);
+        // samples actually used: a tolerance run can stop early, and stratified/antithetic runs use whole units
+        MonteCarloResult result = new MonteCarloResult(points, estimate, actualValue, (int) tally.inside(),
+                                  (int) tally.samples(), convergenceHistory);
+        result.setSampler(sampler.name().toLowerCase());
+        result.setVariance(variance.name().toLowerCase());
+        result.setStandardError(tally.standardError());
+        result.setConfidenceLow(estimate - MonteCarloEngine.Z_95 * tally.standardError());
+        result.setConfidenceHigh(estimate + MonteCarloEngine.Z_95 * tally.standardError());
+        result.setReferenceHistory(referenceHistory);
+        if (listener != null) {
+            result.setHistorySamples(boxed(tally.historySamples()));
+        }
+        if (tolerance > 0) {
+            result.setTolerance(tolerance);
+            result.setConverged(tally.converged());
+        }
+        return result;
     }
 
-    private boolean determineInside(String functionType, double x, double y, double functionValue) {
-        switch (functionType.toLowerCase()) {
-            case "unit_circle":
-                // For unit circle, inside if function returns 1 (meaning x^2 + y^2 <= 1)
-                return functionValue == 1.0;
+    private static List<Double> boxed(double[] values) {
+        List<Double> list = new ArrayList<>(values.length);
+        for (double v : values) {
+            list.add(v);
+        }
+        return list;
+    }
 
-            case "circle":
-                // Circle is now handled by SquareFunction (x^2 + y^2 <= 4)
-                return functionValue == 1.0;
+    private static List<Long> boxed(long[] values) {
+        List<Long> list = new ArrayList<>(values.length);
+        for (long v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    /**
+     * Resolves the per-sample "inside" rule once per request instead of switching on the type string per sample.
+     */
+    static DoublePredicate insideTest(String functionType) {
+        switch (functionType.toLowerCase()) {
+            case "unit_circle":   // x^2 + y^2 <= 1
+            case "circle":        // handled by SquareFunction (x^2 + y^2 <= 4)
+            case "square":        // x^2 + y^2 <= 4
+            case "ellipse":       // x^2/4 + y^2 <= 1
+            case "diamond":       // |x| + |y| <= 2
+                // Indicator functions: inside if the function returns 1
+                return v -> v == 1.0;
 
             case "sin_product":
                 // For sin(x*y), we can consider positive values as "inside" for visualization
-                return !Double.isNaN(functionValue) && functionValue >= 0;
-
-            case "square":
-                // For x^2 + y^2 <= 4, inside if function returns 1
-                return functionValue == 1.0;
-
-            case "ellipse":
-                // For ellipse x^2/4 + y^2 <= 1, inside if function returns 1
-                return functionValue == 1.0;
-
-            case "diamond":
-                // For diamond |x| + |y| <= 2, inside if function returns 1
-                return functionValue == 1.0;
-
             default:
                 // Default behavior: inside if not NaN and >= 0
-                return !Double.isNaN(functionValue) && functionValue >= 0;
+                return v -> !Double.isNaN(v) && v >= 0;
         }
     }
 }
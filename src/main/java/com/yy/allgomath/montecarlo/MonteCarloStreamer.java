@@ -0,0 +1,131 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.common.exception.ErrorResponse;
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.montecarlo.dto.MonteCarloRequest;
+import com.yy.allgomath.montecarlo.dto.MonteCarloResult;
+import com.yy.allgomath.montecarlo.qmc.Sampler;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams a Monte Carlo run as server-sent events: a {@code snapshot} event after every sampling wave (running
+ * estimate, standard error, new log-spaced history checkpoints and a batch of points), then one {@code result} event
+ * with the full {@link MonteCarloResult}. Failures after the stream has opened are sent as an {@code error} event.
+ * <p>
+ * Runs are driven from a small dedicated pool; the sampling itself still fans out on the common ForkJoin pool.
+ * When the stream ends early (client disconnect, timeout, or the container completing it after an async error), the
+ * run stops after its current wave: the emitter callbacks mark it closed, and a failed send does the same.
+ */
+@Component
+public class MonteCarloStreamer {
+
+    private static final Logger log = LoggerFactory.getLogger(MonteCarloStreamer.class);
+    private static final long TIMEOUT_MILLIS = 5 * 60_000L;
+    private static final String STREAM_PATH = "/api/monte-carlo/integrate/stream";
+
+    private final MonteCarloService monteCarloService;
+    private final ThreadPoolExecutor executor;
+
+    public MonteCarloStreamer(MonteCarloService monteCarloService,
+                              @Value("${montecarlo.stream.threads:2}") int threads,
+                              @Value("${montecarlo.stream.queue:16}") int queue) {
+        this.monteCarloService = monteCarloService;
+        int n = Math.max(1, threads);
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queue)),
+                r -> {
+                    Thread t = new Thread(r, "montecarlo-stream-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public SseEmitter stream(MonteCarloRequest request) {
+        // option names are checked before the stream opens so that typos still get a plain 400
+        Sampler.from(request.getSampler());
+        VarianceReduction.from(request.getVariance());
+
+        SseEmitter emitter = new SseEmitter(TIMEOUT_MILLIS);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+        emitter.onCompletion(() -> closed.set(true));
+        try {
+            executor.execute(() -> run(request, emitter, closed));
+        } catch (RejectedExecutionException e) {
+            if (send(emitter, closed, "error", new ErrorResponse(503, "Service Unavailable",
+                    "Too many Monte Carlo streams are running; try again later.", STREAM_PATH))) {
+                emitter.complete();
+            }
+        }
+        return emitter;
+    }
+
+    private void run(MonteCarloRequest request, SseEmitter emitter, AtomicBoolean closed) {
+        try {
+            MonteCarloResult result = monteCarloService.streamMonteCarloIntegration(request, snapshot -> {
+                if (!send(emitter, closed, "snapshot", snapshot)) {
+                    throw new CancellationException("stream closed");
+                }
+            });
+            if (send(emitter, closed, "result", result)) {
+                emitter.complete();
+            }
+        } catch (CancellationException e) {
+            log.debug("Monte Carlo stream closed before the run finished");
+        } catch (RuntimeException e) {
+            boolean badRequest = e instanceof InvalidParameterException;
+            if (!badRequest) {
+                log.error("Monte Carlo stream failed", e);
+            }
+            if (send(emitter, closed, "error", new ErrorResponse(badRequest ? 400 : 500,
+                    badRequest ? "Bad Request" : "Computation Error", e.getMessage(), STREAM_PATH))) {
+                emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Sends one event; false when the stream is already gone. The emitter throws IOException when the client has
+     * disconnected and IllegalStateException once it has timed out or been completed, so both mark it closed.
+     */
+    private static boolean send(SseEmitter emitter, AtomicBoolean closed, String name, Object data) {
+        if (closed.get()) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+            return true;
+        } catch (IOException e) {
+            log.debug("Monte Carlo stream closed by client: {}", e.getMessage());
+            closed.set(true);
+            emitter.completeWithError(e);
+            return false;
+        } catch (IllegalStateException e) {
+            log.debug("Monte Carlo stream already completed: {}", e.getMessage());
+            closed.set(true);
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
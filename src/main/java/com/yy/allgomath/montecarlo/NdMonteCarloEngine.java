@@ -0,0 +1,161 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.montecarlo.nd.NdIntegrand;
+import com.yy.allgomath.montecarlo.qmc.PointSource;
+import com.yy.allgomath.montecarlo.qmc.PointStream;
+import com.yy.allgomath.montecarlo.qmc.Sampler;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel Monte Carlo integrator over a box in R^dims: the estimate is the box volume times the mean of the
+ * integrand at the sampled points, and the standard error is the spread of those values.
+ * <p>
+ * Chunking, seeding and merging follow {@link MonteCarloEngine}: chunks of {@value #CHUNK} samples each open their
+ * own {@link PointStream} at their first sample index (pseudo-random chunks on a substream split in chunk order from
+ * the seeded root), run on the common ForkJoin pool, and their running mean/M2 are merged in chunk order with
+ * Chan's pairwise update, so a seed gives the same result for any worker count.
+ * <p>
+ * Inside a chunk, samples are laid out {@value #BLOCK} at a time as a structure of arrays, one coordinate array per
+ * dimension, and the integrand is evaluated once per block. The block stays small enough for the cache at a hundred
+ * dimensions.
+ */
+final class NdMonteCarloEngine {
+
+    static final int CHUNK = 1 << 15;
+    /** Samples per block, evaluated together by {@link NdIntegrand#evaluate(double[][], double[], int)}. */
+    static final int BLOCK = 256;
+
+    /** Estimate and standard error, and the cumulative estimate at each history checkpoint (a sample count). */
+    record Tally(double estimate, double standardError, double[] history) {
+    }
+
+    private NdMonteCarloEngine() {
+    }
+
+    static Tally run(NdIntegrand integrand, Sampler sampler, double[] lower, double[] upper,
+                     int iterations, long seed, long[] checkpoints) {
+        Job job = new Job(integrand, sampler, lower, upper, iterations, seed, checkpoints);
+        IntStream.range(0, job.chunks).parallel().forEach(job::chunk);
+
+        // Chan et al. pairwise merge in chunk order; a history mark adds the earlier chunks' sum to its partial sum
+        double[] history = new double[checkpoints.length];
+        long count = 0;
+        double mean = 0, m2 = 0, prefix = 0;
+        int m = 0;
+        for (int c = 0; c < job.chunks; c++) {
+            long chunkCount = job.chunkCount[c];
+            long end = (long) c * CHUNK + chunkCount;
+            for (; m < checkpoints.length && checkpoints[m] <= end; m++) {
+                history[m] = (prefix + job.marks[m]) / checkpoints[m] * job.volume;
+            }
+            prefix += job.chunkMean[c] * chunkCount;
+            long n = count + chunkCount;
+            double delta = job.chunkMean[c] - mean;
+            m2 += job.chunkM2[c] + delta * delta * count * chunkCount / n;
+            mean += delta * chunkCount / n;
+            count = n;
+        }
+        return new Tally(mean * job.volume, MonteCarloEngine.standardError(m2, count) * job.volume, history);
+    }
+
+    /** Settings shared by every chunk of one run, and the per-chunk results. */
+    private static final class Job {
+
+        final NdIntegrand integrand;
+        final int dims;
+        final double[] lower, width;
+        final double volume;
+        final long iterations;
+        final int chunks;
+        final PointSource source;
+        final SplittableRandom[] streams;
+        final long[] marksAt;
+
+        // per chunk: samples, mean and sum of squared deviations of the integrand values
+        final long[] chunkCount;
+        final double[] chunkMean, chunkM2;
+        // sum of integrand values within the chunk at every history mark that falls in it
+        final double[] marks;
+
+        Job(NdIntegrand integrand, Sampler sampler, double[] lower, double[] upper,
+            int iterations, long seed, long[] checkpoints) {
+            this.integrand = integrand;
+            this.dims = lower.length;
+            this.lower = lower;
+            this.width = new double[dims];
+            double v = 1.0;
+            for (int d = 0; d < dims; d++) {
+                width[d] = upper[d] - lower[d];
+                v *= width[d];
+            }
+            this.volume = v;
+            this.iterations = iterations;
+
+            this.source = sampler.prepare(dims, seed);
+            this.chunks = (iterations + CHUNK - 1) / CHUNK;
+            SplittableRandom root = new SplittableRandom(seed);
+            this.streams = new SplittableRandom[chunks];
+            for (int c = 0; c < chunks; c++) {
+                streams[c] = root.split();
+            }
+
+            this.marksAt = checkpoints;
+            this.chunkCount = new long[chunks];
+            this.chunkMean = new double[chunks];
+            this.chunkM2 = new double[chunks];
+            this.marks = new double[checkpoints.length];
+        }
+
+        void chunk(int c) {
+            long from = (long) c * CHUNK, to = Math.min(iterations, from + CHUNK);
+            PointStream stream = source.stream(from, streams[c]);
+            double[] u = new double[dims];
+            // one block of coordinates (xs[d][i] is coordinate d of sample i) and integrand values, reused per block
+            double[][] xs = new double[dims][BLOCK];
+            double[] fs = new double[BLOCK];
+            double localMean = 0, localM2 = 0, localSum = 0;
+            int mark = MonteCarloEngine.firstAfter(marksAt, from);
+            long nextMark = mark < marksAt.length ? marksAt[mark] : -1;
+            for (long sample = from; sample < to; ) {
+                int n = (int) Math.min(BLOCK, to - sample);
+                for (int i = 0; i < n; i++) {
+                    stream.next(u);
+                    for (int d = 0; d < dims; d++) {
+                        xs[d][i] = lower[d] + u[d] * width[d];
+                    }
+                }
+                integrand.evaluate(xs, fs, n);
+
+                // block sum, stopping at every history mark inside the block
+                double blockSum = 0;
+                int j = 0;
+                for (; nextMark > 0 && nextMark <= sample + n; nextMark = mark < marksAt.length ? marksAt[mark] : -1) {
+                    for (int upto = (int) (nextMark - sample); j < upto; j++) {
+                        blockSum += fs[j];
+                    }
+                    marks[mark++] = localSum + blockSum;
+                }
+                for (; j < n; j++) {
+                    blockSum += fs[j];
+                }
+                localSum += blockSum;
+                // two-pass M2 of the block, folded into the chunk state with the same pairwise update as the merge
+                double blockMean = blockSum / n, blockM2 = 0;
+                for (int i = 0; i < n; i++) {
+                    double dev = fs[i] - blockMean;
+                    blockM2 += dev * dev;
+                }
+                sample += n;
+                long seen = sample - from, before = seen - n;
+                double delta = blockMean - localMean;
+                localM2 += blockM2 + delta * delta * before * n / seen;
+                localMean += delta * n / seen;
+            }
+            chunkCount[c] = to - from;
+            chunkMean[c] = localMean;
+            chunkM2[c] = localM2;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloRequest;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloResult;
+import com.yy.allgomath.montecarlo.nd.NdIntegrand;
+import com.yy.allgomath.montecarlo.nd.NdIntegrandFactory;
+import com.yy.allgomath.montecarlo.qmc.Sampler;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class NdMonteCarloService {
+
+    // 이력은 10 표본부터 로그 간격(10 배당 이 개수)으로 찍는다. 오차가 N^-1/2 로 줄어드는 모습을 보기 위함.
+    public static final int CHECKPOINTS_PER_DECADE = 20;
+    // 요청 하나가 뽑는 좌표 수(iterations × dims) 상한. 동기 엔드포인트라 HTTP 스레드와 공용 풀을 그동안 붙잡는다.
+    public static final long MAX_COORDINATES = 1_000_000_000L;
+
+    public NdMonteCarloResult integrate(NdMonteCarloRequest request) {
+        NdIntegrand integrand = NdIntegrandFactory.createIntegrand(request.getFunctionType());
+        int dims = request.getDims();
+        int iterations = request.getIterations();
+        if ((long) iterations * dims > MAX_COORDINATES) {
+            throw new InvalidParameterException("iterations x dims must be at most " + MAX_COORDINATES + ": "
+                    + iterations + " x " + dims);
+        }
+        Sampler sampler = Sampler.from(request.getSampler());
+        if (dims > sampler.maxDimensions()) {
+            throw new InvalidParameterException(sampler.name().toLowerCase() + " supports at most "
+                    + sampler.maxDimensions() + " dimensions: " + dims);
+        }
+        double[] lower = perDimension(request.getLower(), dims, "lower");
+        double[] upper = perDimension(request.getUpper(), dims, "upper");
+        double volume = 1.0;
+        for (int d = 0; d < dims; d++) {
+            if (!(lower[d] < upper[d])) {
+                throw new InvalidParameterException("lower must be below upper in dimension " + d);
+            }
+            volume *= upper[d] - lower[d];
+        }
+        // 넓은 상자를 높은 차원으로 올리면 부피가 넘치거나(Infinity/NaN 추정값) 0 으로 사라진다
+        if (!(volume > 0) || !Double.isFinite(volume)) {
+            throw new InvalidParameterException("box volume must be finite and positive: " + volume);
+        }
+
+        long[] checkpoints = MonteCarloEngine.logCheckpoints(iterations, CHECKPOINTS_PER_DECADE);
+        long seed = request.getSeed() != null ? request.getSeed() : MonteCarloEngine.DEFAULT_SEED;
+        NdMonteCarloEngine.Tally tally = NdMonteCarloEngine.run(integrand, sampler, lower, upper, iterations, seed,
+                checkpoints);
+
+        double estimate = tally.estimate();
+        double actual = integrand.getActualIntegral(lower, upper);
+        NdMonteCarloResult result = new NdMonteCarloResult();
+        result.setFunctionType(request.getFunctionType().toLowerCase());
+        result.setDims(dims);
+        result.setSampler(sampler.name().toLowerCase());
+        result.setEstimate(estimate);
+        result.setActualValue(Double.isNaN(actual) ? null : actual);
+        result.setStandardError(tally.standardError());
+        result.setConfidenceLow(estimate - MonteCarloEngine.Z_95 * tally.standardError());
+        result.setConfidenceHigh(estimate + MonteCarloEngine.Z_95 * tally.standardError());
+        result.setTotalCount(iterations);
+        List<Long> samples = new ArrayList<>(checkpoints.length);
+        List<Double> history = new ArrayList<>(checkpoints.length);
+        for (int i = 0; i < checkpoints.length; i++) {
+            samples.add(checkpoints[i]);
+            history.add(tally.history()[i]);
+        }
+        result.setHistorySamples(samples);
+        result.setConvergenceHistory(history);
+        return result;
+    }
+
+    /** One bound per dimension; a single value applies to every dimension. */
+    private static double[] perDimension(List<Double> values, int dims, String name) {
+        if (values.size() != 1 && values.size() != dims) {
+            throw new InvalidParameterException(name + " needs 1 or " + dims + " values, got " + values.size());
+        }
+        double[] out = new double[dims];
+        for (int d = 0; d < dims; d++) {
+            Double v = values.get(values.size() == 1 ? 0 : d);
+            if (v == null || !Double.isFinite(v)) {
+                throw new InvalidParameterException(name + " must be finite in dimension " + d);
+            }
+            out[d] = v;
+        }
+        return out;
+    }
+}
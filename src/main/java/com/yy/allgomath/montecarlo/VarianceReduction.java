@@ -0,0 +1,36 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+/**
+ * Variance reduction strategy for the integration estimator.
+ * <ul>
+ *   <li>{@code NONE}: plain hit-or-miss, one sample per unit.</li>
+ *   <li>{@code STRATIFIED}: the bounds are cut into a K x K grid; every pass places one jittered sample in each
+ *       stratum, and each pass is one unit (an independent stratified estimate).</li>
+ *   <li>{@code ANTITHETIC}: each draw is paired with its reflection through the centre of the bounds; a pair is
+ *       one unit.</li>
+ *   <li>{@code IMPORTANCE}: samples come from a defensive mixture concentrated on the function's
+ *       {@link com.yy.allgomath.montecarlo.function.MathFunction#insideBox() inside box} and are weighted by 1/q.</li>
+ * </ul>
+ */
+public enum VarianceReduction {
+    NONE,
+    STRATIFIED,
+    ANTITHETIC,
+    IMPORTANCE;
+
+    /** null or blank means {@link #NONE}. */
+    public static VarianceReduction from(String name) {
+        if (name == null || name.isBlank()) {
+            return NONE;
+        }
+        for (VarianceReduction v : values()) {
+            if (v.name().equalsIgnoreCase(name)) {
+                return v;
+            }
+        }
+        throw new InvalidParameterException("Unknown variance reduction: " + name
+                + " (none, stratified, antithetic, importance)");
+    }
+}
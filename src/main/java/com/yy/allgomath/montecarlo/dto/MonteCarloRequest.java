@@ -4,10 +4,11 @@ import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 
 public class MonteCarloRequest {
     @Min(1)
-    @Max(1_000_000)
+    @Max(100_000_000)
     private int iterations;
 
     @NotNull
@@ -16,6 +17,17 @@ public class MonteCarloRequest {
     @NotBlank
     private String functionType;
 
+    // RNG seed; the same seed reproduces the same estimate. Optional (a fixed default seed is used).
+    private Long seed;
+
+    // Point sampler: random (default), sobol, sobol_owen, halton, halton_scrambled.
+    private String sampler;
+    // Variance reduction: none (default), stratified, antithetic, importance.
+    private String variance;
+    // Target 95% confidence half-width. Optional; when set, iterations is the sample budget and the run stops early.
+    @Positive
+    private Double tolerance;
+
     public static class Bounds {
         private double xMin;
         private double xMax;
@@ -55,4 +67,12 @@ public class MonteCarloRequest {
     public void setBounds(Bounds bounds) { this.bounds = bounds; }
     public String getFunctionType() { return functionType; }
     public void setFunctionType(String functionType) { this.functionType = functionType; }
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    public String getSampler() { return sampler; }
+    public void setSampler(String sampler) { this.sampler = sampler; }
+    public String getVariance() { return variance; }
+    public void setVariance(String variance) { this.variance = variance; }
+    public Double getTolerance() { return tolerance; }
+    public void setTolerance(Double tolerance) { this.tolerance = tolerance; }
 }
\ No newline at end of file
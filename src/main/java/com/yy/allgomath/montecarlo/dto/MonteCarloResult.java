@@ -1,5 +1,7 @@
 package com.yy.allgomath.montecarlo.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class MonteCarloResult {
@@ -9,6 +11,23 @@ public class MonteCarloResult {
     private int insideCount;
     private int totalCount;
     private List<Double> convergenceHistory;
+    // Only for streamed runs, whose history is log-spaced: the sample count of each history entry.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Long> historySamples;
+    private String sampler;
+    private String variance;
+    // Standard error of the estimate and the normal 95% confidence interval estimate ± 1.96·standardError.
+    private double standardError;
+    private double confidenceLow;
+    private double confidenceHigh;
+    // Only for tolerance runs: the requested half-width and whether it was reached within the iteration budget.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double tolerance;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean converged;
+    // Plain pseudo-random history with the same length and stride; only for quasi-random samplers.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<Double> referenceHistory;
 
     public MonteCarloResult() {}
 
@@ -34,4 +53,22 @@ public class MonteCarloResult {
     public void setTotalCount(int totalCount) { this.totalCount = totalCount; }
     public List<Double> getConvergenceHistory() { return convergenceHistory; }
     public void setConvergenceHistory(List<Double> convergenceHistory) { this.convergenceHistory = convergenceHistory; }
+    public List<Long> getHistorySamples() { return historySamples; }
+    public void setHistorySamples(List<Long> historySamples) { this.historySamples = historySamples; }
+    public String getSampler() { return sampler; }
+    public void setSampler(String sampler) { this.sampler = sampler; }
+    public String getVariance() { return variance; }
+    public void setVariance(String variance) { this.variance = variance; }
+    public double getStandardError() { return standardError; }
+    public void setStandardError(double standardError) { this.standardError = standardError; }
+    public double getConfidenceLow() { return confidenceLow; }
+    public void setConfidenceLow(double confidenceLow) { this.confidenceLow = confidenceLow; }
+    public double getConfidenceHigh() { return confidenceHigh; }
+    public void setConfidenceHigh(double confidenceHigh) { this.confidenceHigh = confidenceHigh; }
+    public Double getTolerance() { return tolerance; }
+    public void setTolerance(Double tolerance) { this.tolerance = tolerance; }
+    public Boolean getConverged() { return converged; }
+    public void setConverged(Boolean converged) { this.converged = converged; }
+    public List<Double> getReferenceHistory() { return referenceHistory; }
+    public void setReferenceHistory(List<Double> referenceHistory) { this.referenceHistory = referenceHistory; }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.yy.allgomath.montecarlo.dto;
+
+import java.util.List;
+
+/**
+ * One streamed progress event: the running estimate after {@code samples} samples, its standard error, the
+ * log-spaced history checkpoints reached since the previous snapshot and the new batch of sampled points.
+ */
+public class MonteCarloSnapshot {
+    private long samples;
+    private double estimate;
+    private double standardError;
+    // historySamples[i] is the sample count at which history[i] was taken
+    private List<Long> historySamples;
+    private List<Double> history;
+    private List<MonteCarloPoint> points;
+
+    public MonteCarloSnapshot() {}
+
+    public MonteCarloSnapshot(long samples, double estimate, double standardError, List<Long> historySamples,
+                              List<Double> history, List<MonteCarloPoint> points) {
+        this.samples = samples;
+        this.estimate = estimate;
+        this.standardError = standardError;
+        this.historySamples = historySamples;
+        this.history = history;
+        this.points = points;
+    }
+
+    public long getSamples() { return samples; }
+    public void setSamples(long samples) { this.samples = samples; }
+    public double getEstimate() { return estimate; }
+    public void setEstimate(double estimate) { this.estimate = estimate; }
+    public double getStandardError() { return standardError; }
+    public void setStandardError(double standardError) { this.standardError = standardError; }
+    public List<Long> getHistorySamples() { return historySamples; }
+    public void setHistorySamples(List<Long> historySamples) { this.historySamples = historySamples; }
+    public List<Double> getHistory() { return history; }
+    public void setHistory(List<Double> history) { this.history = history; }
+    public List<MonteCarloPoint> getPoints() { return points; }
+    public void setPoints(List<MonteCarloPoint> points) { this.points = points; }
+}
@@ -0,0 +1,59 @@
+package com.yy.allgomath.montecarlo.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class NdMonteCarloRequest {
+    @Min(1)
+    @Max(100_000_000)
+    private int iterations;
+
+    @Min(1)
+    @Max(100)
+    private int dims;
+
+    // Box lower..upper: one value per dimension, or a single value used for every dimension (a hypercube).
+    @NotEmpty
+    private List<Double> lower;
+    @NotEmpty
+    private List<Double> upper;
+
+    // ball, gaussian, oscillatory
+    @NotBlank
+    private String functionType;
+
+    // RNG seed; the same seed reproduces the same estimate. Optional (a fixed default seed is used).
+    private Long seed;
+
+    // Point sampler: random (default), sobol, sobol_owen, halton, halton_scrambled (quasi-random up to 21 dims).
+    private String sampler;
+
+    public NdMonteCarloRequest() {}
+
+    public NdMonteCarloRequest(int iterations, int dims, List<Double> lower, List<Double> upper, String functionType) {
+        this.iterations = iterations;
+        this.dims = dims;
+        this.lower = lower;
+        this.upper = upper;
+        this.functionType = functionType;
+    }
+
+    public int getIterations() { return iterations; }
+    public void setIterations(int iterations) { this.iterations = iterations; }
+    public int getDims() { return dims; }
+    public void setDims(int dims) { this.dims = dims; }
+    public List<Double> getLower() { return lower; }
+    public void setLower(List<Double> lower) { this.lower = lower; }
+    public List<Double> getUpper() { return upper; }
+    public void setUpper(List<Double> upper) { this.upper = upper; }
+    public String getFunctionType() { return functionType; }
+    public void setFunctionType(String functionType) { this.functionType = functionType; }
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+    public String getSampler() { return sampler; }
+    public void setSampler(String sampler) { this.sampler = sampler; }
+}
@@ -0,0 +1,48 @@
+package com.yy.allgomath.montecarlo.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public class NdMonteCarloResult {
+    private String functionType;
+    private int dims;
+    private String sampler;
+    private double estimate;
+    // Exact integral over the box; null when the function has no closed form for these bounds.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double actualValue;
+    // Standard error of the estimate and the normal 95% confidence interval estimate ± 1.96·standardError.
+    private double standardError;
+    private double confidenceLow;
+    private double confidenceHigh;
+    private int totalCount;
+    // Log-spaced history: historySamples[i] is the sample count at which convergenceHistory[i] was taken.
+    private List<Long> historySamples;
+    private List<Double> convergenceHistory;
+
+    public NdMonteCarloResult() {}
+
+    public String getFunctionType() { return functionType; }
+    public void setFunctionType(String functionType) { this.functionType = functionType; }
+    public int getDims() { return dims; }
+    public void setDims(int dims) { this.dims = dims; }
+    public String getSampler() { return sampler; }
+    public void setSampler(String sampler) { this.sampler = sampler; }
+    public double getEstimate() { return estimate; }
+    public void setEstimate(double estimate) { this.estimate = estimate; }
+    public Double getActualValue() { return actualValue; }
+    public void setActualValue(Double actualValue) { this.actualValue = actualValue; }
+    public double getStandardError() { return standardError; }
+    public void setStandardError(double standardError) { this.standardError = standardError; }
+    public double getConfidenceLow() { return confidenceLow; }
+    public void setConfidenceLow(double confidenceLow) { this.confidenceLow = confidenceLow; }
+    public double getConfidenceHigh() { return confidenceHigh; }
+    public void setConfidenceHigh(double confidenceHigh) { this.confidenceHigh = confidenceHigh; }
+    public int getTotalCount() { return totalCount; }
+    public void setTotalCount(int totalCount) { this.totalCount = totalCount; }
+    public List<Long> getHistorySamples() { return historySamples; }
+    public void setHistorySamples(List<Long> historySamples) { this.historySamples = historySamples; }
+    public List<Double> getConvergenceHistory() { return convergenceHistory; }
+    public void setConvergenceHistory(List<Double> convergenceHistory) { this.convergenceHistory = convergenceHistory; }
+}
@@ -9,6 +9,13 @@ public class DiamondFunction implements MathFunction {
         return (Math.abs(x) + Math.abs(y) <= 2.0) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.abs(xs[i]) + Math.abs(ys[i]) <= 2.0 ? 1.0 : 0.0;
+        }
+    }
+
     @Override
     public double getActualIntegral(double xMin, double xMax, double yMin, double yMax) {
         // Area of diamond |x| + |y| <= 2 is 2 * 2^2 = 8
@@ -36,4 +43,10 @@ public class DiamondFunction implements MathFunction {
         // Rough approximation
         return diamondArea * (xRange / totalRange) * (yRange / totalRange);
     }
+
+    @Override
+    public double[] insideBox() {
+        // |x| + |y| <= 2
+        return new double[]{-2.0, 2.0, -2.0, 2.0};
+    }
 }
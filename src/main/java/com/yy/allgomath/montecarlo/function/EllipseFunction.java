@@ -9,6 +9,14 @@ public class EllipseFunction implements MathFunction {
         return (x * x / 4.0 + y * y / 1.0 <= 1.0) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = xs[i], y = ys[i];
+            out[i] = x * x / 4.0 + y * y <= 1.0 ? 1.0 : 0.0;
+        }
+    }
+
     @Override
     public double getActualIntegral(double xMin, double xMax, double yMin, double yMax) {
         // Area of ellipse with semi-major axis a=2, semi-minor axis b=1: pi*a*b = pi*2*1 = 2pi
@@ -32,4 +40,10 @@ public class EllipseFunction implements MathFunction {
 
         return ellipseArea * xCoverage * yCoverage;
     }
+
+    @Override
+    public double[] insideBox() {
+        // x^2/4 + y^2 <= 1
+        return new double[]{-2.0, 2.0, -1.0, 1.0};
+    }
 }
@@ -2,5 +2,24 @@ package com.yy.allgomath.montecarlo.function;
 
 public interface MathFunction {
     double evaluate(double x, double y);
+
+    /**
+     * Block form of {@link #evaluate(double, double)}: out[i] = evaluate(xs[i], ys[i]) for i &lt; n. Implementations
+     * override it with a plain loop over the arrays so the JIT can unroll and vectorize it.
+     */
+    default void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = evaluate(xs[i], ys[i]);
+        }
+    }
+
     double getActualIntegral(double xMin, double xMax, double yMin, double yMax);
+
+    /**
+     * Bounding box {xMin, xMax, yMin, yMax} of the region counted as "inside", used as the importance sampling
+     * proposal. null when the region is not confined to a box (the proposal is then plain uniform).
+     */
+    default double[] insideBox() {
+        return null;
+    }
 }
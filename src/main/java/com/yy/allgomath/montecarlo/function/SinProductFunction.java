@@ -7,6 +7,13 @@ public class SinProductFunction implements MathFunction {
         return Math.sin(x * y);
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.sin(xs[i] * ys[i]);
+        }
+    }
+
     @Override
     public double getActualIntegral(double xMin, double xMax, double yMin, double yMax) {
         // For sin(x*y) >= 0, we need to calculate the area where sin(x*y) is non-negative
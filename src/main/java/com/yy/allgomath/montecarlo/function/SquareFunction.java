@@ -9,6 +9,14 @@ public class SquareFunction implements MathFunction {
         return (x * x + y * y <= threshold) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = xs[i], y = ys[i];
+            out[i] = x * x + y * y <= 4.0 ? 1.0 : 0.0;
+        }
+    }
+
     @Override
     public double getActualIntegral(double xMin, double xMax, double yMin, double yMax) {
         // Area of region x^2 + y^2 <= 4 (circle with radius 2) in given bounds
@@ -30,4 +38,10 @@ public class SquareFunction implements MathFunction {
         double effectiveRadius = Math.min(Math.min(xMax - xMin, yMax - yMin) / 2.0, radius);
         return Math.PI * effectiveRadius * effectiveRadius;
     }
+
+    @Override
+    public double[] insideBox() {
+        // x^2 + y^2 <= 4
+        return new double[]{-2.0, 2.0, -2.0, 2.0};
+    }
 }
@@ -8,6 +8,14 @@ public class UnitCircleFunction implements MathFunction {
         return (x * x + y * y <= 1.0) ? 1.0 : 0.0;
     }
 
+    @Override
+    public void evaluate(double[] xs, double[] ys, double[] out, int n) {
+        for (int i = 0; i < n; i++) {
+            double x = xs[i], y = ys[i];
+            out[i] = x * x + y * y <= 1.0 ? 1.0 : 0.0;
+        }
+    }
+
     @Override
     public double getActualIntegral(double xMin, double xMax, double yMin, double yMax) {
         // For a unit circle in [-1,1] x [-1,1] domain, the area is pi
@@ -20,4 +28,10 @@ public class UnitCircleFunction implements MathFunction {
         double radius = Math.min(width, height) / 2.0;
         return Math.PI * radius * radius;
     }
+
+    @Override
+    public double[] insideBox() {
+        // x^2 + y^2 <= 1
+        return new double[]{-1.0, 1.0, -1.0, 1.0};
+    }
 }
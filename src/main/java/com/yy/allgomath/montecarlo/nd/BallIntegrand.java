@@ -0,0 +1,49 @@
+package com.yy.allgomath.montecarlo.nd;
+
+import java.util.Arrays;
+
+/**
+ * Indicator of the unit ball |x| &lt;= 1, so the integral is the ball's volume inside the box. The volume
+ * pi^(d/2) / Gamma(d/2 + 1) peaks at d = 5 and then falls fast: the ball fills a vanishing share of [-1,1]^d.
+ */
+public class BallIntegrand implements NdIntegrand {
+
+    @Override
+    public void evaluate(double[][] xs, double[] out, int n) {
+        Arrays.fill(out, 0, n, 0.0);
+        for (double[] x : xs) {
+            for (int i = 0; i < n; i++) {
+                out[i] += x[i] * x[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = out[i] <= 1.0 ? 1.0 : 0.0;
+        }
+    }
+
+    @Override
+    public double getActualIntegral(double[] lower, double[] upper) {
+        // Closed form when every axis covers [-1, 1] or, by symmetry, one half of it
+        double share = 1.0;
+        for (int d = 0; d < lower.length; d++) {
+            if (lower[d] <= -1.0 && upper[d] >= 1.0) {
+                continue;
+            }
+            if (lower[d] == 0.0 && upper[d] >= 1.0 || lower[d] <= -1.0 && upper[d] == 0.0) {
+                share /= 2;
+            } else {
+                return Double.NaN;
+            }
+        }
+        return share * volume(lower.length);
+    }
+
+    /** Volume of the unit ball in d dimensions, from V(0) = 1, V(1) = 2 and V(d) = V(d - 2) * 2pi / d. */
+    static double volume(int d) {
+        double v = d % 2 == 0 ? 1.0 : 2.0;
+        for (int k = d % 2 == 0 ? 2 : 3; k <= d; k += 2) {
+            v *= 2 * Math.PI / k;
+        }
+        return v;
+    }
+}
@@ -0,0 +1,78 @@
+package com.yy.allgomath.montecarlo.nd;
+
+import java.util.Arrays;
+
+/**
+ * Gaussian exp(-|x|^2). It factorizes over the axes, so the exact integral over a box is the product of
+ * (sqrt(pi) / 2) * (erf(upper) - erf(lower)); over all of R^d it is pi^(d/2).
+ */
+public class GaussianIntegrand implements NdIntegrand {
+
+    private static final double SQRT_PI = Math.sqrt(Math.PI);
+
+    @Override
+    public void evaluate(double[][] xs, double[] out, int n) {
+        Arrays.fill(out, 0, n, 0.0);
+        for (double[] x : xs) {
+            for (int i = 0; i < n; i++) {
+                out[i] += x[i] * x[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.exp(-out[i]);
+        }
+    }
+
+    @Override
+    public double getActualIntegral(double[] lower, double[] upper) {
+        double product = 1.0;
+        for (int d = 0; d < lower.length; d++) {
+            product *= SQRT_PI / 2 * erfDifference(lower[d], upper[d]);
+        }
+        return product;
+    }
+
+    /** erf(b) - erf(a), taken from the complementary function in the tails to avoid cancellation. */
+    static double erfDifference(double a, double b) {
+        if (a >= 0) {
+            return erfc(a) - erfc(b);
+        }
+        if (b <= 0) {
+            return erfc(-b) - erfc(-a);
+        }
+        return erf(b) - erf(a);
+    }
+
+    static double erf(double x) {
+        if (Math.abs(x) >= 2.0) {
+            return Math.copySign(1.0 - erfc(Math.abs(x)), x);
+        }
+        // Maclaurin series 2/sqrt(pi) * sum (-1)^k x^(2k+1) / (k! (2k+1)); terms stay below e^4, so little cancellation
+        double x2 = x * x, term = x, sum = x;
+        for (int k = 1; k < 60; k++) {
+            term *= -x2 / k;
+            double next = sum + term / (2 * k + 1);
+            if (next == sum) {
+                break;
+            }
+            sum = next;
+        }
+        return 2 / SQRT_PI * sum;
+    }
+
+    static double erfc(double x) {
+        if (x < 2.0) {
+            return 1.0 - erf(x);
+        }
+        if (x > 27.0) {
+            return 0.0;
+        }
+        // continued fraction erfc(x) = exp(-x^2)/sqrt(pi) * 1/(x + (1/2)/(x + 1/(x + (3/2)/(x + ...)))),
+        // evaluated from the tail; 80 levels are plenty for x >= 2
+        double f = x;
+        for (int k = 80; k >= 1; k--) {
+            f = x + k / 2.0 / f;
+        }
+        return Math.exp(-x * x) / SQRT_PI / f;
+    }
+}
@@ -0,0 +1,15 @@
+package com.yy.allgomath.montecarlo.nd;
+
+/**
+ * Integrand on a box in R^dims for the N-dimensional integrator. Samples arrive as structure-of-arrays blocks:
+ * xs[d] holds coordinate d of every sample in the block, so implementations loop over one dimension at a time
+ * with a tight loop over the samples.
+ */
+public interface NdIntegrand {
+
+    /** out[i] = f(xs[0][i], ..., xs[xs.length - 1][i]) for i &lt; n. */
+    void evaluate(double[][] xs, double[] out, int n);
+
+    /** Exact integral over the box lower..upper, or NaN when there is no closed form for that box. */
+    double getActualIntegral(double[] lower, double[] upper);
+}
@@ -0,0 +1,20 @@
+package com.yy.allgomath.montecarlo.nd;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+public class NdIntegrandFactory {
+
+    public static NdIntegrand createIntegrand(String functionType) {
+        switch (functionType.toLowerCase()) {
+            case "ball":
+                return new BallIntegrand();
+            case "gaussian":
+                return new GaussianIntegrand();
+            case "oscillatory":
+                return new OscillatoryIntegrand();
+            default:
+                throw new InvalidParameterException("Unknown N-dimensional function: " + functionType
+                        + " (ball, gaussian, oscillatory)");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.yy.allgomath.montecarlo.nd;
+
+import java.util.Arrays;
+
+/**
+ * Genz's oscillatory test function cos(2 pi u + a . x), here with u = 0 and unit coefficients: cos(x_1 + ... + x_d).
+ * The integrand takes both signs, so its mean over the box shrinks with d while its variance does not: a hard case.
+ * Exactly, it is the real part of the product over the axes of (e^(i upper) - e^(i lower)) / i.
+ */
+public class OscillatoryIntegrand implements NdIntegrand {
+
+    @Override
+    public void evaluate(double[][] xs, double[] out, int n) {
+        Arrays.fill(out, 0, n, 0.0);
+        for (double[] x : xs) {
+            for (int i = 0; i < n; i++) {
+                out[i] += x[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            out[i] = Math.cos(out[i]);
+        }
+    }
+
+    @Override
+    public double getActualIntegral(double[] lower, double[] upper) {
+        double re = 1.0, im = 0.0;
+        for (int d = 0; d < lower.length; d++) {
+            // integral of e^(ix) over [lower, upper]
+            double zr = Math.sin(upper[d]) - Math.sin(lower[d]);
+            double zi = Math.cos(lower[d]) - Math.cos(upper[d]);
+            double r = re * zr - im * zi;
+            im = re * zi + im * zr;
+            re = r;
+        }
+        return re;
+    }
+}
@@ -0,0 +1,96 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+import java.util.SplittableRandom;
+
+/**
+ * Halton sequence: dimension d is the radical inverse of the sample index in the d-th prime base.
+ * Points are computed directly from the index, so a stream can start anywhere.
+ * <p>
+ * The scrambled variant applies an independent random permutation of the digits {0..b-1} at every digit position
+ * (enough positions for double precision, so the permuted trailing zeros are included). This breaks the strong
+ * correlation between higher bases while keeping the stratification.
+ */
+final class Halton implements PointSource {
+
+    private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 59, 61, 67, 71, 73};
+    static final int MAX_DIMS = PRIMES.length;
+
+    private final int dims;
+    // perms[d][j * base + digit] for the scrambled variant, else null
+    private final int[][] perms;
+    private final int[] positions;
+
+    Halton(int dims, boolean scrambled, long seed) {
+        if (dims < 1 || dims > MAX_DIMS) {
+            throw new IllegalArgumentException("Halton supports 1.." + MAX_DIMS + " dimensions: " + dims);
+        }
+        this.dims = dims;
+        this.positions = new int[dims];
+        for (int d = 0; d < dims; d++) {
+            positions[d] = (int) Math.ceil(53 / (Math.log(PRIMES[d]) / Math.log(2)));
+        }
+        if (!scrambled) {
+            this.perms = null;
+            return;
+        }
+        this.perms = new int[dims][];
+        SplittableRandom rng = new SplittableRandom(seed);
+        for (int d = 0; d < dims; d++) {
+            int b = PRIMES[d];
+            int[] p = new int[positions[d] * b];
+            for (int j = 0; j < positions[d]; j++) {
+                int off = j * b;
+                for (int i = 0; i < b; i++) {
+                    p[off + i] = i;
+                }
+                for (int i = b - 1; i > 0; i--) {
+                    int r = rng.nextInt(i + 1);
+                    int t = p[off + i];
+                    p[off + i] = p[off + r];
+                    p[off + r] = t;
+                }
+            }
+            perms[d] = p;
+        }
+    }
+
+    @Override
+    public PointStream stream(long from, SplittableRandom rng) {
+        return new PointStream() {
+            long index = from;
+
+            @Override
+            public void next(double[] u) {
+                for (int d = 0; d < dims; d++) {
+                    u[d] = perms == null ? radicalInverse(PRIMES[d], index)
+                            : scrambledRadicalInverse(PRIMES[d], perms[d], positions[d], index);
+                }
+                index++;
+            }
+        };
+    }
+
+    static double radicalInverse(int base, long i) {
+        if (base == 2) {
+            return (Long.reverse(i) >>> 11) * 0x1p-53;
+        }
+        double inv = 1.0 / base, f = inv, r = 0;
+        while (i > 0) {
+            r += (i % base) * f;
+            i /= base;
+            f *= inv;
+        }
+        return r;
+    }
+
+    private static double scrambledRadicalInverse(int base, int[] perm, int positions, long i) {
+        double inv = 1.0 / base, f = inv, r = 0;
+        for (int j = 0, off = 0; j < positions; j++, off += base) {
+            r += perm[off + (int) (i % base)] * f;
+            i /= base;
+            f *= inv;
+        }
+        // the permuted digit string can round up to exactly 1.0
+        return Math.min(r, Math.nextDown(1.0));
+    }
+}
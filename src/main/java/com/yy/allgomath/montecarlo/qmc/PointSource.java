@@ -0,0 +1,17 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+import java.util.SplittableRandom;
+
+/**
+ * A sampler prepared for one request (direction numbers, scrambling seeds and permutations are fixed here),
+ * from which each chunk opens a stream starting at its first sample index.
+ */
+@FunctionalInterface
+public interface PointSource {
+
+    /**
+     * @param from index of the first sample the stream returns
+     * @param rng  the chunk's own random substream (only pseudo-random sampling draws from it)
+     */
+    PointStream stream(long from, SplittableRandom rng);
+}
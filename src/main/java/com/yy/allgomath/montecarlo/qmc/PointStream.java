@@ -0,0 +1,12 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+/**
+ * A sequence of points in the unit cube [0,1)^dims, positioned at some sample index.
+ * Streams are not thread-safe; the engine opens one per chunk.
+ */
+@FunctionalInterface
+public interface PointStream {
+
+    /** Writes the next point into u[0..dims) and advances by one sample. */
+    void next(double[] u);
+}
@@ -0,0 +1,67 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+/**
+ * Point samplers for Monte Carlo integration. {@code RANDOM} is plain pseudo-random sampling; the others are
+ * low-discrepancy (quasi-Monte Carlo) sequences, optionally randomized by scrambling so that different seeds
+ * give independent, still low-discrepancy point sets.
+ */
+public enum Sampler {
+    RANDOM,
+    SOBOL,
+    SOBOL_OWEN,
+    HALTON,
+    HALTON_SCRAMBLED;
+
+    /** null or blank means {@link #RANDOM}. */
+    public static Sampler from(String name) {
+        if (name == null || name.isBlank()) {
+            return RANDOM;
+        }
+        for (Sampler s : values()) {
+            if (s.name().equalsIgnoreCase(name)) {
+                return s;
+            }
+        }
+        throw new InvalidParameterException("Unknown sampler: " + name
+                + " (random, sobol, sobol_owen, halton, halton_scrambled)");
+    }
+
+    public boolean isQuasiRandom() {
+        return this != RANDOM;
+    }
+
+    /** Highest point dimension the sampler supports; pseudo-random sampling has no limit. */
+    public int maxDimensions() {
+        switch (this) {
+            case SOBOL:
+            case SOBOL_OWEN:
+                return Sobol.MAX_DIMS;
+            case HALTON:
+            case HALTON_SCRAMBLED:
+                return Halton.MAX_DIMS;
+            default:
+                return Integer.MAX_VALUE;
+        }
+    }
+
+    public PointSource prepare(int dims, long seed) {
+        switch (this) {
+            case SOBOL:
+                return new Sobol(dims, false, seed);
+            case SOBOL_OWEN:
+                return new Sobol(dims, true, seed);
+            case HALTON:
+                return new Halton(dims, false, seed);
+            case HALTON_SCRAMBLED:
+                return new Halton(dims, true, seed);
+            default:
+                return (from, rng) -> u -> {
+                    for (int d = 0; d < u.length; d++) {
+                        u[d] = rng.nextDouble();
+                    }
+                };
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sobol sequence with Joe–Kuo direction numbers (new-joe-kuo-6.21201, first {@value #MAX_DIMS} dimensions),
+ * 32-bit, Gray-code ordered. A stream can start at any index: the state for index i is the XOR of the direction
+ * numbers selected by the bits of gray(i), and each further step flips one direction number.
+ * <p>
+ * With {@code owen} the output is nested-uniform (Owen) scrambled per dimension using the hash-based
+ * Laine–Karras permutation (Burley, "Practical Hash-based Owen Scrambling", 2020).
+ */
+final class Sobol implements PointSource {
+
+    static final int MAX_DIMS = 21;
+    private static final int BITS = 32;
+    private static final double TWO_POW_MINUS_32 = 0x1p-32;
+
+    // {s, a, m_1 .. m_s} for dimensions 2..MAX_DIMS; dimension 1 is the van der Corput sequence
+    private static final int[][] JOE_KUO = {
+            {1, 0, 1},
+            {2, 1, 1, 3},
+            {3, 1, 1, 3, 1},
+            {3, 2, 1, 1, 1},
+            {4, 1, 1, 1, 3, 3},
+            {4, 4, 1, 3, 5, 13},
+            {5, 2, 1, 1, 5, 5, 17},
+            {5, 4, 1, 1, 5, 5, 5},
+            {5, 7, 1, 1, 7, 11, 19},
+            {5, 11, 1, 1, 5, 1, 1},
+            {5, 13, 1, 1, 1, 3, 11},
+            {5, 14, 1, 3, 5, 5, 31},
+            {6, 1, 1, 3, 3, 9, 7, 49},
+            {6, 13, 1, 1, 1, 15, 21, 21},
+            {6, 16, 1, 3, 1, 13, 27, 49},
+            {6, 19, 1, 1, 1, 15, 7, 5},
+            {6, 22, 1, 3, 1, 15, 13, 25},
+            {6, 25, 1, 1, 5, 5, 19, 61},
+            {7, 1, 1, 3, 7, 11, 23, 15, 103},
+            {7, 4, 1, 3, 7, 13, 13, 15, 69},
+    };
+
+    /** DIRECTIONS[d][k] = v_{k+1} for dimension d (0-based). */
+    private static final int[][] DIRECTIONS = directions();
+
+    private final int dims;
+    private final boolean owen;
+    private final int[] scrambleSeeds;
+
+    Sobol(int dims, boolean owen, long seed) {
+        if (dims < 1 || dims > MAX_DIMS) {
+            throw new IllegalArgumentException("Sobol supports 1.." + MAX_DIMS + " dimensions: " + dims);
+        }
+        this.dims = dims;
+        this.owen = owen;
+        this.scrambleSeeds = new int[dims];
+        SplittableRandom rng = new SplittableRandom(seed);
+        for (int d = 0; d < dims; d++) {
+            scrambleSeeds[d] = rng.nextInt();
+        }
+    }
+
+    private static int[][] directions() {
+        int[][] v = new int[MAX_DIMS][BITS];
+        for (int k = 0; k < BITS; k++) {
+            v[0][k] = 1 << (BITS - 1 - k);
+        }
+        for (int d = 1; d < MAX_DIMS; d++) {
+            int[] row = JOE_KUO[d - 1];
+            int s = row[0], a = row[1];
+            for (int k = 0; k < BITS; k++) {
+                if (k < s) {
+                    v[d][k] = row[2 + k] << (BITS - 1 - k);
+                } else {
+                    int x = v[d][k - s] ^ (v[d][k - s] >>> s);
+                    for (int i = 1; i < s; i++) {
+                        if (((a >>> (s - 1 - i)) & 1) != 0) {
+                            x ^= v[d][k - i];
+                        }
+                    }
+                    v[d][k] = x;
+                }
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public PointStream stream(long from, SplittableRandom rng) {
+        int[] state = new int[dims];
+        long gray = from ^ (from >>> 1);
+        for (int k = 0; gray != 0; k++, gray >>>= 1) {
+            if ((gray & 1) != 0) {
+                for (int d = 0; d < dims; d++) {
+                    state[d] ^= DIRECTIONS[d][k];
+                }
+            }
+        }
+        return new PointStream() {
+            long index = from;
+
+            @Override
+            public void next(double[] u) {
+                for (int d = 0; d < dims; d++) {
+                    int x = owen ? nestedUniformScramble(state[d], scrambleSeeds[d]) : state[d];
+                    u[d] = (x & 0xffffffffL) * TWO_POW_MINUS_32;
+                }
+                // index -> index + 1 flips the direction number at the lowest zero bit of index
+                int k = Long.numberOfTrailingZeros(~index);
+                for (int d = 0; d < dims; d++) {
+                    state[d] ^= DIRECTIONS[d][k];
+                }
+                index++;
+            }
+        };
+    }
+
+    static int nestedUniformScramble(int x, int seed) {
+        x = Integer.reverse(x);
+        x += seed;
+        x ^= x * 0x6c50b47c;
+        x ^= x * 0xb82f1e52;
+        x ^= x * 0xc7afe638;
+        x ^= x * 0x8d22f6e6;
+        return Integer.reverse(x);
+    }
+}
@@ -0,0 +1,218 @@
+package com.yy.allgomath.plotter;
+
+import com.yy.allgomath.plotter.dto.AdaptiveMesh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 곡률 적응 사분트리 메시. [-range, range]² 를 {@value #MIN_LEVEL} 단계 균일 셀에서 시작해, 오차 추정이 가장 큰 셀부터
+ * 넷으로 나눈다. 셀 오차는 중심과 네 변 중점에서 함수값과 선형 보간값의 차이 최댓값을 전체 z 폭으로 나눈 것이다.
+ * 모든 셀 오차가 tolerance 아래가 되거나 함수 평가 수가 maxPoints 에 닿으면 멈춘다.
+ * <p>
+ * 정점은 가장 깊은 단계({@value #MAX_LEVEL}) 정수 격자 좌표로 식별해 이웃 셀끼리 공유한다. 잎 셀은 변 위에 이웃의
+ * 더 잘게 나뉜 정점(매달린 정점)이 없으면 대각선으로 두 삼각형, 있으면 중심에서 둘레 정점들로 부채꼴을 만들어 균열이 없다.
+ * 추정에만 쓰고 삼각형에 들어가지 않은 표본은 마지막에 빼고 번호를 다시 매긴다.
+ */
+final class AdaptiveMesher {
+
+    static final int MIN_LEVEL = 3;
+    static final int MAX_LEVEL = 10;
+    private static final int SIDE = 1 << MAX_LEVEL;
+    // 셀 하나를 나눌 때 새로 평가할 수 있는 표본 수 상한 (자식 중심 4 + 자식 변 중점 12)
+    private static final int SPLIT_SAMPLES = 16;
+
+    private final PlotterFunction fn;
+    private final double range;
+    private final double h;
+    private final int maxPoints;
+
+    // 표본: 격자 키 → 번호, 좌표/값은 원시 배열
+    private final Map<Integer, Integer> index = new HashMap<>();
+    private int[] keys = new int[1024];
+    private double[] zs = new double[1024];
+    private int count;
+
+    private record Cell(int level, int ix, int iy, double error) {
+    }
+
+    private AdaptiveMesher(PlotterFunction fn, double range, int maxPoints) {
+        this.fn = fn;
+        this.range = range;
+        this.h = 2 * range / SIDE;
+        this.maxPoints = maxPoints;
+    }
+
+    static AdaptiveMesh mesh(PlotterFunction fn, double range, double tolerance, int maxPoints) {
+        return new AdaptiveMesher(fn, range, maxPoints).build(tolerance);
+    }
+
+    private AdaptiveMesh build(double tolerance) {
+        int start = 1 << MIN_LEVEL, s0 = SIDE >> MIN_LEVEL;
+        double zLo = Double.POSITIVE_INFINITY, zHi = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i <= start; i++) {
+            for (int j = 0; j <= start; j++) {
+                double z = z(i * s0, j * s0);
+                if (z < zLo) zLo = z;
+                if (z > zHi) zHi = z;
+            }
+        }
+        double scale = zHi > zLo ? zHi - zLo : 1.0;
+
+        PriorityQueue<Cell> queue = new PriorityQueue<>((a, b) -> Double.compare(b.error, a.error));
+        List<Cell> leaves = new ArrayList<>();
+        for (int i = 0; i < start; i++) {
+            for (int j = 0; j < start; j++) {
+                queue.add(cell(MIN_LEVEL, i * s0, j * s0, scale));
+            }
+        }
+        while (!queue.isEmpty()) {
+            Cell c = queue.peek();
+            if (c.level >= MAX_LEVEL || c.error <= tolerance || count + SPLIT_SAMPLES > maxPoints) break;
+            queue.poll();
+            int half = (SIDE >> c.level) >> 1;
+            for (int k = 0; k < 4; k++) {
+                queue.add(cell(c.level + 1, c.ix + (k & 1) * half, c.iy + (k >> 1) * half, scale));
+            }
+        }
+        leaves.addAll(queue);
+        return triangulate(leaves);
+    }
+
+    /** 셀을 만들면서 오차를 추정한다. 가장 깊은 단계 셀은 더 나눌 수 없어 오차 0. */
+    private Cell cell(int level, int ix, int iy, double scale) {
+        if (level >= MAX_LEVEL) {
+            return new Cell(level, ix, iy, 0);
+        }
+        int s = SIDE >> level, m = s >> 1;
+        double z00 = z(ix, iy), z10 = z(ix + s, iy), z01 = z(ix, iy + s), z11 = z(ix + s, iy + s);
+        double e = Math.abs(z(ix + m, iy + m) - 0.25 * (z00 + z10 + z01 + z11));
+        e = Math.max(e, Math.abs(z(ix + m, iy) - 0.5 * (z00 + z10)));
+        e = Math.max(e, Math.abs(z(ix + m, iy + s) - 0.5 * (z01 + z11)));
+        e = Math.max(e, Math.abs(z(ix, iy + m) - 0.5 * (z00 + z01)));
+        e = Math.max(e, Math.abs(z(ix + s, iy + m) - 0.5 * (z10 + z11)));
+        // 비유한 값이 섞인 셀은 끝까지 나눈다
+        return new Cell(level, ix, iy, Double.isNaN(e) ? Double.POSITIVE_INFINITY : e / scale);
+    }
+
+    private double z(int ix, int iy) {
+        int id = sample(ix, iy); // sample 이 zs 를 키울 수 있으니 먼저 부른다
+        return zs[id];
+    }
+
+    private int sample(int ix, int iy) {
+        int key = ix * (SIDE + 1) + iy;
+        Integer id = index.get(key);
+        if (id != null) return id;
+        if (count == keys.length) {
+            keys = Arrays.copyOf(keys, count * 2);
+            zs = Arrays.copyOf(zs, count * 2);
+        }
+        keys[count] = key;
+        zs[count] = fn.z(-range + ix * h, -range + iy * h);
+        index.put(key, count);
+        return count++;
+    }
+
+    private boolean has(int ix, int iy) {
+        return index.containsKey(ix * (SIDE + 1) + iy);
+    }
+
+    private AdaptiveMesh triangulate(List<Cell> leaves) {
+        // 잎 모서리만 정점. 추정용 중심/중점 표본은 이웃이 나뉘지 않았으면 쓰이지 않는다.
+        boolean[] corner = new boolean[count];
+        for (Cell c : leaves) {
+            int s = SIDE >> c.level;
+            corner[index.get(c.ix * (SIDE + 1) + c.iy)] = true;
+            corner[index.get((c.ix + s) * (SIDE + 1) + c.iy)] = true;
+            corner[index.get(c.ix * (SIDE + 1) + c.iy + s)] = true;
+            corner[index.get((c.ix + s) * (SIDE + 1) + c.iy + s)] = true;
+        }
+
+        int[] tri = new int[leaves.size() * 12];
+        int nt = 0;
+        // 변마다 매달린 정점은 최대 2^(MAX-MIN) - 1 개
+        int[] ring = new int[4 << (MAX_LEVEL - MIN_LEVEL)];
+        boolean[] used = new boolean[count];
+        for (Cell c : leaves) {
+            int s = SIDE >> c.level;
+            int n = 0;
+            // 반시계 방향 둘레: 아래 변 → 오른쪽 변 → 위 변 → 왼쪽 변
+            ring[n++] = id(c.ix, c.iy);
+            n = edge(ring, n, c.ix, c.iy, 1, 0, s, corner);
+            ring[n++] = id(c.ix + s, c.iy);
+            n = edge(ring, n, c.ix + s, c.iy, 0, 1, s, corner);
+            ring[n++] = id(c.ix + s, c.iy + s);
+            n = edge(ring, n, c.ix + s, c.iy + s, -1, 0, s, corner);
+            ring[n++] = id(c.ix, c.iy + s);
+            n = edge(ring, n, c.ix, c.iy + s, 0, -1, s, corner);
+            if (nt + 3 * n > tri.length) tri = Arrays.copyOf(tri, Math.max(tri.length * 2, nt + 3 * n));
+            if (n == 4) {
+                nt = put(tri, nt, ring[0], ring[1], ring[2]);
+                nt = put(tri, nt, ring[0], ring[2], ring[3]);
+            } else {
+                int center = sample(c.ix + s / 2, c.iy + s / 2);
+                if (center >= used.length) used = Arrays.copyOf(used, count);
+                used[center] = true;
+                for (int k = 0; k < n; k++) {
+                    nt = put(tri, nt, center, ring[k], ring[(k + 1) % n]);
+                }
+            }
+            for (int k = 0; k < n; k++) used[ring[k]] = true;
+        }
+
+        // 쓰인 표본만 남기고 번호를 다시 매긴다
+        int[] remap = new int[count];
+        int nv = 0;
+        for (int i = 0; i < count; i++) {
+            remap[i] = i < used.length && used[i] ? nv++ : -1;
+        }
+        float[] vertices = new float[nv * 3];
+        float zMin = Float.POSITIVE_INFINITY, zMax = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < count; i++) {
+            int v = remap[i];
+            if (v < 0) continue;
+            int key = keys[i];
+            float z = (float) zs[i];
+            vertices[3 * v] = (float) (-range + (key / (SIDE + 1)) * h);
+            vertices[3 * v + 1] = (float) (-range + (key % (SIDE + 1)) * h);
+            vertices[3 * v + 2] = z;
+            if (z < zMin) zMin = z;
+            if (z > zMax) zMax = z;
+        }
+        int[] triangles = Arrays.copyOf(tri, nt);
+        for (int t = 0; t < nt; t++) {
+            triangles[t] = remap[triangles[t]];
+        }
+        return new AdaptiveMesh(range, vertices, triangles, zMin, zMax, leaves.size(), count);
+    }
+
+    private int id(int ix, int iy) {
+        return index.get(ix * (SIDE + 1) + iy);
+    }
+
+    /**
+     * (ix, iy) 에서 방향 (dx, dy) 로 길이 len 인 변 위의 매달린 정점을 순서대로 ring 에 붙인다(양 끝 제외).
+     * 이웃이 나뉘었다면 중점부터 존재하므로 중점이 모서리 정점일 때만 양쪽 절반으로 내려간다.
+     */
+    private int edge(int[] ring, int n, int ix, int iy, int dx, int dy, int len, boolean[] corner) {
+        if (len < 2) return n;
+        int half = len >> 1;
+        int mx = ix + dx * half, my = iy + dy * half;
+        if (!has(mx, my) || !corner[id(mx, my)]) return n;
+        n = edge(ring, n, ix, iy, dx, dy, half, corner);
+        ring[n++] = id(mx, my);
+        return edge(ring, n, mx, my, dx, dy, half, corner);
+    }
+
+    private static int put(int[] tri, int nt, int a, int b, int c) {
+        tri[nt] = a;
+        tri[nt + 1] = b;
+        tri[nt + 2] = c;
+        return nt + 3;
+    }
+}
@@ -0,0 +1,149 @@
+package com.yy.allgomath.plotter;
+
+import com.yy.allgomath.plotter.dto.Attractor;
+import com.yy.allgomath.plotter.dto.BasinMap;
+import com.yy.allgomath.plotter.expr.AutoDiff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * 시작점 격자 전체에서 경사하강을 돌려 각 시작점이 어느 임계점으로 가는지 구한다.
+ * <p>
+ * 시작점을 {@value #CHUNK} 개씩 묶어 공용 ForkJoin 풀에서 병렬로 처리한다. 묶음 안에서는 위치·함수값을 원시 배열(SoA)로 두고
+ * 아직 움직이는 레인 목록만 스텝마다 앞으로 당겨 가며 {@link DescentStep} 을 적용하므로 스텝당 할당이 없다.
+ * 수렴한 끝점은 마지막에 순차로 {@value #CLUSTER_TOL} 격자 해시로 묶어 끌개를 만든다.
+ */
+final class BasinMapper {
+
+    static final int CHUNK = 256;
+    static final double CLUSTER_TOL = 1e-3;
+
+    private static final byte MOVING = 0, CONVERGED = 1, STOPPED = 2;
+
+    private BasinMapper() {
+    }
+
+    static BasinMap map(PlotterFunction fn, double range, int size, double lr, int maxIter) {
+        int total = size * size;
+        double step = 2 * range / (size - 1);
+        double[] endX = new double[total];
+        double[] endY = new double[total];
+        int[] iterations = new int[total];
+        byte[] state = new byte[total];
+
+        IntStream.range(0, (total + CHUNK - 1) / CHUNK).parallel().forEach(c -> {
+            int from = c * CHUNK, n = Math.min(CHUNK, total - from);
+            double[] xs = new double[n], ys = new double[n], zs = new double[n];
+            int[] active = new int[n];
+            int live = 0;
+            for (int k = 0; k < n; k++) {
+                int p = from + k;
+                xs[k] = -range + (p / size) * step;
+                ys[k] = -range + (p % size) * step;
+                zs[k] = fn.z(xs[k], ys[k]);
+                if (Double.isFinite(zs[k])) {
+                    active[live++] = k;
+                } else {
+                    state[p] = STOPPED;
+                }
+            }
+            double[] d = new double[3];
+            for (int it = 0; it <= maxIter && live > 0; it++) {
+                int kept = 0;
+                for (int a = 0; a < live; a++) {
+                    int k = active[a];
+                    fn.valueAndGradInto(xs[k], ys[k], d);
+                    double gx = d[AutoDiff.DX], gy = d[AutoDiff.DY];
+                    iterations[from + k] = it;
+                    if (!Double.isFinite(gx) || !Double.isFinite(gy)) {
+                        state[from + k] = STOPPED;
+                    } else if (Math.hypot(gx, gy) < PlotterService.CONVERGED_GRAD_NORM) {
+                        state[from + k] = CONVERGED;
+                    } else if (it == maxIter) {
+                        // 반복 한도까지 아직 움직이는 중 (MOVING)
+                    } else if (DescentStep.step(fn, lr, gx, gy, xs, ys, zs, k)) {
+                        active[kept++] = k;
+                    } else {
+                        state[from + k] = STOPPED;
+                    }
+                }
+                live = kept;
+            }
+            System.arraycopy(xs, 0, endX, from, n);
+            System.arraycopy(ys, 0, endY, from, n);
+        });
+
+        return cluster(fn, size, range, endX, endY, iterations, state);
+    }
+
+    private static BasinMap cluster(PlotterFunction fn, int size, double range, double[] endX, double[] endY,
+                                    int[] iterations, byte[] state) {
+        int total = endX.length;
+        int[] basin = new int[total];
+        List<double[]> centers = new ArrayList<>();
+        List<int[]> counts = new ArrayList<>();
+        Map<Long, Integer> cells = new HashMap<>();
+        for (int p = 0; p < total; p++) {
+            if (state[p] != CONVERGED) {
+                basin[p] = state[p] == MOVING ? BasinMap.NOT_CONVERGED : BasinMap.STOPPED;
+                continue;
+            }
+            long cx = Math.round(endX[p] / CLUSTER_TOL), cy = Math.round(endY[p] / CLUSTER_TOL);
+            int found = -1;
+            for (int dx = -1; dx <= 1 && found < 0; dx++) {
+                for (int dy = -1; dy <= 1 && found < 0; dy++) {
+                    Integer id = cells.get(cellKey(cx + dx, cy + dy));
+                    if (id != null && Math.abs(centers.get(id)[0] - endX[p]) <= CLUSTER_TOL
+                            && Math.abs(centers.get(id)[1] - endY[p]) <= CLUSTER_TOL) {
+                        found = id;
+                    }
+                }
+            }
+            if (found < 0) {
+                found = centers.size();
+                centers.add(new double[]{endX[p], endY[p]});
+                counts.add(new int[1]);
+                cells.putIfAbsent(cellKey(cx, cy), found);
+            }
+            counts.get(found)[0]++;
+            basin[p] = found;
+        }
+
+        // 많이 끌어온 순서로 번호를 다시 매긴다
+        Integer[] order = new Integer[centers.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(counts.get(b)[0], counts.get(a)[0]));
+        int[] rank = new int[order.length];
+        List<Attractor> attractors = new ArrayList<>(order.length);
+        AutoDiff ad = fn.autoDiff();
+        double[] d = new double[6];
+        for (int r = 0; r < order.length; r++) {
+            int id = order[r];
+            rank[id] = r;
+            double[] c = centers.get(id);
+            ad.evalInto(c[0], c[1], d);
+            attractors.add(new Attractor(c[0], c[1], d[AutoDiff.VALUE],
+                    kind(d[AutoDiff.DXX], d[AutoDiff.DXY], d[AutoDiff.DYY]), counts.get(id)[0]));
+        }
+        for (int p = 0; p < total; p++) {
+            if (basin[p] >= 0) basin[p] = rank[basin[p]];
+        }
+        return new BasinMap(size, range, basin, iterations, attractors);
+    }
+
+    private static long cellKey(long cx, long cy) {
+        return (cx << 32) ^ (cy & 0xffffffffL);
+    }
+
+    static String kind(double hxx, double hxy, double hyy) {
+        double det = hxx * hyy - hxy * hxy;
+        if (Math.abs(det) < 1e-9) return "degenerate";
+        if (det < 0) return "saddle";
+        return hxx > 0 ? "minimum" : "maximum";
+    }
+}
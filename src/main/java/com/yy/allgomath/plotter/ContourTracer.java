@@ -0,0 +1,196 @@
+package com.yy.allgomath.plotter;
+
+import com.yy.allgomath.plotter.dto.ContourLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 마칭 스퀘어 등고선. {@link SurfaceSampler} 격자(점 (i, j) = (-range + i·step, -range + j·step))의 셀마다
+ * 등고값이 지나는 변 쌍을 선분으로 만들고, 같은 변 교차점을 공유하는 선분끼리 이어 폴리라인으로 꿰맨다.
+ * <p>
+ * 선분은 좌표 대신 양 끝 격자 변 번호로만 들고 있다가 꿰맬 때 보간해 좌표를 낸다. 셀 행은 {@value #BAND} 줄씩 띠로 묶어
+ * 공용 ForkJoin 풀에서 병렬로 훑고, 띠별 선분 목록을 순서대로 이어 붙이므로 결과는 실행마다 같다.
+ * 안장 셀은 셀 중심값(네 꼭짓점 평균)으로 연결 방향을 정한다.
+ */
+final class ContourTracer {
+
+    static final int BAND = 16;
+
+    private final double[][] z;
+    private final int n;
+    private final double range;
+    private final double step;
+    // 변 번호 → 그 변을 끝점으로 가진 선분 두 개(없으면 -1)
+    private final int[] slotA;
+    private final int[] slotB;
+
+    private ContourTracer(double[][] z, int n, double range) {
+        this.z = z;
+        this.n = n;
+        this.range = range;
+        this.step = 2 * range / n;
+        int edges = 2 * (n + 1) * (n + 1);
+        this.slotA = new int[edges];
+        this.slotB = new int[edges];
+        Arrays.fill(slotA, -1);
+        Arrays.fill(slotB, -1);
+    }
+
+    /** 격자 z 를 한 번 샘플링해 levels 각각의 폴리라인을 만든다. */
+    static List<ContourLevel> trace(PlotterFunction fn, double range, int n, double[] levels) {
+        double[][] z = new double[n + 1][n + 1];
+        SurfaceSampler.sampleInto(fn, range, n, z);
+        ContourTracer tracer = new ContourTracer(z, n, range);
+        List<ContourLevel> out = new ArrayList<>(levels.length);
+        for (double level : levels) {
+            out.add(new ContourLevel(level, tracer.level(level)));
+        }
+        return out;
+    }
+
+    private List<float[]> level(double level) {
+        int bands = (n + BAND - 1) / BAND;
+        int[][] bandSegs = new int[bands][];
+        IntStream range = IntStream.range(0, bands);
+        (n >= 2 * BAND ? range.parallel() : range).forEach(b -> bandSegs[b] = march(level, b * BAND,
+                Math.min(n, (b + 1) * BAND)));
+
+        int total = 0;
+        for (int[] s : bandSegs) total += s[0];
+        int[] seg = new int[2 * total];
+        int k = 0;
+        for (int[] s : bandSegs) {
+            System.arraycopy(s, 1, seg, k, s[0] * 2);
+            k += s[0] * 2;
+        }
+        List<float[]> lines = stitch(seg, total, level);
+        for (int i = 0; i < seg.length; i++) {
+            slotA[seg[i]] = -1;
+            slotB[seg[i]] = -1;
+        }
+        return lines;
+    }
+
+    /** 셀 행 [i0, i1) 을 훑어 {개수, a0, b0, a1, b1, ...} 형태로 선분 끝 변 번호를 돌려준다. */
+    private int[] march(double level, int i0, int i1) {
+        int[] out = new int[1 + 2 * 64];
+        int m = 0;
+        for (int i = i0; i < i1; i++) {
+            double[] col = z[i], next = z[i + 1];
+            for (int j = 0; j < n; j++) {
+                double v0 = col[j], v1 = next[j], v2 = next[j + 1], v3 = col[j + 1];
+                if (!(Double.isFinite(v0) && Double.isFinite(v1) && Double.isFinite(v2) && Double.isFinite(v3))) {
+                    continue;
+                }
+                boolean a0 = v0 > level, a1 = v1 > level, a2 = v2 > level, a3 = v3 > level;
+                int mask = (a0 ? 1 : 0) | (a1 ? 2 : 0) | (a2 ? 4 : 0) | (a3 ? 8 : 0);
+                if (mask == 0 || mask == 15) continue;
+                // 변: 0 아래 (i,j)-(i+1,j), 1 오른쪽 (i+1,j)-(i+1,j+1), 2 위 (i,j+1)-(i+1,j+1), 3 왼쪽 (i,j)-(i,j+1)
+                int e0 = xEdge(i, j), e1 = yEdge(i + 1, j), e2 = xEdge(i, j + 1), e3 = yEdge(i, j);
+                if (1 + 2 * (m + 2) > out.length) out = Arrays.copyOf(out, out.length * 2);
+                if (mask == 5 || mask == 10) {
+                    boolean centerAbove = 0.25 * (v0 + v1 + v2 + v3) > level;
+                    // 중심이 v0 과 같은 편이면 v1, v3 모서리를 잘라낸다
+                    if (centerAbove == a0) {
+                        m = add(out, m, e0, e1);
+                        m = add(out, m, e2, e3);
+                    } else {
+                        m = add(out, m, e3, e0);
+                        m = add(out, m, e1, e2);
+                    }
+                    continue;
+                }
+                // 안장이 아니면 교차하는 변이 정확히 두 개
+                int a = -1, b = -1;
+                if (a0 != a1) a = e0;
+                if (a1 != a2) {
+                    if (a < 0) a = e1;
+                    else b = e1;
+                }
+                if (a2 != a3) {
+                    if (a < 0) a = e2;
+                    else b = e2;
+                }
+                if (a3 != a0) b = e3;
+                m = add(out, m, a, b);
+            }
+        }
+        out[0] = m;
+        return out;
+    }
+
+    private static int add(int[] out, int m, int a, int b) {
+        out[1 + 2 * m] = a;
+        out[2 + 2 * m] = b;
+        return m + 1;
+    }
+
+    private List<float[]> stitch(int[] seg, int count, double level) {
+        for (int s = 0; s < count; s++) {
+            link(seg[2 * s], s);
+            link(seg[2 * s + 1], s);
+        }
+        boolean[] done = new boolean[count];
+        List<float[]> lines = new ArrayList<>();
+        float[] buf = new float[64];
+        // 열린 선(경계나 비유한 셀에서 끝나는 쪽)부터, 남은 것은 닫힌 고리
+        for (int pass = 0; pass < 2; pass++) {
+            for (int s = 0; s < count; s++) {
+                if (done[s]) continue;
+                int start;
+                if (pass == 0) {
+                    if (slotB[seg[2 * s]] < 0) start = seg[2 * s];
+                    else if (slotB[seg[2 * s + 1]] < 0) start = seg[2 * s + 1];
+                    else continue;
+                } else {
+                    start = seg[2 * s];
+                }
+                int len = 0;
+                int edge = start, cur = s;
+                buf = point(buf, len++, edge, level);
+                while (cur >= 0 && !done[cur]) {
+                    done[cur] = true;
+                    edge = seg[2 * cur] == edge ? seg[2 * cur + 1] : seg[2 * cur];
+                    buf = point(buf, len++, edge, level);
+                    cur = slotA[edge] == cur ? slotB[edge] : slotA[edge];
+                }
+                lines.add(Arrays.copyOf(buf, 2 * len));
+            }
+        }
+        return lines;
+    }
+
+    private void link(int edge, int s) {
+        if (slotA[edge] < 0) slotA[edge] = s;
+        else slotB[edge] = s;
+    }
+
+    /** buf[2·k..] 에 변 edge 위 등고점 (x, y) 를 쓴다. */
+    private float[] point(float[] buf, int k, int edge, double level) {
+        if (2 * k + 2 > buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+        int cell = edge >> 1, i = cell / (n + 1), j = cell % (n + 1);
+        double za = z[i][j];
+        double x = -range + i * step, y = -range + j * step;
+        if ((edge & 1) == 0) {
+            x += step * (level - za) / (z[i + 1][j] - za);
+        } else {
+            y += step * (level - za) / (z[i][j + 1] - za);
+        }
+        buf[2 * k] = (float) x;
+        buf[2 * k + 1] = (float) y;
+        return buf;
+    }
+
+    /** (i, j)-(i+1, j) 변. */
+    private int xEdge(int i, int j) {
+        return 2 * (i * (n + 1) + j);
+    }
+
+    /** (i, j)-(i, j+1) 변. */
+    private int yEdge(int i, int j) {
+        return 2 * (i * (n + 1) + j) + 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.yy.allgomath.plotter;
+
+/**
+ * 안정화된 경사하강 한 스텝: 기울기 클리핑 → 스텝 길이 클리핑 → 백트래킹 라인서치.
+ * {@link PlotterService#descend} 와 {@link BasinMapper} 가 함께 쓴다. 상태는 구조체 배열(SoA) 레인으로 받아
+ * 스텝마다 객체를 만들지 않는다(단일 경로는 길이 1 배열).
+ */
+final class DescentStep {
+
+    static final double GRAD_NORM_MAX = 1e3;
+    static final double STEP_NORM_MAX = 1.0;
+    static final double COORD_ABS_MAX = 1e3;
+    static final int LINESEARCH_MAX_TRIES = 5;
+
+    private DescentStep() {
+    }
+
+    /**
+     * 레인 k 를 (xs[k], ys[k]) 에서 기울기 (gx, gy) 방향으로 옮기고 zs[k] 를 새 함수값으로 갱신한다.
+     * zs[k] 는 현재 위치의 함수값이어야 한다. 라인서치가 감소를 못 찾거나 좌표가 한계를 넘으면 false.
+     */
+    static boolean step(PlotterFunction fn, double lr, double gx, double gy,
+                        double[] xs, double[] ys, double[] zs, int k) {
+        double gnorm = Math.hypot(gx, gy);
+        if (gnorm > GRAD_NORM_MAX) {
+            double s = GRAD_NORM_MAX / gnorm;
+            gx *= s;
+            gy *= s;
+        }
+        double stepX = lr * gx, stepY = lr * gy;
+        double stepNorm = Math.hypot(stepX, stepY);
+        if (stepNorm > STEP_NORM_MAX) {
+            double s = STEP_NORM_MAX / stepNorm;
+            stepX *= s;
+            stepY *= s;
+        }
+
+        double x = xs[k], y = ys[k], cz = zs[k];
+        double t = 1.0;
+        double nx = x - t * stepX, ny = y - t * stepY, nz = fn.z(nx, ny);
+        int tries = 0;
+        while (tries < LINESEARCH_MAX_TRIES && (!Double.isFinite(nz) || nz > cz)) {
+            t *= 0.5;
+            nx = x - t * stepX;
+            ny = y - t * stepY;
+            nz = fn.z(nx, ny);
+            tries++;
+        }
+        if (!Double.isFinite(nz) || nz > cz) return false;
+        xs[k] = nx;
+        ys[k] = ny;
+        zs[k] = nz;
+        return Math.abs(nx) <= COORD_ABS_MAX && Math.abs(ny) <= COORD_ABS_MAX;
+    }
+}
@@ -1,19 +1,37 @@
 package com.yy.allgomath.plotter;
 
+import com.yy.allgomath.plotter.dto.AdaptiveMesh;
+import com.yy.allgomath.plotter.dto.AdaptiveMeshParams;
+import com.yy.allgomath.plotter.dto.AdaptiveMeshRequest;
+import com.yy.allgomath.plotter.dto.BasinMap;
+import com.yy.allgomath.plotter.dto.BasinParams;
+import com.yy.allgomath.plotter.dto.BasinRequest;
+import com.yy.allgomath.plotter.dto.CompareParams;
+import com.yy.allgomath.plotter.dto.CompareRequest;
+import com.yy.allgomath.plotter.dto.CompareResult;
+import com.yy.allgomath.plotter.dto.ContourParams;
+import com.yy.allgomath.plotter.dto.ContourRequest;
+import com.yy.allgomath.plotter.dto.ContourResult;
 import com.yy.allgomath.plotter.dto.DescentParams;
 import com.yy.allgomath.plotter.dto.DescentRequest;
 import com.yy.allgomath.plotter.dto.DescentResult;
+import com.yy.allgomath.plotter.dto.MeshParams;
+import com.yy.allgomath.plotter.dto.PlotterMeshRequest;
 import com.yy.allgomath.plotter.dto.PlotterSurfaceRequest;
 import com.yy.allgomath.plotter.dto.SurfaceParams;
 import com.yy.allgomath.plotter.dto.SurfaceResult;
+import com.yy.allgomath.plotter.optim.Optimizer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 /** 3D plotter API. HTTP/validation only; computation delegated to {@link PlotterService}. */
 @RestController
 @RequestMapping("/api/algorithms/plotter")
@@ -28,10 +46,51 @@ public class PlotterController {
                 new SurfaceParams(req.fn(), req.range(), req.resolution())));
     }
 
+    /** 같은 곡면을 이진 메시로. 형식은 {@link SurfaceMeshCodec} 참고. */
+    @PostMapping(value = "/surface/mesh", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> surfaceMesh(@Valid @RequestBody PlotterMeshRequest req) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(SurfaceMeshCodec.encode(plotterService.mesh(
+                        new MeshParams(req.fn(), req.range(), req.resolution(), req.normals()))));
+    }
+
+    /** 곡률 적응 삼각형 메시(정점 + 인덱스). 평평한 곳은 성기게, 가파른 곳은 촘촘하게. */
+    @PostMapping("/surface/adaptive")
+    public ResponseEntity<AdaptiveMesh> adaptiveMesh(@Valid @RequestBody AdaptiveMeshRequest req) {
+        return ResponseEntity.ok(plotterService.adaptiveMesh(
+                new AdaptiveMeshParams(req.fn(), req.range(), req.tolerance(), req.maxPoints())));
+    }
+
+    /** 등고선 폴리라인. 2D 뷰에서 하강 경로와 함께 그린다. */
+    @PostMapping("/surface/contours")
+    public ResponseEntity<ContourResult> contours(@Valid @RequestBody ContourRequest req) {
+        double[] levels = req.levels().stream().mapToDouble(Double::doubleValue).toArray();
+        return ResponseEntity.ok(plotterService.contours(
+                new ContourParams(req.fn(), req.range(), req.resolution(), levels)));
+    }
+
     @PostMapping("/gradient-descent")
     public ResponseEntity<DescentResult> descend(@Valid @RequestBody DescentRequest req) {
         return ResponseEntity.ok(plotterService.descend(
                 new DescentParams(req.fn(), req.startX(), req.startY(), req.learningRate(), req.maxIterations(),
                         req.classic(), req.range())));
     }
+
+    /** 같은 시작점에서 여러 최적화기(gd, momentum, nesterov, adam, rmsprop, newton, bfgs) 경로를 한 번에. */
+    @PostMapping("/gradient-descent/compare")
+    public ResponseEntity<CompareResult> compare(@Valid @RequestBody CompareRequest req) {
+        List<Optimizer> optimizers = req.optimizers() == null ? List.of()
+                : req.optimizers().stream().map(Optimizer::from).toList();
+        return ResponseEntity.ok(plotterService.compare(
+                new CompareParams(req.fn(), req.startX(), req.startY(), req.learningRate(), req.maxIterations(),
+                        optimizers, req.range())));
+    }
+
+    /** 시작점 격자 전체의 수렴 끌개와 반복 횟수(히트맵용). */
+    @PostMapping("/gradient-descent/basins")
+    public ResponseEntity<BasinMap> basins(@Valid @RequestBody BasinRequest req) {
+        return ResponseEntity.ok(plotterService.basins(
+                new BasinParams(req.fn(), req.range(), req.size(), req.learningRate(), req.maxIterations())));
+    }
 }
@@ -0,0 +1,51 @@
+package com.yy.allgomath.plotter;
+
+import com.yy.allgomath.plotter.expr.AutoDiff;
+import com.yy.allgomath.plotter.expr.ExpressionFunctions;
+import com.yy.allgomath.plotter.expr.Tape;
+
+/**
+ * 곡면 z = f(x, y) 와 해석적 기울기. 내장 카탈로그({@link SurfaceFunction})와 사용자 수식
+ * ({@link com.yy.allgomath.plotter.expr.ExpressionFunction}) 이 같은 샘플러/경사하강 경로를 쓴다.
+ */
+public interface PlotterFunction {
+
+    double z(double x, double y);
+
+    double[] grad(double x, double y);
+
+    double[] critical();
+
+    /** 자동미분용 명령열 (함수당 하나, 공유). */
+    Tape tape();
+
+    /**
+     * 값과 기울기만(1차) out[{@link AutoDiff#VALUE}], out[{@link AutoDiff#DX}], out[{@link AutoDiff#DY}] 에 쓴다.
+     * 헤시안이 필요 없는 경사하강 경로용으로, 자동미분 테이프 대신 해석적/컴파일된 기울기를 쓴다.
+     */
+    default void valueAndGradInto(double x, double y, double[] out) {
+        double[] g = grad(x, y);
+        out[AutoDiff.VALUE] = z(x, y);
+        out[AutoDiff.DX] = g[0];
+        out[AutoDiff.DY] = g[1];
+    }
+
+    /** 값·기울기·헤시안 평가기. 할당 없이 반복 호출할 수 있지만 스레드 안전하지 않으므로 호출 흐름마다 하나씩 만든다. */
+    default AutoDiff autoDiff() {
+        return new AutoDiff(tape());
+    }
+
+    String label();
+
+    String expr();
+
+    /** 카탈로그 이름(대소문자 무시)이면 내장 곡면, 아니면 수식으로 보고 컴파일한다(캐시). */
+    static PlotterFunction of(String key) {
+        if (key != null) {
+            for (SurfaceFunction f : SurfaceFunction.values()) {
+                if (f.name().equalsIgnoreCase(key)) return f;
+            }
+        }
+        return ExpressionFunctions.compile(key);
+    }
+}
@@ -1,109 +1,146 @@
 package com.yy.allgomath.plotter;
 
 import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.plotter.dto.AdaptiveMesh;
+import com.yy.allgomath.plotter.dto.AdaptiveMeshParams;
+import com.yy.allgomath.plotter.dto.BasinMap;
+import com.yy.allgomath.plotter.dto.BasinParams;
+import com.yy.allgomath.plotter.dto.CompareParams;
+import com.yy.allgomath.plotter.dto.CompareResult;
+import com.yy.allgomath.plotter.dto.ContourParams;
+import com.yy.allgomath.plotter.dto.ContourResult;
 import com.yy.allgomath.plotter.dto.DescentParams;
 import com.yy.allgomath.plotter.dto.DescentResult;
 import com.yy.allgomath.plotter.dto.GradPoint;
+import com.yy.allgomath.plotter.dto.MeshParams;
+import com.yy.allgomath.plotter.dto.OptimizerPath;
+import com.yy.allgomath.plotter.dto.SurfaceMesh;
 import com.yy.allgomath.plotter.dto.SurfaceParams;
 import com.yy.allgomath.plotter.dto.SurfaceResult;
+import com.yy.allgomath.plotter.expr.AutoDiff;
+import com.yy.allgomath.plotter.optim.Optimizer;
+import com.yy.allgomath.plotter.optim.OptimizerRunner;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-/** Surface grid sampling + robust gradient descent (gradient clipping, backtracking line search). */
+/**
+ * Surface grid sampling + robust gradient descent (gradient clipping, backtracking line search).
+ * fn is a catalog name or a user expression z = f(x,y), resolved through {@link PlotterFunction#of}.
+ */
 @Service
 public class PlotterService {
 
-    private static final double GRAD_NORM_MAX = 1e3;
-    private static final double STEP_NORM_MAX = 1.0;
-    private static final double COORD_ABS_MAX = 1e3;
-    private static final int LINESEARCH_MAX_TRIES = 5;
+    static final double CONVERGED_GRAD_NORM = 1e-6;
+
+    private static final int MESH_MAX_RESOLUTION = 1024;
+    private static final int ADAPTIVE_MAX_POINTS = 200_000;
+    private static final int CONTOUR_MAX_RESOLUTION = 512;
+    private static final int CONTOUR_MAX_LEVELS = 64;
+    private static final int COMPARE_MAX_ITERATIONS = 500;
+    private static final int BASIN_MAX_SIZE = 256;
 
     @Cacheable(value = "plotter_surface",
             key = "#params.fn() + '_' + #params.range() + '_' + #params.resolution()")
     public SurfaceResult surface(SurfaceParams params) {
-        if (params.range() < 2 || params.range() > 12) {
-            throw new InvalidParameterException("range는 2~12 사이여야 합니다.");
-        }
-        SurfaceFunction fn = SurfaceFunction.of(params.fn());
+        checkRange(params.range());
+        PlotterFunction fn = PlotterFunction.of(params.fn());
         int n = params.resolution();
-        double range = params.range();
-        double step = (range * 2) / n;
         double[][] z = new double[n + 1][n + 1];
-        double zMin = Double.POSITIVE_INFINITY, zMax = Double.NEGATIVE_INFINITY;
-        for (int i = 0; i <= n; i++) {
-            double x = -range + i * step;
-            for (int j = 0; j <= n; j++) {
-                double y = -range + j * step;
-                double v = fn.z(x, y);
-                z[i][j] = v;
-                if (v < zMin) zMin = v;
-                if (v > zMax) zMax = v;
-            }
-        }
+        double[] minMax = SurfaceSampler.sampleInto(fn, params.range(), n, z);
         double[] c = fn.critical();
         GradPoint critical = new GradPoint(0, c[0], c[1], fn.z(c[0], c[1]), 0, 0);
-        return new SurfaceResult(z, zMin, zMax, critical);
+        return new SurfaceResult(z, minMax[0], minMax[1], critical);
     }
 
-    public DescentResult descend(DescentParams params) {
-        if (params.learningRate() <= 0 || params.learningRate() > 1) {
-            throw new InvalidParameterException("learningRate는 0 초과 1 이하여야 합니다.");
+    /** 같은 격자를 float32 평탄 버퍼로 샘플링한다. 이진 메시 응답({@link SurfaceMeshCodec})용. */
+    @Cacheable(value = "plotter_surface",
+            key = "#params.fn() + '_' + #params.range() + '_' + #params.resolution() + (#params.normals() ? '_mesh_n' : '_mesh')")
+    public SurfaceMesh mesh(MeshParams params) {
+        checkRange(params.range());
+        if (params.resolution() < 1 || params.resolution() > MESH_MAX_RESOLUTION) {
+            throw new InvalidParameterException("resolution은 1~" + MESH_MAX_RESOLUTION + " 사이여야 합니다.");
+        }
+        PlotterFunction fn = PlotterFunction.of(params.fn());
+        int n = params.resolution();
+        int points = (n + 1) * (n + 1);
+        float[] z = new float[points];
+        float[] normals = params.normals() ? new float[points * 3] : null;
+        double[] minMax = SurfaceSampler.sampleInto(fn, params.range(), n, z, normals);
+        return new SurfaceMesh(n, params.range(), (float) minMax[0], (float) minMax[1], z, normals);
+    }
+
+    /** 곡률이 큰 곳만 잘게 나누는 사분트리 삼각형 메시({@link AdaptiveMesher}). */
+    public AdaptiveMesh adaptiveMesh(AdaptiveMeshParams params) {
+        checkRange(params.range());
+        if (!(params.tolerance() > 0 && params.tolerance() <= 0.5)) {
+            throw new InvalidParameterException("tolerance는 0 초과 0.5 이하여야 합니다.");
         }
+        if (params.maxPoints() < 512 || params.maxPoints() > ADAPTIVE_MAX_POINTS) {
+            throw new InvalidParameterException("maxPoints는 512~" + ADAPTIVE_MAX_POINTS + " 사이여야 합니다.");
+        }
+        return AdaptiveMesher.mesh(PlotterFunction.of(params.fn()), params.range(), params.tolerance(),
+                params.maxPoints());
+    }
+
+    /** z 격자를 내려보내지 않고 등고선 폴리라인만 돌려준다({@link ContourTracer}). */
+    public ContourResult contours(ContourParams params) {
+        checkRange(params.range());
+        if (params.resolution() < 1 || params.resolution() > CONTOUR_MAX_RESOLUTION) {
+            throw new InvalidParameterException("resolution은 1~" + CONTOUR_MAX_RESOLUTION + " 사이여야 합니다.");
+        }
+        double[] levels = params.levels();
+        if (levels == null || levels.length == 0 || levels.length > CONTOUR_MAX_LEVELS) {
+            throw new InvalidParameterException("levels는 1~" + CONTOUR_MAX_LEVELS + "개여야 합니다.");
+        }
+        for (double level : levels) {
+            if (!Double.isFinite(level)) {
+                throw new InvalidParameterException("levels에 유한하지 않은 값이 있습니다.");
+            }
+        }
+        PlotterFunction fn = PlotterFunction.of(params.fn());
+        return new ContourResult(params.range(), params.resolution(),
+                ContourTracer.trace(fn, params.range(), params.resolution(), levels));
+    }
+
+    private static void checkRange(double range) {
+        if (range < 2 || range > 12) {
+            throw new InvalidParameterException("range는 2~12 사이여야 합니다.");
+        }
+    }
+
+    public DescentResult descend(DescentParams params) {
+        checkLearningRate(params.learningRate());
         if (params.classic()) {
             return classicDescend(params);
         }
-        SurfaceFunction fn = SurfaceFunction.of(params.fn());
+        PlotterFunction fn = PlotterFunction.of(params.fn());
         int maxIter = params.maxIterations();
         double lr = params.learningRate();
-        double x = params.startX(), y = params.startY();
         List<GradPoint> path = new ArrayList<>();
         boolean converged = false;
         int last = 0;
+        // 값·기울기는 1차 평가로 (수식은 컴파일된 커널, 반복마다 배열을 만들지 않는다)
+        double[] d = new double[3];
+        // DescentStep 레인 하나
+        double[] xs = {params.startX()}, ys = {params.startY()}, zs = new double[1];
 
         for (int i = 0; i <= maxIter; i++) {
             last = i;
-            double cz = fn.z(x, y);
-            double[] g = fn.grad(x, y);
-            double gx = g[0], gy = g[1];
+            fn.valueAndGradInto(xs[0], ys[0], d);
+            double cz = d[AutoDiff.VALUE], gx = d[AutoDiff.DX], gy = d[AutoDiff.DY];
+            zs[0] = cz;
             if (!Double.isFinite(cz) || !Double.isFinite(gx) || !Double.isFinite(gy)) break;
-            path.add(new GradPoint(i, x, y, cz, gx, gy));
-            if (Math.hypot(gx, gy) < 1e-6) {
+            path.add(new GradPoint(i, xs[0], ys[0], cz, gx, gy));
+            if (Math.hypot(gx, gy) < CONVERGED_GRAD_NORM) {
                 converged = true;
                 break;
             }
             if (i == maxIter) break;
-
-            double gnorm = Math.hypot(gx, gy);
-            if (gnorm > GRAD_NORM_MAX) {
-                double s = GRAD_NORM_MAX / gnorm;
-                gx *= s;
-                gy *= s;
-            }
-            double stepX = lr * gx, stepY = lr * gy;
-            double stepNorm = Math.hypot(stepX, stepY);
-            if (stepNorm > STEP_NORM_MAX) {
-                double s = STEP_NORM_MAX / stepNorm;
-                stepX *= s;
-                stepY *= s;
-            }
-
-            double t = 1.0;
-            double nx = x - t * stepX, ny = y - t * stepY, nz = fn.z(nx, ny);
-            int tries = 0;
-            while (tries < LINESEARCH_MAX_TRIES && (!Double.isFinite(nz) || nz > cz)) {
-                t *= 0.5;
-                nx = x - t * stepX;
-                ny = y - t * stepY;
-                nz = fn.z(nx, ny);
-                tries++;
-            }
-            if (!Double.isFinite(nz) || nz > cz) break;
-            x = nx;
-            y = ny;
-            if (Math.abs(x) > COORD_ABS_MAX || Math.abs(y) > COORD_ABS_MAX) break;
+            if (!DescentStep.step(fn, lr, gx, gy, xs, ys, zs, 0)) break;
         }
         return new DescentResult(path, converged, last);
     }
@@ -113,30 +150,71 @@ public class PlotterService {
      * range > 0이면 좌표를 ±range로 클램프해 경로가 곡면 밖으로 나가지 않는다.
      */
     private DescentResult classicDescend(DescentParams params) {
-        SurfaceFunction fn = SurfaceFunction.of(params.fn());
+        PlotterFunction fn = PlotterFunction.of(params.fn());
         int maxIter = params.maxIterations();
         double lr = params.learningRate();
-        double bound = params.range() > 0 ? params.range() : COORD_ABS_MAX;
+        double bound = params.range() > 0 ? params.range() : DescentStep.COORD_ABS_MAX;
         double x = clamp(params.startX(), bound), y = clamp(params.startY(), bound);
         List<GradPoint> path = new ArrayList<>();
         boolean converged = false;
         int last = 0;
+        double[] d = new double[3];
         for (int i = 0; i <= maxIter; i++) {
             last = i;
-            double cz = fn.z(x, y);
-            double[] g = fn.grad(x, y);
-            if (!Double.isFinite(cz) || !Double.isFinite(g[0]) || !Double.isFinite(g[1])) break;
-            path.add(new GradPoint(i, x, y, cz, g[0], g[1]));
-            if (Math.hypot(g[0], g[1]) < 1e-3) {
+            fn.valueAndGradInto(x, y, d);
+            double cz = d[AutoDiff.VALUE], gx = d[AutoDiff.DX], gy = d[AutoDiff.DY];
+            if (!Double.isFinite(cz) || !Double.isFinite(gx) || !Double.isFinite(gy)) break;
+            path.add(new GradPoint(i, x, y, cz, gx, gy));
+            if (Math.hypot(gx, gy) < 1e-3) {
                 converged = true;
                 break;
             }
-            x = clamp(x - lr * g[0], bound);
-            y = clamp(y - lr * g[1], bound);
+            x = clamp(x - lr * gx, bound);
+            y = clamp(y - lr * gy, bound);
         }
         return new DescentResult(path, converged, last);
     }
 
+    /**
+     * 같은 시작점에서 여러 최적화기를 병렬로 돌려 경로를 모두 돌려준다(비어 있으면 전부).
+     * 최적화기마다 자기 {@link OptimizerRunner}(자동미분 스택 + 원시 경로 버퍼)를 가진다.
+     */
+    public CompareResult compare(CompareParams params) {
+        checkLearningRate(params.learningRate());
+        if (params.maxIterations() < 1 || params.maxIterations() > COMPARE_MAX_ITERATIONS) {
+            throw new InvalidParameterException("maxIterations는 1~" + COMPARE_MAX_ITERATIONS + " 사이여야 합니다.");
+        }
+        PlotterFunction fn = PlotterFunction.of(params.fn());
+        List<Optimizer> optimizers = params.optimizers() == null || params.optimizers().isEmpty()
+                ? Arrays.asList(Optimizer.values())
+                : params.optimizers();
+        List<OptimizerPath> paths = optimizers.parallelStream()
+                .map(o -> new OptimizerRunner(o, fn, params.learningRate(), params.maxIterations(), params.range())
+                        .run(params.startX(), params.startY()))
+                .toList();
+        return new CompareResult(paths);
+    }
+
+    /** size×size 시작점마다 {@link #descend} 와 같은 스텝으로 내려가 끌개 영역 지도를 만든다. */
+    public BasinMap basins(BasinParams params) {
+        checkRange(params.range());
+        checkLearningRate(params.learningRate());
+        if (params.size() < 2 || params.size() > BASIN_MAX_SIZE) {
+            throw new InvalidParameterException("size는 2~" + BASIN_MAX_SIZE + " 사이여야 합니다.");
+        }
+        if (params.maxIterations() < 1 || params.maxIterations() > COMPARE_MAX_ITERATIONS) {
+            throw new InvalidParameterException("maxIterations는 1~" + COMPARE_MAX_ITERATIONS + " 사이여야 합니다.");
+        }
+        return BasinMapper.map(PlotterFunction.of(params.fn()), params.range(), params.size(),
+                params.learningRate(), params.maxIterations());
+    }
+
+    private static void checkLearningRate(double lr) {
+        if (lr <= 0 || lr > 1) {
+            throw new InvalidParameterException("learningRate는 0 초과 1 이하여야 합니다.");
+        }
+    }
+
     private static double clamp(double v, double bound) {
         return Math.max(-bound, Math.min(bound, v));
     }
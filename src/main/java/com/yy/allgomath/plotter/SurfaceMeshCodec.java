@@ -0,0 +1,89 @@
+package com.yy.allgomath.plotter;
+
+import com.yy.allgomath.plotter.dto.SurfaceMesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 메시 이진 형식 (little-endian). 헤더 {@value #HEADER_BYTES} 바이트 뒤에 float32 배열이 4바이트 정렬로 이어져
+ * 브라우저에서 {@code new Float32Array(buffer, 28, rows * cols)} 로 복사 없이 BufferGeometry 에 넣을 수 있다.
+ * <pre>
+ * 0  char[4] "SRFM"
+ * 4  uint16  version (1)
+ * 6  uint16  flags (bit0: normals 포함)
+ * 8  int32   rows (= resolution + 1, x 방향)
+ * 12 int32   cols (= resolution + 1, y 방향)
+ * 16 float32 range (x, y ∈ [-range, range])
+ * 20 float32 zMin
+ * 24 float32 zMax
+ * 28 float32 z[rows·cols], 이어서 flags bit0 이면 float32 normals[rows·cols·3]
+ * </pre>
+ */
+public final class SurfaceMeshCodec {
+
+    public static final int HEADER_BYTES = 28;
+    private static final byte[] MAGIC = {'S', 'R', 'F', 'M'};
+    private static final short VERSION = 1;
+    private static final short FLAG_NORMALS = 1;
+
+    private SurfaceMeshCodec() {
+    }
+
+    public static byte[] encode(SurfaceMesh mesh) {
+        int points = mesh.z().length;
+        int floats = points + (mesh.normals() != null ? mesh.normals().length : 0);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + floats * 4).order(ByteOrder.LITTLE_ENDIAN);
+        buf.put(MAGIC);
+        buf.putShort(VERSION);
+        buf.putShort(mesh.normals() != null ? FLAG_NORMALS : 0);
+        buf.putInt(mesh.resolution() + 1);
+        buf.putInt(mesh.resolution() + 1);
+        buf.putFloat((float) mesh.range());
+        buf.putFloat(mesh.zMin());
+        buf.putFloat(mesh.zMax());
+        buf.asFloatBuffer().put(mesh.z());
+        if (mesh.normals() != null) {
+            buf.position(HEADER_BYTES + points * 4);
+            buf.asFloatBuffer().put(mesh.normals());
+        }
+        return buf.array();
+    }
+
+    /** @throws IllegalArgumentException 형식이 맞지 않을 때 */
+    public static SurfaceMesh decode(byte[] bytes) {
+        if (!isMesh(bytes)) {
+            throw new IllegalArgumentException("메시 형식이 아닙니다.");
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        buf.position(MAGIC.length);
+        short version = buf.getShort();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 메시 버전: " + version);
+        }
+        boolean normals = (buf.getShort() & FLAG_NORMALS) != 0;
+        int rows = buf.getInt();
+        int cols = buf.getInt();
+        double range = buf.getFloat();
+        float zMin = buf.getFloat();
+        float zMax = buf.getFloat();
+        int points = rows * cols;
+        if (bytes.length != HEADER_BYTES + (long) points * 4 * (normals ? 4 : 1)) {
+            throw new IllegalArgumentException("메시 길이가 헤더와 맞지 않습니다.");
+        }
+        float[] z = new float[points];
+        buf.asFloatBuffer().get(z);
+        float[] n = null;
+        if (normals) {
+            buf.position(HEADER_BYTES + points * 4);
+            n = new float[points * 3];
+            buf.asFloatBuffer().get(n);
+        }
+        return new SurfaceMesh(rows - 1, range, zMin, zMax, z, n);
+    }
+
+    public static boolean isMesh(byte[] bytes) {
+        return bytes != null && bytes.length >= HEADER_BYTES
+                && bytes[0] == MAGIC[0] && bytes[1] == MAGIC[1] && bytes[2] == MAGIC[2] && bytes[3] == MAGIC[3];
+    }
+}
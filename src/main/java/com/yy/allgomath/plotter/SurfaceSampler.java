@@ -0,0 +1,98 @@
+package com.yy.allgomath.plotter;
+
+import java.util.stream.IntStream;
+
+/**
+ * 곡면 격자 샘플러. 격자 (n+1)×(n+1), 점 (i, j) 는 x = -range + i·step, y = -range + j·step (step = 2·range/n).
+ * 행(i)을 {@value #BAND} 줄씩 띠로 묶어 공용 ForkJoin 풀에서 병렬로 채우고, 띠마다 구한 min/max 를 마지막에 합친다.
+ * 작은 격자는 순차로 돈다.
+ */
+final class SurfaceSampler {
+
+    static final int BAND = 16;
+    private static final int PARALLEL_MIN_POINTS = 64 * 64;
+
+    private SurfaceSampler() {
+    }
+
+    /** z[i][j] 에 채우고 {zMin, zMax} 를 돌려준다. 비유한 값(NaN, ±Infinity)은 min/max 계산에서 빠진다. */
+    static double[] sampleInto(PlotterFunction fn, double range, int n, double[][] z) {
+        double step = (range * 2) / n;
+        int bands = (n + BAND) / BAND; // n+1 행
+        double[] bandMin = new double[bands];
+        double[] bandMax = new double[bands];
+        bands(n, bands).forEach(b -> {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = b * BAND, end = Math.min(n, i + BAND - 1); i <= end; i++) {
+                double x = -range + i * step;
+                double[] row = z[i];
+                for (int j = 0; j <= n; j++) {
+                    double v = fn.z(x, -range + j * step);
+                    row[j] = v;
+                    if (Double.isFinite(v)) {
+                        if (v < lo) lo = v;
+                        if (v > hi) hi = v;
+                    }
+                }
+            }
+            bandMin[b] = lo;
+            bandMax[b] = hi;
+        });
+        return reduce(bandMin, bandMax);
+    }
+
+    /**
+     * 평탄한 float32 버퍼 z[i·(n+1) + j] 에 채운다. normals 가 null 이 아니면 정점 법선
+     * normalize(-∂z/∂x, -∂z/∂y, 1) 을 normals[3·(i·(n+1)+j) ..] 에 함께 채운다(z 가 위쪽인 좌표계).
+     * float 로 비유한 값(NaN, ±Infinity, float 범위를 넘는 값)은 min/max 계산에서 빠진다.
+     */
+    static double[] sampleInto(PlotterFunction fn, double range, int n, float[] z, float[] normals) {
+        double step = (range * 2) / n;
+        int stride = n + 1;
+        int bands = (n + BAND) / BAND;
+        double[] bandMin = new double[bands];
+        double[] bandMax = new double[bands];
+        bands(n, bands).forEach(b -> {
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = b * BAND, end = Math.min(n, i + BAND - 1); i <= end; i++) {
+                double x = -range + i * step;
+                int off = i * stride;
+                for (int j = 0; j <= n; j++) {
+                    double y = -range + j * step;
+                    double v = fn.z(x, y);
+                    float f = (float) v;
+                    z[off + j] = f;
+                    if (Float.isFinite(f)) {
+                        if (v < lo) lo = v;
+                        if (v > hi) hi = v;
+                    }
+                    if (normals != null) {
+                        double[] g = fn.grad(x, y);
+                        double inv = 1.0 / Math.sqrt(g[0] * g[0] + g[1] * g[1] + 1.0);
+                        int k = 3 * (off + j);
+                        normals[k] = (float) (-g[0] * inv);
+                        normals[k + 1] = (float) (-g[1] * inv);
+                        normals[k + 2] = (float) inv;
+                    }
+                }
+            }
+            bandMin[b] = lo;
+            bandMax[b] = hi;
+        });
+        return reduce(bandMin, bandMax);
+    }
+
+    private static IntStream bands(int n, int bands) {
+        IntStream range = IntStream.range(0, bands);
+        return (long) (n + 1) * (n + 1) >= PARALLEL_MIN_POINTS ? range.parallel() : range;
+    }
+
+    private static double[] reduce(double[] bandMin, double[] bandMax) {
+        double zMin = Double.POSITIVE_INFINITY, zMax = Double.NEGATIVE_INFINITY;
+        for (int b = 0; b < bandMin.length; b++) {
+            if (bandMin[b] < zMin) zMin = bandMin[b];
+            if (bandMax[b] > zMax) zMax = bandMax[b];
+        }
+        return new double[]{zMin, zMax};
+    }
+}
@@ -0,0 +1,9 @@
+package com.yy.allgomath.plotter.dto;
+
+/**
+ * 적응 세분 삼각형 메시. vertices 는 정점마다 (x, y, z) float32 3개, triangles 는 반시계 방향 정점 번호 3개씩.
+ * leaves 는 사분트리 잎 셀 수, samples 는 오차 추정까지 포함한 함수 평가 수.
+ */
+public record AdaptiveMesh(double range, float[] vertices, int[] triangles, float zMin, float zMax,
+                           int leaves, int samples) {
+}
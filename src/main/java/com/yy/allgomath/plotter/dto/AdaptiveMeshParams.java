@@ -0,0 +1,4 @@
+package com.yy.allgomath.plotter.dto;
+
+public record AdaptiveMeshParams(String fn, double range, double tolerance, int maxPoints) {
+}
@@ -0,0 +1,13 @@
+package com.yy.allgomath.plotter.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/** tolerance 는 곡면 z 폭 대비 허용 보간 오차(예: 0.002), maxPoints 는 함수 평가 예산. */
+public record AdaptiveMeshRequest(
+        @NotNull String fn,
+        double range,
+        double tolerance,
+        @Min(512) @Max(200000) int maxPoints) {
+}
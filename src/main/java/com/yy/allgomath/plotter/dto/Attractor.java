@@ -0,0 +1,5 @@
+package com.yy.allgomath.plotter.dto;
+
+/** 끝점 군집 하나. kind 는 헤시안 부호로 본 minimum / maximum / saddle / degenerate, count 는 끌려온 시작점 수. */
+public record Attractor(double x, double y, double z, String kind, int count) {
+}
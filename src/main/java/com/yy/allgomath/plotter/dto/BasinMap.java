@@ -0,0 +1,16 @@
+package com.yy.allgomath.plotter.dto;
+
+import java.util.List;
+
+/**
+ * 끌개 영역 지도. 시작점 (i, j) 는 x = -range + i·step, y = -range + j·step (step = 2·range/(size-1)) 이고
+ * basin[i·size + j] 는 attractors 인덱스이거나 {@link #NOT_CONVERGED} / {@link #STOPPED}, iterations 는 같은 자리의 반복 횟수.
+ * attractors 는 끌려온 시작점이 많은 순서다.
+ */
+public record BasinMap(int size, double range, int[] basin, int[] iterations, List<Attractor> attractors) {
+
+    /** maxIterations 안에 기울기가 허용치 아래로 내려가지 않았다. */
+    public static final int NOT_CONVERGED = -1;
+    /** 비유한 값, 라인서치 실패, 좌표 한계 초과로 도중에 멈췄다. */
+    public static final int STOPPED = -2;
+}
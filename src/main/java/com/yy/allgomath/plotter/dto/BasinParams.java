@@ -0,0 +1,4 @@
+package com.yy.allgomath.plotter.dto;
+
+public record BasinParams(String fn, double range, int size, double learningRate, int maxIterations) {
+}
@@ -0,0 +1,14 @@
+package com.yy.allgomath.plotter.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/** size×size 시작점 격자(곡면 격자와 같은 [-range, range]²). */
+public record BasinRequest(
+        @NotNull String fn,
+        double range,
+        @Min(2) @Max(256) int size,
+        double learningRate,
+        @Min(1) @Max(500) int maxIterations) {
+}
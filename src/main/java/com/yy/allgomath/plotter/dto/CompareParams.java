@@ -0,0 +1,9 @@
+package com.yy.allgomath.plotter.dto;
+
+import com.yy.allgomath.plotter.optim.Optimizer;
+
+import java.util.List;
+
+public record CompareParams(String fn, double startX, double startY, double learningRate, int maxIterations,
+                            List<Optimizer> optimizers, double range) {
+}
@@ -0,0 +1,19 @@
+package com.yy.allgomath.plotter.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/** optimizers 를 비우면 전부 비교한다. range > 0 이면 좌표를 ±range 로 클램프한다. */
+public record CompareRequest(
+        @NotNull String fn,
+        double startX,
+        double startY,
+        double learningRate,
+        @Min(1) @Max(500) int maxIterations,
+        @Size(max = 7) List<String> optimizers,
+        double range) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.plotter.dto;
+
+import java.util.List;
+
+/** 요청한 optimizers 순서의 경로 목록. */
+public record CompareResult(List<OptimizerPath> paths) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.plotter.dto;
+
+import java.util.List;
+
+/** 등고값 하나의 폴리라인들. 각 폴리라인은 [x0, y0, x1, y1, ...] float32, 닫힌 고리는 첫 점을 끝에 한 번 더 둔다. */
+public record ContourLevel(double level, List<float[]> lines) {
+}
@@ -0,0 +1,4 @@
+package com.yy.allgomath.plotter.dto;
+
+public record ContourParams(String fn, double range, int resolution, double[] levels) {
+}
@@ -0,0 +1,16 @@
+package com.yy.allgomath.plotter.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ContourRequest(
+        @NotNull String fn,
+        double range,
+        @Min(8) @Max(512) int resolution,
+        @NotEmpty @Size(max = 64) List<@NotNull Double> levels) {
+}
@@ -0,0 +1,7 @@
+package com.yy.allgomath.plotter.dto;
+
+import java.util.List;
+
+/** 요청 levels 순서. */
+public record ContourResult(double range, int resolution, List<ContourLevel> levels) {
+}
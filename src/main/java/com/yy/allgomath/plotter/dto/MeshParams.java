@@ -0,0 +1,4 @@
+package com.yy.allgomath.plotter.dto;
+
+public record MeshParams(String fn, double range, int resolution, boolean normals) {
+}
@@ -0,0 +1,9 @@
+package com.yy.allgomath.plotter.dto;
+
+/**
+ * 최적화기 하나의 경로. 점 i 는 (x[i], y[i], z[i]) 이고 열 배열로 내보내 점마다 객체를 만들지 않는다.
+ * stop 은 converged(기울기 노름이 허용치 미만), max-iterations, diverged(비유한 값/좌표 한계 초과) 중 하나.
+ */
+public record OptimizerPath(String optimizer, double[] x, double[] y, double[] z,
+                            boolean converged, int iterations, String stop) {
+}
@@ -0,0 +1,12 @@
+package com.yy.allgomath.plotter.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record PlotterMeshRequest(
+        @NotNull String fn,
+        double range,
+        @Min(8) @Max(1024) int resolution,
+        boolean normals) {
+}
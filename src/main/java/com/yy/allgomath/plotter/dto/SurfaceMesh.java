@@ -0,0 +1,8 @@
+package com.yy.allgomath.plotter.dto;
+
+/**
+ * 곡면 메시. z 는 (resolution+1)² 개 float32, 정점 (i, j) 는 z[i·(resolution+1) + j] (i 가 x, j 가 y 방향).
+ * normals 는 요청했을 때만 정점마다 (nx, ny, nz) 3개씩, 아니면 null.
+ */
+public record SurfaceMesh(int resolution, double range, float zMin, float zMax, float[] z, float[] normals) {
+}
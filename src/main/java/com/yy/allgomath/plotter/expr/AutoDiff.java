@@ -0,0 +1,186 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.expr.Expr.Fn;
+
+/**
+ * 2차 전진 모드 자동미분. {@link Tape} 를 따라가며 각 중간값을 (값, ∂x, ∂y, ∂xx, ∂xy, ∂yy) 제트로 전파해
+ * 한 번의 평가로 값·기울기·헤시안을 얻는다. 제트는 깊이별 원시 배열 스택에 두므로 평가 중 할당이 없다.
+ * <p>
+ * 스택을 들고 있어 스레드 안전하지 않다. 경사하강 한 번(요청 하나)마다 {@code fn.autoDiff()} 로 하나씩 만들어 쓴다.
+ */
+public final class AutoDiff {
+
+    /** out 배열 인덱스. */
+    public static final int VALUE = 0, DX = 1, DY = 2, DXX = 3, DXY = 4, DYY = 5;
+
+    private static final Fn[] FNS = Fn.values();
+
+    private final Tape tape;
+    private final double[] v, a, b, aa, ab, bb;
+
+    public AutoDiff(Tape tape) {
+        this.tape = tape;
+        int d = tape.maxDepth;
+        this.v = new double[d];
+        this.a = new double[d];
+        this.b = new double[d];
+        this.aa = new double[d];
+        this.ab = new double[d];
+        this.bb = new double[d];
+    }
+
+    /** out[0..5] = z, ∂z/∂x, ∂z/∂y, ∂²z/∂x², ∂²z/∂x∂y, ∂²z/∂y². */
+    public void evalInto(double x, double y, double[] out) {
+        int[] ops = tape.ops;
+        int[] args = tape.args;
+        int sp = -1;
+        for (int pc = 0; pc < ops.length; pc++) {
+            switch (ops[pc]) {
+                case Tape.CONST -> seed(++sp, tape.consts[args[pc]], 0, 0);
+                case Tape.X -> seed(++sp, x, 1, 0);
+                case Tape.Y -> seed(++sp, y, 0, 1);
+                case Tape.NEG -> {
+                    v[sp] = -v[sp];
+                    a[sp] = -a[sp];
+                    b[sp] = -b[sp];
+                    aa[sp] = -aa[sp];
+                    ab[sp] = -ab[sp];
+                    bb[sp] = -bb[sp];
+                }
+                case Tape.ADD -> {
+                    sp--;
+                    v[sp] += v[sp + 1];
+                    a[sp] += a[sp + 1];
+                    b[sp] += b[sp + 1];
+                    aa[sp] += aa[sp + 1];
+                    ab[sp] += ab[sp + 1];
+                    bb[sp] += bb[sp + 1];
+                }
+                case Tape.SUB -> {
+                    sp--;
+                    v[sp] -= v[sp + 1];
+                    a[sp] -= a[sp + 1];
+                    b[sp] -= b[sp + 1];
+                    aa[sp] -= aa[sp + 1];
+                    ab[sp] -= ab[sp + 1];
+                    bb[sp] -= bb[sp + 1];
+                }
+                case Tape.MUL -> mul(--sp);
+                case Tape.DIV -> {
+                    double w = v[sp];
+                    double r = 1.0 / w;
+                    chain(sp, r, -r * r, 2 * r * r * r);
+                    mul(--sp);
+                }
+                case Tape.POWC -> {
+                    double c = tape.consts[args[pc]];
+                    double u = v[sp];
+                    if (c == 2) {
+                        chain(sp, u * u, 2 * u, 2);
+                    } else if (c == 3) {
+                        chain(sp, u * u * u, 3 * u * u, 6 * u);
+                    } else {
+                        chain(sp, Math.pow(u, c), c * Math.pow(u, c - 1), c * (c - 1) * Math.pow(u, c - 2));
+                    }
+                }
+                case Tape.POW -> {
+                    // u^w = exp(w·ln u)
+                    sp--;
+                    double u = v[sp];
+                    chain(sp, Math.log(u), 1 / u, -1 / (u * u));
+                    mul(sp);
+                    double e = Math.exp(v[sp]);
+                    chain(sp, e, e, e);
+                }
+                case Tape.CALL -> call(sp, FNS[args[pc]]);
+                default -> throw new IllegalStateException("알 수 없는 명령: " + ops[pc]);
+            }
+        }
+        out[VALUE] = v[0];
+        out[DX] = a[0];
+        out[DY] = b[0];
+        out[DXX] = aa[0];
+        out[DXY] = ab[0];
+        out[DYY] = bb[0];
+    }
+
+    private void seed(int i, double value, double dx, double dy) {
+        v[i] = value;
+        a[i] = dx;
+        b[i] = dy;
+        aa[i] = 0;
+        ab[i] = 0;
+        bb[i] = 0;
+    }
+
+    /** i ← i · (i+1) (곱의 미분법, 2차까지). */
+    private void mul(int i) {
+        int j = i + 1;
+        double u = v[i], ua = a[i], ub = b[i];
+        double w = v[j], wa = a[j], wb = b[j];
+        aa[i] = aa[i] * w + 2 * ua * wa + u * aa[j];
+        ab[i] = ab[i] * w + ua * wb + ub * wa + u * ab[j];
+        bb[i] = bb[i] * w + 2 * ub * wb + u * bb[j];
+        a[i] = ua * w + u * wa;
+        b[i] = ub * w + u * wb;
+        v[i] = u * w;
+    }
+
+    /** i ← g(i), g0 = g(u), g1 = g'(u), g2 = g''(u) (연쇄법칙, 2차까지). */
+    private void chain(int i, double g0, double g1, double g2) {
+        double ua = a[i], ub = b[i];
+        aa[i] = g2 * ua * ua + g1 * aa[i];
+        ab[i] = g2 * ua * ub + g1 * ab[i];
+        bb[i] = g2 * ub * ub + g1 * bb[i];
+        a[i] = g1 * ua;
+        b[i] = g1 * ub;
+        v[i] = g0;
+    }
+
+    private void call(int i, Fn fn) {
+        double u = v[i];
+        switch (fn) {
+            case SIN -> {
+                double s = Math.sin(u), c = Math.cos(u);
+                chain(i, s, c, -s);
+            }
+            case COS -> {
+                double s = Math.sin(u), c = Math.cos(u);
+                chain(i, c, -s, -c);
+            }
+            case TAN -> {
+                double t = Math.tan(u), d = 1 + t * t;
+                chain(i, t, d, 2 * t * d);
+            }
+            case ASIN -> {
+                double q = 1 - u * u, r = 1 / Math.sqrt(q);
+                chain(i, Math.asin(u), r, u * r / q);
+            }
+            case ACOS -> {
+                double q = 1 - u * u, r = 1 / Math.sqrt(q);
+                chain(i, Math.acos(u), -r, -u * r / q);
+            }
+            case ATAN -> {
+                double d = 1 / (1 + u * u);
+                chain(i, Math.atan(u), d, -2 * u * d * d);
+            }
+            case SINH -> chain(i, Math.sinh(u), Math.cosh(u), Math.sinh(u));
+            case COSH -> chain(i, Math.cosh(u), Math.sinh(u), Math.cosh(u));
+            case TANH -> {
+                double t = Math.tanh(u), d = 1 - t * t;
+                chain(i, t, d, -2 * t * d);
+            }
+            case EXP -> {
+                double e = Math.exp(u);
+                chain(i, e, e, e);
+            }
+            case LOG -> chain(i, Math.log(u), 1 / u, -1 / (u * u));
+            case SQRT -> {
+                double s = Math.sqrt(u);
+                chain(i, s, 0.5 / s, -0.25 / (s * u));
+            }
+            case ABS -> chain(i, Math.abs(u), Math.signum(u), 0);
+            case SIGN -> chain(i, Math.signum(u), 0, 0);
+        }
+    }
+}
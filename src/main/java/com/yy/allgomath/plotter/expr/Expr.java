@@ -0,0 +1,51 @@
+package com.yy.allgomath.plotter.expr;
+
+/**
+ * z = f(x, y) 수식 AST. 노드는 불변이며 {@link Exprs} 의 생성 함수가 상수 접기/항등원 제거를 해 준다.
+ */
+public sealed interface Expr {
+
+    record Num(double value) implements Expr {
+    }
+
+    /** name 은 'x' 또는 'y'. */
+    record Var(char name) implements Expr {
+    }
+
+    record Neg(Expr arg) implements Expr {
+    }
+
+    /** op 는 + - * / ^ 중 하나. */
+    record Bin(char op, Expr left, Expr right) implements Expr {
+    }
+
+    record Call(Fn fn, Expr arg) implements Expr {
+    }
+
+    /** 단항 함수. 모두 java.lang.Math 의 (D)D 정적 메서드로 컴파일된다. */
+    enum Fn {
+        SIN("sin"), COS("cos"), TAN("tan"),
+        ASIN("asin"), ACOS("acos"), ATAN("atan"),
+        SINH("sinh"), COSH("cosh"), TANH("tanh"),
+        EXP("exp"), LOG("log"), SQRT("sqrt"), ABS("abs"), SIGN("signum");
+
+        final String method;
+
+        Fn(String method) {
+            this.method = method;
+        }
+
+        /** 수식에서 쓰는 이름. signum 은 sign 으로도 받는다. */
+        static Fn byName(String name) {
+            for (Fn f : values()) {
+                if (f.name().equalsIgnoreCase(name) || f.method.equals(name)) {
+                    return f;
+                }
+            }
+            if (name.equals("ln")) {
+                return LOG;
+            }
+            return null;
+        }
+    }
+}
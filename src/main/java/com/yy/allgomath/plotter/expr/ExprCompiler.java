@@ -0,0 +1,115 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.common.exception.ComputationException;
+import com.yy.allgomath.plotter.expr.Expr.Bin;
+import com.yy.allgomath.plotter.expr.Expr.Call;
+import com.yy.allgomath.plotter.expr.Expr.Neg;
+import com.yy.allgomath.plotter.expr.Expr.Num;
+import com.yy.allgomath.plotter.expr.Expr.Var;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * 수식 AST 를 {@link Kernel} 구현 바이트코드로 컴파일해 히든 클래스로 정의한다.
+ * 메서드 본문은 분기 없는 double 스택 연산과 java.lang.Math 정적 호출뿐이라 JIT 가 호출 지점에 그대로 인라인한다.
+ * 히든 클래스는 다른 곳에서 이름으로 참조되지 않으므로 캐시에서 밀려나면 클래스째 수거된다.
+ */
+final class ExprCompiler {
+
+    private static final String KERNEL = Type.getInternalName(Kernel.class);
+    // 히든 클래스는 lookup 클래스와 같은 패키지에 있어야 한다. 실제 이름에는 JVM 이 접미사를 붙인다.
+    private static final String CLASS_NAME = ExprCompiler.class.getPackageName().replace('.', '/') + "/CompiledKernel";
+    private static final String DD_D = "(DD)D";
+
+    private ExprCompiler() {
+    }
+
+    static Kernel compile(Expr z, Expr dx, Expr dy) {
+        byte[] bytes = generate(z, dx, dy);
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (Kernel) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new ComputationException("수식 컴파일에 실패했습니다: " + Exprs.print(z), e);
+        }
+    }
+
+    static byte[] generate(Expr z, Expr dx, Expr dy) {
+        // 분기가 없어 스택 맵 프레임은 필요 없다(COMPUTE_FRAMES 는 클래스 로딩을 유발하므로 쓰지 않는다)
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER,
+                CLASS_NAME, null, "java/lang/Object", new String[]{KERNEL});
+
+        MethodVisitor ctor = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(Opcodes.ALOAD, 0);
+        ctor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        ctor.visitInsn(Opcodes.RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+
+        method(cw, "z", z);
+        method(cw, "dx", dx);
+        method(cw, "dy", dy);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private static void method(ClassWriter cw, String name, Expr body) {
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL, name, DD_D, null, null);
+        mv.visitCode();
+        emit(mv, body);
+        mv.visitInsn(Opcodes.DRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void emit(MethodVisitor mv, Expr e) {
+        if (e instanceof Num n) {
+            double v = n.value();
+            if (Double.doubleToRawLongBits(v) == 0L) {
+                mv.visitInsn(Opcodes.DCONST_0);
+            } else if (v == 1.0) {
+                mv.visitInsn(Opcodes.DCONST_1);
+            } else {
+                mv.visitLdcInsn(v);
+            }
+        } else if (e instanceof Var x) {
+            // 슬롯 0 = this, 1-2 = x, 3-4 = y
+            mv.visitVarInsn(Opcodes.DLOAD, x.name() == 'x' ? 1 : 3);
+        } else if (e instanceof Neg n) {
+            emit(mv, n.arg());
+            mv.visitInsn(Opcodes.DNEG);
+        } else if (e instanceof Bin b) {
+            if (b.op() == '^' && b.right() instanceof Num p && (p.value() == 2 || p.value() == 3)) {
+                // 작은 정수 거듭제곱은 Math.pow 대신 곱셈으로
+                emit(mv, b.left());
+                mv.visitInsn(Opcodes.DUP2);
+                if (p.value() == 3) {
+                    mv.visitInsn(Opcodes.DUP2);
+                    mv.visitInsn(Opcodes.DMUL);
+                }
+                mv.visitInsn(Opcodes.DMUL);
+                return;
+            }
+            emit(mv, b.left());
+            emit(mv, b.right());
+            switch (b.op()) {
+                case '+' -> mv.visitInsn(Opcodes.DADD);
+                case '-' -> mv.visitInsn(Opcodes.DSUB);
+                case '*' -> mv.visitInsn(Opcodes.DMUL);
+                case '/' -> mv.visitInsn(Opcodes.DDIV);
+                case '^' -> mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "pow", DD_D, false);
+                default -> throw new IllegalStateException("알 수 없는 연산자: " + b.op());
+            }
+        } else if (e instanceof Call c) {
+            emit(mv, c.arg());
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", c.fn().method, "(D)D", false);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.plotter.expr.Expr.Fn;
+import com.yy.allgomath.plotter.expr.Expr.Var;
+
+/**
+ * z = f(x, y) 재귀 하강 파서. 앞의 "z =" 는 있어도 없어도 된다.
+ * <pre>
+ * expr    := term (('+' | '-') term)*
+ * term    := unary (('*' | '/') unary)*
+ * unary   := ('-' | '+') unary | power
+ * power   := primary ('^' unary)?          // 오른쪽 결합, -x^2 = -(x^2)
+ * primary := number | 'x' | 'y' | 'pi' | 'e' | fn '(' expr ')' | '(' expr ')'
+ * </pre>
+ * 길이와 중첩 깊이를 제한해 큰 입력으로 스택/컴파일 비용을 키우지 못하게 한다.
+ */
+public final class ExprParser {
+
+    static final int MAX_LENGTH = 256;
+    static final int MAX_DEPTH = 64;
+
+    private final String src;
+    private int pos;
+    private int depth;
+
+    private ExprParser(String src) {
+        this.src = src;
+    }
+
+    public static Expr parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new InvalidParameterException("수식이 비어 있습니다.");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new InvalidParameterException("수식은 " + MAX_LENGTH + "자 이하여야 합니다.");
+        }
+        ExprParser p = new ExprParser(source);
+        p.skipAssignment();
+        Expr e = p.expr();
+        p.skipSpaces();
+        if (p.pos < p.src.length()) {
+            throw p.error("예상하지 못한 문자 '" + p.src.charAt(p.pos) + "'");
+        }
+        return e;
+    }
+
+    private void skipAssignment() {
+        skipSpaces();
+        int save = pos;
+        if (pos < src.length() && (src.charAt(pos) == 'z' || src.charAt(pos) == 'Z')) {
+            pos++;
+            skipSpaces();
+            if (pos < src.length() && src.charAt(pos) == '=') {
+                pos++;
+                return;
+            }
+        }
+        pos = save;
+    }
+
+    private Expr expr() {
+        enter();
+        Expr e = term();
+        while (true) {
+            if (eat('+')) {
+                e = Exprs.add(e, term());
+            } else if (eat('-')) {
+                e = Exprs.sub(e, term());
+            } else {
+                leave();
+                return e;
+            }
+        }
+    }
+
+    private Expr term() {
+        Expr e = unary();
+        while (true) {
+            if (eat('*')) {
+                e = Exprs.mul(e, unary());
+            } else if (eat('/')) {
+                e = Exprs.div(e, unary());
+            } else {
+                return e;
+            }
+        }
+    }
+
+    private Expr unary() {
+        enter();
+        Expr e;
+        if (eat('-')) {
+            e = Exprs.neg(unary());
+        } else if (eat('+')) {
+            e = unary();
+        } else {
+            e = power();
+        }
+        leave();
+        return e;
+    }
+
+    private Expr power() {
+        Expr base = primary();
+        if (eat('^')) {
+            return Exprs.pow(base, unary());
+        }
+        return base;
+    }
+
+    private Expr primary() {
+        skipSpaces();
+        if (pos >= src.length()) {
+            throw error("수식이 끝났습니다");
+        }
+        char c = src.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Expr e = expr();
+            expect(')');
+            return e;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return Exprs.num(number());
+        }
+        if (Character.isLetter(c)) {
+            int start = pos;
+            String name = identifier();
+            switch (name) {
+                case "x", "X" -> {
+                    return new Var('x');
+                }
+                case "y", "Y" -> {
+                    return new Var('y');
+                }
+                case "pi", "PI" -> {
+                    return Exprs.num(Math.PI);
+                }
+                case "e" -> {
+                    return Exprs.num(Math.E);
+                }
+                default -> {
+                    Fn fn = Fn.byName(name);
+                    if (fn == null) {
+                        pos = start;
+                        throw error("알 수 없는 이름 '" + name + "'");
+                    }
+                    expect('(');
+                    Expr arg = expr();
+                    expect(')');
+                    return Exprs.call(fn, arg);
+                }
+            }
+        }
+        throw error("예상하지 못한 문자 '" + c + "'");
+    }
+
+    private double number() {
+        int start = pos;
+        while (pos < src.length() && (Character.isDigit(src.charAt(pos)) || src.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < src.length() && (src.charAt(pos) == 'e' || src.charAt(pos) == 'E')) {
+            // 지수 표기는 뒤에 숫자가 올 때만 (2e 는 2 다음 상수 e 가 아니라 오류로 둔다)
+            int save = pos++;
+            if (pos < src.length() && (src.charAt(pos) == '+' || src.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (pos < src.length() && Character.isDigit(src.charAt(pos))) {
+                while (pos < src.length() && Character.isDigit(src.charAt(pos))) {
+                    pos++;
+                }
+            } else {
+                pos = save;
+            }
+        }
+        try {
+            return Double.parseDouble(src.substring(start, pos));
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("잘못된 숫자");
+        }
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < src.length() && Character.isLetterOrDigit(src.charAt(pos))) {
+            pos++;
+        }
+        return src.substring(start, pos);
+    }
+
+    private boolean eat(char c) {
+        skipSpaces();
+        if (pos < src.length() && src.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        // ** 도 거듭제곱으로 받는다
+        if (c == '^' && src.startsWith("**", pos)) {
+            pos += 2;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!eat(c)) {
+            throw error("'" + c + "' 가 필요합니다");
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < src.length() && Character.isWhitespace(src.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw error("수식 중첩이 너무 깊습니다");
+        }
+    }
+
+    private void leave() {
+        depth--;
+    }
+
+    private InvalidParameterException error(String message) {
+        return new InvalidParameterException("수식 오류: " + message + " (위치 " + (pos + 1) + "): " + src);
+    }
+}
@@ -0,0 +1,73 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.PlotterFunction;
+
+/**
+ * 사용자 수식 z = f(x, y). 값과 기호 미분 기울기는 컴파일된 {@link Kernel} 이 계산한다.
+ * 대표 임계점은 알 수 없으므로 원점을 돌려준다.
+ */
+public final class ExpressionFunction implements PlotterFunction {
+
+    private final String expr;
+    private final String dxExpr;
+    private final String dyExpr;
+    private final Kernel kernel;
+    private final Tape tape;
+
+    ExpressionFunction(String expr, String dxExpr, String dyExpr, Kernel kernel, Tape tape) {
+        this.expr = expr;
+        this.dxExpr = dxExpr;
+        this.dyExpr = dyExpr;
+        this.kernel = kernel;
+        this.tape = tape;
+    }
+
+    @Override
+    public double z(double x, double y) {
+        return kernel.z(x, y);
+    }
+
+    @Override
+    public double[] grad(double x, double y) {
+        return new double[]{kernel.dx(x, y), kernel.dy(x, y)};
+    }
+
+    /** 컴파일된 커널의 z/dx/dy 를 그대로 부른다(배열 할당 없음). */
+    @Override
+    public void valueAndGradInto(double x, double y, double[] out) {
+        out[AutoDiff.VALUE] = kernel.z(x, y);
+        out[AutoDiff.DX] = kernel.dx(x, y);
+        out[AutoDiff.DY] = kernel.dy(x, y);
+    }
+
+    @Override
+    public Tape tape() {
+        return tape;
+    }
+
+    @Override
+    public double[] critical() {
+        return new double[]{0, 0};
+    }
+
+    @Override
+    public String label() {
+        return "z = " + expr;
+    }
+
+    /** 정규 수식 문자열. */
+    @Override
+    public String expr() {
+        return expr;
+    }
+
+    /** ∂z/∂x 정규 문자열. */
+    public String dxExpr() {
+        return dxExpr;
+    }
+
+    /** ∂z/∂y 정규 문자열. */
+    public String dyExpr() {
+        return dyExpr;
+    }
+}
@@ -0,0 +1,52 @@
+package com.yy.allgomath.plotter.expr;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 컴파일된 사용자 수식 캐시 (프로세스 전역). 키는 정규 수식 문자열이라 공백/괄호만 다른 입력은 같은 항목을 쓴다.
+ * 최근 사용 순으로 {@value #MAX_FUNCTIONS}개까지 보관하고, 밀려난 히든 클래스는 GC 가 수거한다.
+ */
+public final class ExpressionFunctions {
+
+    static final int MAX_FUNCTIONS = 256;
+
+    private static final Map<String, ExpressionFunction> CACHE =
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, ExpressionFunction> eldest) {
+                    return size() > MAX_FUNCTIONS;
+                }
+            };
+
+    private ExpressionFunctions() {
+    }
+
+    /** @throws com.yy.allgomath.common.exception.InvalidParameterException 수식 문법 오류 */
+    public static ExpressionFunction compile(String source) {
+        Expr z = ExprParser.parse(source);
+        String key = Exprs.print(z);
+        ExpressionFunction fn;
+        synchronized (CACHE) {
+            fn = CACHE.get(key);
+        }
+        if (fn != null) {
+            return fn;
+        }
+        // 바이트코드 생성/클래스 정의는 잠금 밖에서. 동시에 같은 수식이 오면 먼저 넣은 쪽을 쓴다.
+        Expr dx = Exprs.derivative(z, 'x');
+        Expr dy = Exprs.derivative(z, 'y');
+        ExpressionFunction created = new ExpressionFunction(key, Exprs.print(dx), Exprs.print(dy),
+                ExprCompiler.compile(z, dx, dy), Tape.compile(z));
+        synchronized (CACHE) {
+            ExpressionFunction raced = CACHE.putIfAbsent(key, created);
+            return raced != null ? raced : created;
+        }
+    }
+
+    static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.expr.Expr.Bin;
+import com.yy.allgomath.plotter.expr.Expr.Call;
+import com.yy.allgomath.plotter.expr.Expr.Fn;
+import com.yy.allgomath.plotter.expr.Expr.Neg;
+import com.yy.allgomath.plotter.expr.Expr.Num;
+import com.yy.allgomath.plotter.expr.Expr.Var;
+
+/**
+ * AST 생성(간단한 대수 정리 포함), 기호 미분, 정규 문자열 출력.
+ * 정규 문자열은 공백/불필요한 괄호 차이를 지운 형태로, 컴파일 캐시 키로 쓴다.
+ */
+public final class Exprs {
+
+    static final Num ZERO = new Num(0);
+    static final Num ONE = new Num(1);
+
+    private Exprs() {
+    }
+
+    static Expr num(double v) {
+        return v == 0 ? ZERO : v == 1 ? ONE : new Num(v);
+    }
+
+    static Expr neg(Expr a) {
+        if (a instanceof Num n) return num(-n.value());
+        if (a instanceof Neg n) return n.arg();
+        return new Neg(a);
+    }
+
+    static Expr add(Expr a, Expr b) {
+        if (a instanceof Num x && b instanceof Num y) return num(x.value() + y.value());
+        if (isZero(a)) return b;
+        if (isZero(b)) return a;
+        if (b instanceof Neg n) return sub(a, n.arg());
+        return new Bin('+', a, b);
+    }
+
+    static Expr sub(Expr a, Expr b) {
+        if (a instanceof Num x && b instanceof Num y) return num(x.value() - y.value());
+        if (isZero(b)) return a;
+        if (isZero(a)) return neg(b);
+        if (b instanceof Neg n) return add(a, n.arg());
+        return new Bin('-', a, b);
+    }
+
+    static Expr mul(Expr a, Expr b) {
+        if (a instanceof Num x && b instanceof Num y) return num(x.value() * y.value());
+        if (isZero(a) || isZero(b)) return ZERO;
+        if (isOne(a)) return b;
+        if (isOne(b)) return a;
+        if (a instanceof Neg n) return neg(mul(n.arg(), b));
+        if (b instanceof Neg n) return neg(mul(a, n.arg()));
+        // 상수는 왼쪽으로 모은다: x*2 → 2*x, 2*(3*x) → 6*x
+        if (b instanceof Num && !(a instanceof Num)) return mul(b, a);
+        if (a instanceof Num x && b instanceof Bin bb && bb.op() == '*' && bb.left() instanceof Num y) {
+            return mul(num(x.value() * y.value()), bb.right());
+        }
+        return new Bin('*', a, b);
+    }
+
+    static Expr div(Expr a, Expr b) {
+        if (a instanceof Num x && b instanceof Num y && y.value() != 0) return num(x.value() / y.value());
+        if (isZero(a)) return ZERO;
+        if (isOne(b)) return a;
+        return new Bin('/', a, b);
+    }
+
+    static Expr pow(Expr a, Expr b) {
+        if (a instanceof Num x && b instanceof Num y) return num(Math.pow(x.value(), y.value()));
+        if (isZero(b)) return ONE;
+        if (isOne(b)) return a;
+        return new Bin('^', a, b);
+    }
+
+    static Expr call(Fn fn, Expr a) {
+        if (a instanceof Num n) {
+            return num(Functions.apply(fn, n.value()));
+        }
+        return new Call(fn, a);
+    }
+
+    /** ∂e/∂v (v = 'x' 또는 'y'). */
+    public static Expr derivative(Expr e, char v) {
+        if (e instanceof Var x) return x.name() == v ? ONE : ZERO;
+        if (e instanceof Neg n) return neg(derivative(n.arg(), v));
+        if (e instanceof Bin b) return binDerivative(b, v);
+        if (e instanceof Call c) return callDerivative(c, v);
+        return ZERO;
+    }
+
+    private static Expr binDerivative(Bin b, char v) {
+        Expr f = b.left();
+        Expr g = b.right();
+        Expr df = derivative(f, v);
+        Expr dg = derivative(g, v);
+        return switch (b.op()) {
+            case '+' -> add(df, dg);
+            case '-' -> sub(df, dg);
+            case '*' -> add(mul(df, g), mul(f, dg));
+            case '/' -> div(sub(mul(df, g), mul(f, dg)), pow(g, num(2)));
+            case '^' -> {
+                if (!dependsOn(g)) {
+                    // (f^c)' = c·f^(c-1)·f'
+                    yield mul(mul(g, pow(f, sub(g, ONE))), df);
+                }
+                // (f^g)' = f^g · (g'·ln f + g·f'/f)
+                yield mul(b, add(mul(dg, call(Fn.LOG, f)), div(mul(g, df), f)));
+            }
+            default -> throw new IllegalStateException("알 수 없는 연산자: " + b.op());
+        };
+    }
+
+    private static Expr callDerivative(Call c, char v) {
+        Expr a = c.arg();
+        Expr da = derivative(a, v);
+        if (isZero(da)) {
+            return ZERO;
+        }
+        Expr outer = switch (c.fn()) {
+            case SIN -> call(Fn.COS, a);
+            case COS -> neg(call(Fn.SIN, a));
+            case TAN -> div(ONE, pow(call(Fn.COS, a), num(2)));
+            case ASIN -> div(ONE, call(Fn.SQRT, sub(ONE, pow(a, num(2)))));
+            case ACOS -> neg(div(ONE, call(Fn.SQRT, sub(ONE, pow(a, num(2))))));
+            case ATAN -> div(ONE, add(ONE, pow(a, num(2))));
+            case SINH -> call(Fn.COSH, a);
+            case COSH -> call(Fn.SINH, a);
+            case TANH -> sub(ONE, pow(c, num(2)));
+            case EXP -> c;
+            case LOG -> div(ONE, a);
+            case SQRT -> div(num(0.5), c);
+            case ABS -> call(Fn.SIGN, a);
+            case SIGN -> ZERO; // 0 이 아닌 곳에서
+        };
+        return mul(outer, da);
+    }
+
+    static boolean dependsOn(Expr e) {
+        if (e instanceof Var) return true;
+        if (e instanceof Neg n) return dependsOn(n.arg());
+        if (e instanceof Bin b) return dependsOn(b.left()) || dependsOn(b.right());
+        if (e instanceof Call c) return dependsOn(c.arg());
+        return false;
+    }
+
+    private static boolean isZero(Expr e) {
+        return e instanceof Num n && n.value() == 0;
+    }
+
+    private static boolean isOne(Expr e) {
+        return e instanceof Num n && n.value() == 1;
+    }
+
+    /** 정규 문자열. 필요한 괄호만 넣고 공백은 넣지 않는다. */
+    public static String print(Expr e) {
+        StringBuilder sb = new StringBuilder();
+        print(e, sb, 0);
+        return sb.toString();
+    }
+
+    // 우선순위: + - (1) < * / (2) < 단항 - (3) < ^ (4) < 원자 (5)
+    private static void print(Expr e, StringBuilder sb, int outer) {
+        if (e instanceof Num n) {
+            double v = n.value();
+            boolean negative = v < 0 || (v == 0 && 1 / v < 0);
+            if (negative && outer > 1) sb.append('(');
+            if (v == Math.rint(v) && Math.abs(v) < 1e15) {
+                sb.append((long) v);
+            } else {
+                sb.append(v);
+            }
+            if (negative && outer > 1) sb.append(')');
+        } else if (e instanceof Var x) {
+            sb.append(x.name());
+        } else if (e instanceof Neg n) {
+            if (outer > 3) sb.append('(');
+            sb.append('-');
+            print(n.arg(), sb, 3);
+            if (outer > 3) sb.append(')');
+        } else if (e instanceof Bin b) {
+            int p = switch (b.op()) {
+                case '+', '-' -> 1;
+                case '*', '/' -> 2;
+                default -> 4;
+            };
+            if (p < outer) sb.append('(');
+            // 왼쪽 결합(+ - * /)은 오른쪽 피연산자에, 오른쪽 결합(^)은 왼쪽 피연산자에 괄호가 더 필요하다
+            print(b.left(), sb, p == 4 ? 5 : p);
+            sb.append(b.op());
+            print(b.right(), sb, p == 4 ? 3 : p + 1);
+            if (p < outer) sb.append(')');
+        } else if (e instanceof Call c) {
+            sb.append(c.fn().name().toLowerCase()).append('(');
+            print(c.arg(), sb, 0);
+            sb.append(')');
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.expr.Expr.Fn;
+
+/** 상수 접기용 함수 평가. 컴파일된 코드가 부르는 java.lang.Math 메서드와 같다. */
+final class Functions {
+
+    private Functions() {
+    }
+
+    static double apply(Fn fn, double v) {
+        return switch (fn) {
+            case SIN -> Math.sin(v);
+            case COS -> Math.cos(v);
+            case TAN -> Math.tan(v);
+            case ASIN -> Math.asin(v);
+            case ACOS -> Math.acos(v);
+            case ATAN -> Math.atan(v);
+            case SINH -> Math.sinh(v);
+            case COSH -> Math.cosh(v);
+            case TANH -> Math.tanh(v);
+            case EXP -> Math.exp(v);
+            case LOG -> Math.log(v);
+            case SQRT -> Math.sqrt(v);
+            case ABS -> Math.abs(v);
+            case SIGN -> Math.signum(v);
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.yy.allgomath.plotter.expr;
+
+/** 컴파일된 수식. 구현은 {@link ExprCompiler} 가 히든 클래스로 만든다. */
+public interface Kernel {
+
+    double z(double x, double y);
+
+    double dx(double x, double y);
+
+    double dy(double x, double y);
+}
@@ -0,0 +1,109 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.expr.Expr.Bin;
+import com.yy.allgomath.plotter.expr.Expr.Call;
+import com.yy.allgomath.plotter.expr.Expr.Neg;
+import com.yy.allgomath.plotter.expr.Expr.Num;
+import com.yy.allgomath.plotter.expr.Expr.Var;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수식 AST 를 후위(postfix) 명령열로 펼친 것. 불변이라 함수마다 한 번 만들어 공유하고,
+ * 평가는 {@link AutoDiff} 가 자기 스택으로 한다.
+ */
+public final class Tape {
+
+    static final int CONST = 0;
+    static final int X = 1;
+    static final int Y = 2;
+    static final int NEG = 3;
+    static final int ADD = 4;
+    static final int SUB = 5;
+    static final int MUL = 6;
+    static final int DIV = 7;
+    /** 상수 지수 거듭제곱. arg = 지수 상수 인덱스. */
+    static final int POWC = 8;
+    static final int POW = 9;
+    /** arg = {@link Expr.Fn} ordinal. */
+    static final int CALL = 10;
+
+    final int[] ops;
+    final int[] args;
+    final double[] consts;
+    final int maxDepth;
+
+    private Tape(int[] ops, int[] args, double[] consts, int maxDepth) {
+        this.ops = ops;
+        this.args = args;
+        this.consts = consts;
+        this.maxDepth = maxDepth;
+    }
+
+    public static Tape compile(Expr e) {
+        Builder b = new Builder();
+        b.emit(e);
+        int[] ops = new int[b.ops.size()];
+        int[] args = new int[ops.length];
+        for (int i = 0; i < ops.length; i++) {
+            ops[i] = b.ops.get(i);
+            args[i] = b.args.get(i);
+        }
+        double[] consts = new double[b.consts.size()];
+        for (int i = 0; i < consts.length; i++) {
+            consts[i] = b.consts.get(i);
+        }
+        return new Tape(ops, args, consts, Math.max(1, b.max));
+    }
+
+    private static final class Builder {
+        final List<Integer> ops = new ArrayList<>();
+        final List<Integer> args = new ArrayList<>();
+        final List<Double> consts = new ArrayList<>();
+        int depth;
+        int max;
+
+        void emit(Expr e) {
+            if (e instanceof Num n) {
+                push(CONST, constant(n.value()), 1);
+            } else if (e instanceof Var v) {
+                push(v.name() == 'x' ? X : Y, 0, 1);
+            } else if (e instanceof Neg n) {
+                emit(n.arg());
+                push(NEG, 0, 0);
+            } else if (e instanceof Bin b) {
+                if (b.op() == '^' && b.right() instanceof Num c) {
+                    emit(b.left());
+                    push(POWC, constant(c.value()), 0);
+                    return;
+                }
+                emit(b.left());
+                emit(b.right());
+                int op = switch (b.op()) {
+                    case '+' -> ADD;
+                    case '-' -> SUB;
+                    case '*' -> MUL;
+                    case '/' -> DIV;
+                    default -> POW;
+                };
+                push(op, 0, -1);
+            } else if (e instanceof Call c) {
+                emit(c.arg());
+                push(CALL, c.fn().ordinal(), 0);
+            }
+        }
+
+        private int constant(double v) {
+            consts.add(v);
+            return consts.size() - 1;
+        }
+
+        private void push(int op, int arg, int stackDelta) {
+            ops.add(op);
+            args.add(arg);
+            depth += stackDelta;
+            max = Math.max(max, depth);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.yy.allgomath.plotter.optim;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+
+/** 비교 모드에서 고를 수 있는 최적화기. 갱신식은 {@link OptimizerRunner}. */
+public enum Optimizer {
+    GD,
+    MOMENTUM,
+    NESTEROV,
+    ADAM,
+    RMSPROP,
+    NEWTON,
+    BFGS;
+
+    public static Optimizer from(String name) {
+        if (name != null) {
+            for (Optimizer o : values()) {
+                if (o.name().equalsIgnoreCase(name)) return o;
+            }
+        }
+        throw new InvalidParameterException("알 수 없는 optimizer: " + name
+                + " (gd, momentum, nesterov, adam, rmsprop, newton, bfgs)");
+    }
+}
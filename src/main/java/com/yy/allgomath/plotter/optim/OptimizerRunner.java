@@ -0,0 +1,181 @@
+package com.yy.allgomath.plotter.optim;
+
+import com.yy.allgomath.plotter.PlotterFunction;
+import com.yy.allgomath.plotter.dto.OptimizerPath;
+import com.yy.allgomath.plotter.expr.AutoDiff;
+
+/**
+ * 최적화기 하나를 시작점에서 돌려 경로를 만든다. 갱신식은 교과서 형태 그대로 두고(클리핑 없음),
+ * 발산도 비교 대상이므로 값이 비유한이 되거나 좌표가 {@value #COORD_ABS_MAX} 를 넘으면 diverged 로 멈춘다.
+ * <p>
+ * 헤시안은 뉴턴만 쓰므로 2차 제트({@link AutoDiff})는 뉴턴에서만 돌리고, 나머지는 1차 평가
+ * ({@link PlotterFunction#valueAndGradInto})로 값·기울기를 얻는다.
+ * <p>
+ * 인스턴스 하나가 {@link AutoDiff} 와 {@link PathBuffer} 를 들고 있어 스레드 안전하지 않다. 최적화기마다 하나씩 만든다.
+ */
+public final class OptimizerRunner {
+
+    public static final double GRAD_TOL = 1e-4;
+    static final double COORD_ABS_MAX = 1e3;
+
+    private static final double BETA = 0.9;          // momentum / Nesterov
+    private static final double BETA1 = 0.9, BETA2 = 0.999, EPS = 1e-8; // Adam
+    private static final double RHO = 0.9;           // RMSProp
+    private static final double DET_MIN = 1e-12;     // Newton: 이보다 작으면 특이 헤시안으로 보고 기울기 스텝
+    private static final int ARMIJO_MAX_TRIES = 30;  // BFGS 백트래킹
+    private static final double ARMIJO_C = 1e-4;
+
+    private final Optimizer optimizer;
+    private final PlotterFunction fn;
+    private final AutoDiff ad;
+    private final double[] d = new double[6];
+    private final double lr;
+    private final int maxIter;
+    private final double bound;
+    private final PathBuffer path;
+
+    /** range > 0 이면 좌표를 ±range 로 클램프한다. */
+    public OptimizerRunner(Optimizer optimizer, PlotterFunction fn, double lr, int maxIter, double range) {
+        this.optimizer = optimizer;
+        this.fn = fn;
+        this.ad = optimizer == Optimizer.NEWTON ? fn.autoDiff() : null;
+        this.lr = lr;
+        this.maxIter = maxIter;
+        this.bound = range > 0 ? range : Double.POSITIVE_INFINITY;
+        this.path = new PathBuffer(maxIter + 1);
+    }
+
+    public OptimizerPath run(double startX, double startY) {
+        double x = clamp(startX), y = clamp(startY);
+        // 최적화기 상태: (vx, vy) 는 속도/1차 모멘트, (sx, sy) 는 2차 모멘트, h 는 BFGS 역헤시안 근사
+        double vx = 0, vy = 0, sx = 0, sy = 0;
+        double h11 = 1, h12 = 0, h22 = 1;
+        String stop = "max-iterations";
+        boolean converged = false;
+        int last = 0;
+
+        for (int i = 0; i <= maxIter; i++) {
+            eval(x, y);
+            double z = d[AutoDiff.VALUE], gx = d[AutoDiff.DX], gy = d[AutoDiff.DY];
+            if (!Double.isFinite(z) || !Double.isFinite(gx) || !Double.isFinite(gy)) {
+                stop = "diverged";
+                break;
+            }
+            path.add(x, y, z);
+            last = i;
+            if (Math.hypot(gx, gy) < GRAD_TOL) {
+                converged = true;
+                stop = "converged";
+                break;
+            }
+            if (i == maxIter) break;
+
+            double nx, ny;
+            switch (optimizer) {
+                case GD -> {
+                    nx = x - lr * gx;
+                    ny = y - lr * gy;
+                }
+                case MOMENTUM -> {
+                    vx = BETA * vx + gx;
+                    vy = BETA * vy + gy;
+                    nx = x - lr * vx;
+                    ny = y - lr * vy;
+                }
+                case NESTEROV -> {
+                    // 속도만큼 미리 간 지점의 기울기로 갱신
+                    eval(x - lr * BETA * vx, y - lr * BETA * vy);
+                    vx = BETA * vx + d[AutoDiff.DX];
+                    vy = BETA * vy + d[AutoDiff.DY];
+                    nx = x - lr * vx;
+                    ny = y - lr * vy;
+                }
+                case ADAM -> {
+                    int t = i + 1;
+                    vx = BETA1 * vx + (1 - BETA1) * gx;
+                    vy = BETA1 * vy + (1 - BETA1) * gy;
+                    sx = BETA2 * sx + (1 - BETA2) * gx * gx;
+                    sy = BETA2 * sy + (1 - BETA2) * gy * gy;
+                    double c1 = 1 - Math.pow(BETA1, t), c2 = 1 - Math.pow(BETA2, t);
+                    nx = x - lr * (vx / c1) / (Math.sqrt(sx / c2) + EPS);
+                    ny = y - lr * (vy / c1) / (Math.sqrt(sy / c2) + EPS);
+                }
+                case RMSPROP -> {
+                    sx = RHO * sx + (1 - RHO) * gx * gx;
+                    sy = RHO * sy + (1 - RHO) * gy * gy;
+                    nx = x - lr * gx / (Math.sqrt(sx) + EPS);
+                    ny = y - lr * gy / (Math.sqrt(sy) + EPS);
+                }
+                case NEWTON -> {
+                    // 순수 뉴턴 스텝 H⁻¹g (학습률 무시). 안장점에도 끌려가는 모습이 그대로 보인다.
+                    double hxx = d[AutoDiff.DXX], hxy = d[AutoDiff.DXY], hyy = d[AutoDiff.DYY];
+                    double det = hxx * hyy - hxy * hxy;
+                    if (Math.abs(det) > DET_MIN) {
+                        nx = x - (hyy * gx - hxy * gy) / det;
+                        ny = y - (hxx * gy - hxy * gx) / det;
+                    } else {
+                        nx = x - lr * gx;
+                        ny = y - lr * gy;
+                    }
+                }
+                case BFGS -> {
+                    double px = -(h11 * gx + h12 * gy), py = -(h12 * gx + h22 * gy);
+                    double slope = gx * px + gy * py;
+                    if (slope >= 0) {
+                        // 근사가 하강 방향을 잃으면 초기화
+                        h11 = h22 = 1;
+                        h12 = 0;
+                        px = -gx;
+                        py = -gy;
+                        slope = -(gx * gx + gy * gy);
+                    }
+                    double t = 1.0, cx = 0, cy = 0, cz = Double.NaN;
+                    for (int k = 0; k < ARMIJO_MAX_TRIES; k++, t *= 0.5) {
+                        cx = clamp(x + t * px);
+                        cy = clamp(y + t * py);
+                        cz = fn.z(cx, cy);
+                        if (Double.isFinite(cz) && cz <= z + ARMIJO_C * t * slope) break;
+                    }
+                    eval(cx, cy);
+                    double ux = cx - x, uy = cy - y;
+                    double wx = d[AutoDiff.DX] - gx, wy = d[AutoDiff.DY] - gy;
+                    double uw = ux * wx + uy * wy;
+                    if (uw > 1e-12) {
+                        // H ← (I - ρuwᵀ) H (I - ρwuᵀ) + ρuuᵀ, ρ = 1/(uᵀw)
+                        double rho = 1 / uw;
+                        double hw1 = h11 * wx + h12 * wy, hw2 = h12 * wx + h22 * wy;
+                        double whw = wx * hw1 + wy * hw2;
+                        double k = (1 + rho * whw) * rho;
+                        h11 += k * ux * ux - rho * 2 * hw1 * ux;
+                        h12 += k * ux * uy - rho * (hw1 * uy + hw2 * ux);
+                        h22 += k * uy * uy - rho * 2 * hw2 * uy;
+                    }
+                    nx = cx;
+                    ny = cy;
+                }
+                default -> throw new IllegalStateException(optimizer.name());
+            }
+            x = clamp(nx);
+            y = clamp(ny);
+            if (!(Math.abs(x) <= COORD_ABS_MAX && Math.abs(y) <= COORD_ABS_MAX)) {
+                stop = "diverged";
+                break;
+            }
+        }
+        return new OptimizerPath(optimizer.name().toLowerCase(), path.xs(), path.ys(), path.zs(),
+                converged, last, stop);
+    }
+
+    /** d 에 (x, y) 의 값·기울기를, 뉴턴이면 헤시안까지 채운다. */
+    private void eval(double x, double y) {
+        if (ad != null) {
+            ad.evalInto(x, y, d);
+        } else {
+            fn.valueAndGradInto(x, y, d);
+        }
+    }
+
+    private double clamp(double v) {
+        return Math.max(-bound, Math.min(bound, v));
+    }
+}
@@ -0,0 +1,37 @@
+package com.yy.allgomath.plotter.optim;
+
+import java.util.Arrays;
+
+/** 최적화 경로를 담는 원시 배열 버퍼. 최적화기 실행마다 최대 반복+1 크기로 한 번만 만든다. */
+final class PathBuffer {
+
+    final double[] x;
+    final double[] y;
+    final double[] z;
+    int size;
+
+    PathBuffer(int capacity) {
+        this.x = new double[capacity];
+        this.y = new double[capacity];
+        this.z = new double[capacity];
+    }
+
+    void add(double px, double py, double pz) {
+        x[size] = px;
+        y[size] = py;
+        z[size] = pz;
+        size++;
+    }
+
+    double[] xs() {
+        return Arrays.copyOf(x, size);
+    }
+
+    double[] ys() {
+        return Arrays.copyOf(y, size);
+    }
+
+    double[] zs() {
+        return Arrays.copyOf(z, size);
+    }
+}
@@ -1,8 +1,10 @@
 package com.yy.allgomath.config;
 
 import com.yy.allgomath.fourier.dto.FourierResult;
+import com.yy.allgomath.fourier.dto.FourierSynthesis;
 import com.yy.allgomath.fourier.dto.Harmonic;
 import com.yy.allgomath.plotter.dto.GradPoint;
+import com.yy.allgomath.plotter.dto.SurfaceMesh;
 import com.yy.allgomath.plotter.dto.SurfaceResult;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -57,4 +59,51 @@ class CacheValueSerializationTest {
 
         assertThat(restoredFourier.harmonics()).containsExactly(new Harmonic(1, 0.5), new Harmonic(3, 0.25));
     }
+
+    @Test
+    @DisplayName("fourier_series 이진 직렬화가 부분합 표까지 왕복하고, 기존 JSON 항목도 읽힌다")
+    void fourierBinaryRoundTripsAndReadsLegacyJson() {
+        FourierResultRedisSerializer serializer = new FourierResultRedisSerializer();
+        List<Harmonic> harmonics = List.of(new Harmonic(1, 0.5), new Harmonic(3, 0.25));
+        double[][] partial = {{0.0, 0.5, -0.5}, {0.0, 0.25, -0.75}};
+        FourierResult value = new FourierResult(harmonics, new FourierSynthesis(3, partial));
+
+        FourierResult restored = serializer.deserialize(serializer.serialize(value));
+
+        assertThat(restored.harmonics()).containsExactlyElementsOf(harmonics);
+        assertThat(restored.synthesis().samples()).isEqualTo(3);
+        assertThat(restored.synthesis().partialSums()).isDeepEqualTo(partial);
+
+        FourierResult coefficientsOnly = serializer.deserialize(serializer.serialize(new FourierResult(harmonics)));
+        assertThat(coefficientsOnly.harmonics()).containsExactlyElementsOf(harmonics);
+        assertThat(coefficientsOnly.synthesis()).isNull();
+
+        byte[] legacy = "{\"harmonics\":[{\"n\":1,\"a\":0.5}]}".getBytes(StandardCharsets.UTF_8);
+        assertThat(serializer.deserialize(legacy).harmonics()).containsExactly(new Harmonic(1, 0.5));
+    }
+
+    @Test
+    @DisplayName("plotter_surface 이진 직렬화가 격자/메시를 왕복하고, 기존 JSON 격자도 읽힌다")
+    void plotterSurfaceBinaryRoundTrips() {
+        PlotterSurfaceRedisSerializer serializer = new PlotterSurfaceRedisSerializer();
+        SurfaceResult surface = new SurfaceResult(new double[][]{{1.0, 2.0}, {3.0, 4.0}}, 1.0, 4.0,
+                new GradPoint(0, 0.1, 0.2, 0.3, 0, 0));
+
+        SurfaceResult restored = (SurfaceResult) serializer.deserialize(serializer.serialize(surface));
+
+        assertThat(restored.z()).isDeepEqualTo(surface.z());
+        assertThat(restored.zMin()).isEqualTo(1.0);
+        assertThat(restored.zMax()).isEqualTo(4.0);
+        assertThat(restored.critical()).isEqualTo(surface.critical());
+
+        SurfaceMesh mesh = new SurfaceMesh(1, 2.0, -1f, 1f, new float[]{-1f, 0f, 0.5f, 1f}, null);
+        SurfaceMesh restoredMesh = (SurfaceMesh) serializer.deserialize(serializer.serialize(mesh));
+
+        assertThat(restoredMesh.resolution()).isEqualTo(1);
+        assertThat(restoredMesh.z()).containsExactly(-1f, 0f, 0.5f, 1f);
+        assertThat(restoredMesh.normals()).isNull();
+
+        byte[] legacy = CacheConfig.typedSerializer(SurfaceResult.class).serialize(surface);
+        assertThat(((SurfaceResult) serializer.deserialize(legacy)).z()).isDeepEqualTo(surface.z());
+    }
 }
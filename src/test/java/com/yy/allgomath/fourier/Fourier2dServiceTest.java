@@ -0,0 +1,39 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.Fourier2dParams;
+import com.yy.allgomath.fourier.dto.Fourier2dResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Fourier2dServiceTest {
+
+    private final Fourier2dService svc = new Fourier2dService();
+
+    @Test
+    void shifted_spectrum_puts_dc_in_centre_and_plane_wave_peaks_symmetrically() {
+        int rows = 32;
+        int cols = 64;
+        double[][] grid = new double[rows][cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                grid[r][c] = 1.0 + Math.cos(2 * Math.PI * (3.0 * r / rows + 4.0 * c / cols));
+            }
+        }
+
+        Fourier2dResult result = svc.compute(new Fourier2dParams(grid, true, false));
+
+        assertEquals(1.0, result.dc(), 1e-12);
+        assertEquals(1.0, result.magnitude()[rows / 2][cols / 2], 1e-12);
+        assertEquals(0.5, result.magnitude()[rows / 2 + 3][cols / 2 + 4], 1e-12);
+        assertEquals(0.5, result.magnitude()[rows / 2 - 3][cols / 2 - 4], 1e-12);
+        assertEquals(0.5, result.max(), 1e-12);
+    }
+
+    @Test
+    void ragged_grid_is_rejected() {
+        double[][] grid = {{1, 2, 3}, {4, 5}};
+        assertThrows(InvalidParameterException.class, () -> svc.compute(new Fourier2dParams(grid, true, false)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.FourierBatchParams;
+import com.yy.allgomath.fourier.dto.FourierBatchResult;
+import com.yy.allgomath.fourier.dto.FourierTransformParams;
+import com.yy.allgomath.fourier.dto.FourierTransformResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FourierBatchServiceTest {
+
+    private final FourierTransformService single = new FourierTransformService();
+    private final FourierBatchService svc = new FourierBatchService(single, 3);
+
+    @AfterEach
+    void tearDown() {
+        svc.shutdown();
+    }
+
+    private static double[] cosine(int length, int cycles) {
+        double[] x = new double[length];
+        for (int n = 0; n < length; n++) {
+            x[n] = Math.cos(2 * Math.PI * cycles * n / length);
+        }
+        return x;
+    }
+
+    @Test
+    void mixed_lengths_come_back_in_request_order_and_match_single_transform() {
+        int[] lengths = {64, 100, 64, 4096, 100, 64, 4096, 30};
+        List<FourierTransformParams> items = new ArrayList<>();
+        for (int i = 0; i < lengths.length; i++) {
+            items.add(new FourierTransformParams(cosine(lengths[i], 3 + i), lengths[i]));
+        }
+
+        FourierBatchResult batch = svc.compute(new FourierBatchParams(items));
+
+        assertEquals(items.size(), batch.results().size());
+        for (int i = 0; i < items.size(); i++) {
+            FourierTransformResult expected = single.compute(items.get(i));
+            FourierTransformResult actual = batch.results().get(i);
+            assertEquals(expected.spectrum().length, actual.spectrum().length);
+            for (int k = 0; k < expected.spectrum().length; k++) {
+                assertEquals(expected.spectrum()[k].mag(), actual.spectrum()[k].mag(), 1e-12);
+            }
+            assertArrayEquals(new double[]{3.0 + i}, actual.peaks(), 1e-9);
+        }
+    }
+
+    @Test
+    void one_invalid_item_rejects_whole_batch() {
+        List<FourierTransformParams> items = List.of(
+                new FourierTransformParams(cosine(64, 4), 64),
+                new FourierTransformParams(new double[8], 64));
+        assertThrows(InvalidParameterException.class, () -> svc.compute(new FourierBatchParams(items)));
+    }
+}
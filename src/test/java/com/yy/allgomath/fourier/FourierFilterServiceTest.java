@@ -0,0 +1,79 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.ConvolveParams;
+import com.yy.allgomath.fourier.dto.FilterParams;
+import com.yy.allgomath.fourier.dto.FilterResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FourierFilterServiceTest {
+
+    private final FourierFilterService svc = new FourierFilterService();
+
+    private static double[] tones(int length, double sampleRate, double... freqs) {
+        double[] x = new double[length];
+        for (int i = 0; i < length; i++) {
+            for (double f : freqs) {
+                x[i] += Math.sin(2 * Math.PI * f * i / sampleRate);
+            }
+        }
+        return x;
+    }
+
+    @Test
+    void lowpass_removes_high_tone_and_keeps_low_tone() {
+        double fs = 1000;
+        double[] x = tones(1000, fs, 50, 300);
+        FilterResult r = svc.filter(new FilterParams(x, fs, FilterType.LOWPASS, 0, 100));
+
+        double[] expected = tones(1000, fs, 50);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(expected[i], r.signal()[i], 1e-9);
+        }
+        assertEquals(1.0, r.spectrum()[50].mag(), 1e-9);
+        assertEquals(0.0, r.spectrum()[300].mag(), 1e-12);
+    }
+
+    @Test
+    void notch_removes_only_band() {
+        double fs = 1000;
+        double[] x = tones(1000, fs, 50, 300);
+        FilterResult r = svc.filter(new FilterParams(x, fs, FilterType.NOTCH, 40, 60));
+
+        double[] expected = tones(1000, fs, 300);
+        for (int i = 0; i < x.length; i++) {
+            assertEquals(expected[i], r.signal()[i], 1e-9);
+        }
+    }
+
+    @Test
+    void convolve_matches_direct_sum() {
+        Random rnd = new Random(7);
+        double[] a = new double[257];
+        double[] b = new double[31];
+        for (int i = 0; i < a.length; i++) a[i] = rnd.nextGaussian();
+        for (int i = 0; i < b.length; i++) b[i] = rnd.nextGaussian();
+
+        double[] out = svc.convolve(new ConvolveParams(a, b)).result();
+
+        assertEquals(a.length + b.length - 1, out.length);
+        for (int n = 0; n < out.length; n++) {
+            double s = 0;
+            for (int k = Math.max(0, n - b.length + 1); k <= Math.min(n, a.length - 1); k++) {
+                s += a[k] * b[n - k];
+            }
+            assertEquals(s, out[n], 1e-9);
+        }
+    }
+
+    @Test
+    void invalid_band_is_rejected() {
+        assertThrows(InvalidParameterException.class,
+                () -> svc.filter(new FilterParams(new double[8], 100, FilterType.BANDPASS, 30, 10)));
+        assertThrows(InvalidParameterException.class, () -> FilterType.from("comb"));
+    }
+}
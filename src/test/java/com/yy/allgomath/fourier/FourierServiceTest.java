@@ -2,6 +2,7 @@ package com.yy.allgomath.fourier;
 
 import com.yy.allgomath.common.exception.InvalidParameterException;
 import com.yy.allgomath.fourier.dto.FourierParams;
+import com.yy.allgomath.fourier.dto.FourierResult;
 import com.yy.allgomath.fourier.dto.Harmonic;
 import org.junit.jupiter.api.Test;
 
@@ -48,4 +49,31 @@ class FourierServiceTest {
     void bad_wave_throws() {
         assertThrows(InvalidParameterException.class, () -> svc.compute(new FourierParams("noise", 4)));
     }
+
+    @Test
+    void synthesis_partial_sums_match_direct_sine_sums() {
+        int samples = 500;
+        FourierResult r = svc.compute(new FourierParams("saw", 40, samples));
+        List<Harmonic> h = r.harmonics();
+        double[][] partial = r.synthesis().partialSums();
+
+        assertEquals(40, partial.length);
+        for (int k = 0; k < partial.length; k++) {
+            assertEquals(samples, partial[k].length);
+            for (int i = 0; i < samples; i++) {
+                double theta = 2 * Math.PI * i / samples;
+                double expected = 0;
+                for (int j = 0; j <= k; j++) {
+                    expected += h.get(j).a() * Math.sin(h.get(j).n() * theta);
+                }
+                assertEquals(expected, partial[k][i], 1e-10);
+            }
+        }
+    }
+
+    @Test
+    void coefficients_only_by_default() {
+        assertNull(svc.compute(new FourierParams("square", 4)).synthesis());
+        assertThrows(InvalidParameterException.class, () -> svc.compute(new FourierParams("square", 4, 1)));
+    }
 }
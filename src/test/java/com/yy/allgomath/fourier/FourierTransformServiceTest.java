@@ -46,6 +46,28 @@ class FourierTransformServiceTest {
         assertTrue(foundTwelve, "peak near 12 Hz not found");
     }
 
+    @Test
+    void spectrum_matches_direct_dft_for_non_power_of_two_length() {
+        int N = 1000;
+        double[] signal = new double[N];
+        java.util.Random r = new java.util.Random(42);
+        for (int n = 0; n < N; n++) {
+            signal[n] = Math.sin(2 * Math.PI * 37 * n / N) + 0.3 * r.nextGaussian();
+        }
+        FourierTransformResult result = svc.compute(new FourierTransformParams(signal, 1000.0));
+
+        for (int k = 0; k <= N / 2; k++) {
+            double re = 0.0, im = 0.0;
+            for (int n = 0; n < N; n++) {
+                double ang = 2.0 * Math.PI * k * n / N;
+                re += signal[n] * Math.cos(ang);
+                im -= signal[n] * Math.sin(ang);
+            }
+            double scale = (k == 0) ? 1.0 / N : 2.0 / N;
+            assertEquals(Math.hypot(re, im) * scale, result.spectrum()[k].mag(), 1e-9);
+        }
+    }
+
     @Test
     void signal_too_short_throws() {
         double[] signal = new double[8];
@@ -0,0 +1,85 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrayscaleImageTest {
+
+    @Test
+    void oversized_header_is_rejected_before_decoding() throws IOException {
+        // 수십 바이트짜리 PNG 지만 헤더는 50000x50000 을 선언한다
+        byte[] png = pngHeaderOnly(50_000, 50_000);
+        assertTrue(png.length < 100);
+
+        InvalidParameterException e = assertThrows(InvalidParameterException.class,
+                () -> GrayscaleImage.read(new ByteArrayInputStream(png), Fourier2dService.MAX_SIDE));
+        assertTrue(e.getMessage().contains("50000x50000"), e.getMessage());
+    }
+
+    @Test
+    void large_image_is_box_averaged_row_band_by_row_band() throws IOException {
+        BufferedImage image = new BufferedImage(8, 4, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x < 8; x++) {
+                // 왼쪽 절반 흰색, 오른쪽 절반 검은색, 맨 아래 행만 회색
+                int v = y == 3 ? 0x80 : x < 4 ? 0xFF : 0;
+                image.setRGB(x, y, v << 16 | v << 8 | v);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+
+        double[][] grid = GrayscaleImage.read(new ByteArrayInputStream(out.toByteArray()), 4);
+
+        assertEquals(2, grid.length);
+        assertEquals(4, grid[0].length);
+        assertEquals(1.0, grid[0][0], 1e-12);
+        assertEquals(0.0, grid[0][3], 1e-12);
+        assertEquals((255 + 128) / 2.0 / 255, grid[1][1], 1e-9);
+        assertEquals(128 / 2.0 / 255, grid[1][2], 1e-9);
+    }
+
+    @Test
+    void non_image_is_rejected() {
+        byte[] text = "not an image".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(InvalidParameterException.class,
+                () -> GrayscaleImage.read(new ByteArrayInputStream(text), Fourier2dService.MAX_SIDE));
+    }
+
+    private static byte[] pngHeaderOnly(int width, int height) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(ihdr);
+        h.writeInt(width);
+        h.writeInt(height);
+        // 8 비트 RGB, 기본 압축/필터, 비인터레이스
+        h.write(new byte[]{8, 2, 0, 0, 0});
+        chunk(out, "IHDR", ihdr.toByteArray());
+        chunk(out, "IEND", new byte[0]);
+        return bytes.toByteArray();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        byte[] t = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(t);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(t);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,71 @@
+package com.yy.allgomath.fourier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SpectrogramCharacterizationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void spectrogram_streams_header_then_one_line_per_column_then_summary() throws Exception {
+        double[] signal = new double[10_000]; // 단측 4096 제한보다 긴 신호
+        for (int n = 0; n < signal.length; n++) {
+            signal[n] = Math.cos(2 * Math.PI * 100 * n / 1000.0);
+        }
+        String body = objectMapper.writeValueAsString(Map.of(
+                "signal", signal, "sampleRate", 1000.0, "windowSize", 256, "hop", 128));
+
+        MvcResult started = mockMvc.perform(post("/api/algorithms/fourier/spectrogram")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjson = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = ndjson.split("\n");
+        // 헤더 + 열 + 요약 한 줄
+        assertEquals(1 + (10_000 - 256) / 128 + 1 + 1, lines.length);
+        assertTrue(lines[0].contains("\"binWidth\""));
+        assertTrue(lines[1].contains("\"mags\""));
+        assertTrue(lines[lines.length - 1].contains("\"samples\":10000"));
+        assertTrue(lines[lines.length - 1].contains("\"truncated\":false"));
+    }
+
+    @Test
+    void hop_larger_than_window_returns_bad_request() throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of(
+                "signal", new double[1024], "sampleRate", 1000.0, "windowSize", 64, "hop", 128));
+
+        mockMvc.perform(post("/api/algorithms/fourier/spectrogram")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,124 @@
+package com.yy.allgomath.fourier;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.fourier.dto.SpectrogramColumn;
+import com.yy.allgomath.fourier.dto.SpectrogramParams;
+import com.yy.allgomath.fourier.dto.SpectrogramSummary;
+import com.yy.allgomath.fourier.fft.FftPlans;
+import com.yy.allgomath.fourier.fft.RealFft;
+import com.yy.allgomath.fourier.fft.WindowFunction;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpectrogramServiceTest {
+
+    private final SpectrogramService svc = new SpectrogramService();
+
+    private static double[] tone(int length, double freq, double sampleRate) {
+        double[] x = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = Math.sin(2 * Math.PI * freq * i / sampleRate);
+        }
+        return x;
+    }
+
+    private List<SpectrogramColumn> run(SpectrogramParams p, SampleSource source) throws Exception {
+        List<SpectrogramColumn> out = new ArrayList<>();
+        svc.stream(p, source, out::add);
+        return out;
+    }
+
+    @Test
+    void columns_follow_hop_and_peak_at_tone_frequency() throws Exception {
+        double sampleRate = 8000;
+        double[] signal = tone(20_000, 1000, sampleRate);
+        SpectrogramParams p = new SpectrogramParams(sampleRate, 256, 64, WindowFunction.HANN);
+
+        List<SpectrogramColumn> cols = run(p, SampleSource.of(signal));
+
+        assertEquals((20_000 - 256) / 64 + 1, cols.size());
+        for (SpectrogramColumn c : cols) {
+            assertEquals(129, c.mags().length);
+            assertEquals(1000.0, c.peak().freq(), 1e-9);
+            assertEquals(1.0, c.peak().mag(), 0.05); // 창 합 정규화 → 진폭 1
+        }
+        assertEquals((64 * 5 + 128) / sampleRate, cols.get(5).time(), 1e-12);
+    }
+
+    @Test
+    void ring_buffer_frames_equal_direct_windowed_fft() throws Exception {
+        double[] signal = new double[3000];
+        java.util.Random r = new java.util.Random(1);
+        for (int i = 0; i < signal.length; i++) signal[i] = r.nextGaussian();
+        int n = 200, hop = 75;
+        SpectrogramParams p = new SpectrogramParams(1000, n, hop, WindowFunction.HAMMING);
+
+        List<SpectrogramColumn> cols = run(p, SampleSource.of(signal));
+
+        double[] w = WindowFunction.HAMMING.table(n);
+        double sum = WindowFunction.HAMMING.sum(n);
+        RealFft fft = FftPlans.real(n);
+        for (int j : new int[]{0, 7, cols.size() - 1}) {
+            double[] frame = new double[n];
+            for (int i = 0; i < n; i++) frame[i] = signal[j * hop + i] * w[i];
+            double[] re = new double[fft.bins()], im = new double[fft.bins()];
+            fft.forward(frame, re, im);
+            for (int k = 1; k < fft.bins(); k++) {
+                assertEquals(Math.hypot(re[k], im[k]) * 2 / sum, cols.get(j).mags()[k], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    void float32_upload_gives_same_columns_as_array() throws Exception {
+        double[] signal = tone(5000, 440, 4000);
+        ByteBuffer bb = ByteBuffer.allocate(signal.length * 4 + 2).order(ByteOrder.LITTLE_ENDIAN);
+        float[] asFloat = new float[signal.length];
+        for (int i = 0; i < signal.length; i++) {
+            asFloat[i] = (float) signal[i];
+            bb.putFloat(asFloat[i]);
+        }
+        double[] rounded = new double[signal.length];
+        for (int i = 0; i < signal.length; i++) rounded[i] = asFloat[i];
+        SpectrogramParams p = new SpectrogramParams(4000, 512, 128, WindowFunction.BLACKMAN);
+
+        List<SpectrogramColumn> fromArray = run(p, SampleSource.of(rounded));
+        List<SpectrogramColumn> fromBytes = run(p, SampleSource.float32LittleEndian(
+                new ByteArrayInputStream(bb.array())));
+
+        assertEquals(fromArray.size(), fromBytes.size());
+        for (int j = 0; j < fromArray.size(); j++) {
+            assertArrayEquals(fromArray.get(j).mags(), fromBytes.get(j).mags(), 1e-12);
+        }
+    }
+
+    @Test
+    void input_beyond_max_samples_is_reported_as_truncated() throws Exception {
+        double[] signal = tone(20_000, 1000, 8000);
+        SpectrogramParams p = new SpectrogramParams(8000, 256, 64, WindowFunction.HANN);
+        List<SpectrogramColumn> out = new ArrayList<>();
+
+        SpectrogramSummary cut = svc.stream(p, SampleSource.of(signal), out::add, 10_000);
+        assertEquals(new SpectrogramSummary((10_000 - 256) / 64 + 1, 10_000, true), cut);
+        assertEquals(cut.columns(), out.size());
+
+        // 한도가 읽기 블록 경계와 맞아도, 정확히 한도만큼인 입력은 잘리지 않은 것
+        assertTrue(svc.stream(p, SampleSource.of(signal), c -> { }, 8192).truncated());
+        assertFalse(svc.stream(p, SampleSource.of(signal), c -> { }, 20_000).truncated());
+        assertEquals(new SpectrogramSummary((20_000 - 256) / 64 + 1, 20_000, false),
+                svc.stream(p, SampleSource.of(signal), c -> { }));
+    }
+
+    @Test
+    void invalid_hop_throws() {
+        assertThrows(InvalidParameterException.class,
+                () -> svc.header(new SpectrogramParams(1000, 256, 512, WindowFunction.HANN)));
+    }
+}
@@ -0,0 +1,86 @@
+package com.yy.allgomath.fourier.fft;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Fft2dTest {
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "1, 8", "6, 10", "16, 32", "33, 7", "40, 45"})
+    void matches_direct_2d_dft(int rows, int cols) {
+        Random rnd = new Random(rows * 31L + cols);
+        double[] re = new double[rows * cols];
+        double[] im = new double[rows * cols];
+        for (int i = 0; i < re.length; i++) {
+            re[i] = rnd.nextGaussian();
+            im[i] = rnd.nextGaussian();
+        }
+        double[] outRe = re.clone();
+        double[] outIm = im.clone();
+        Fft2d.forward(outRe, outIm, rows, cols);
+
+        for (int u = 0; u < rows; u++) {
+            for (int v = 0; v < cols; v++) {
+                double sRe = 0;
+                double sIm = 0;
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) {
+                        double ang = -2 * Math.PI * ((double) (u * r % rows) / rows + (double) (v * c % cols) / cols);
+                        double cos = Math.cos(ang);
+                        double sin = Math.sin(ang);
+                        sRe += re[r * cols + c] * cos - im[r * cols + c] * sin;
+                        sIm += re[r * cols + c] * sin + im[r * cols + c] * cos;
+                    }
+                }
+                assertEquals(sRe, outRe[u * cols + v], 1e-9);
+                assertEquals(sIm, outIm[u * cols + v], 1e-9);
+            }
+        }
+    }
+
+    /** 병렬 경로(큰 격자): 평면파 하나는 (a, b), (-a, -b) 두 점에만 RC/2 크기로 모인다. */
+    @Test
+    void plane_wave_on_large_grid_concentrates_in_two_bins() {
+        int rows = 256;
+        int cols = 192;
+        int a = 5;
+        int b = 17;
+        double[] re = new double[rows * cols];
+        double[] im = new double[rows * cols];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                re[r * cols + c] = Math.cos(2 * Math.PI * ((double) a * r / rows + (double) b * c / cols));
+            }
+        }
+        Fft2d.forward(re, im, rows, cols);
+
+        double half = rows * cols / 2.0;
+        for (int u = 0; u < rows; u++) {
+            for (int v = 0; v < cols; v++) {
+                boolean peak = (u == a && v == b) || (u == rows - a && v == cols - b);
+                double mag = Math.hypot(re[u * cols + v], im[u * cols + v]);
+                assertEquals(peak ? half : 0.0, mag, 1e-6);
+            }
+        }
+    }
+
+    @Test
+    void blocked_transpose_handles_ragged_edges() {
+        int rows = 70;
+        int cols = 45;
+        double[] src = new double[rows * cols];
+        for (int i = 0; i < src.length; i++) src[i] = i;
+        double[] dst = new double[rows * cols];
+        Fft2d.transpose(src, dst, rows, cols, true);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                assertEquals(src[r * cols + c], dst[c * rows + r]);
+            }
+        }
+    }
+}
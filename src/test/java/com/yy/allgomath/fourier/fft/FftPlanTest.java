@@ -0,0 +1,96 @@
+package com.yy.allgomath.fourier.fft;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FftPlanTest {
+
+    private static final double TOL = 1e-9;
+
+    /** 기준: 직접 DFT (O(N²)) */
+    private static double[][] naive(double[] re, double[] im) {
+        int n = re.length;
+        double[] outRe = new double[n];
+        double[] outIm = new double[n];
+        for (int k = 0; k < n; k++) {
+            for (int j = 0; j < n; j++) {
+                double ang = 2 * Math.PI * ((long) k * j % n) / n;
+                outRe[k] += re[j] * Math.cos(ang) + im[j] * Math.sin(ang);
+                outIm[k] += im[j] * Math.cos(ang) - re[j] * Math.sin(ang);
+            }
+        }
+        return new double[][]{outRe, outIm};
+    }
+
+    private static double[] random(int n, long seed) {
+        Random r = new Random(seed);
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) x[i] = r.nextGaussian();
+        return x;
+    }
+
+    // radix-2 / 혼합 기수(2·3·5·7) / Bluestein(큰 소인수) 경로를 모두 지나는 길이
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 8, 1024, 3, 12, 30, 210, 343, 1000, 17, 97, 1031, 4094})
+    void complex_forward_matches_direct_dft_and_inverse_round_trips(int n) {
+        double[] re = random(n, n);
+        double[] im = random(n, n + 1L);
+        double[][] expected = naive(re, im);
+
+        double[] fr = re.clone(), fi = im.clone();
+        FftPlan plan = FftPlans.complex(n);
+        plan.forward(fr, fi);
+        for (int k = 0; k < n; k++) {
+            assertEquals(expected[0][k], fr[k], TOL * n, "re[" + k + "]");
+            assertEquals(expected[1][k], fi[k], TOL * n, "im[" + k + "]");
+        }
+
+        plan.inverse(fr, fi);
+        for (int k = 0; k < n; k++) {
+            assertEquals(re[k], fr[k], TOL);
+            assertEquals(im[k], fi[k], TOL);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {16, 64, 100, 1000, 4096, 17, 999})
+    void real_forward_matches_direct_dft(int n) {
+        double[] x = random(n, 7L * n);
+        double[][] expected = naive(x, new double[n]);
+
+        RealFft fft = FftPlans.real(n);
+        double[] re = new double[fft.bins()], im = new double[fft.bins()];
+        fft.forward(x, re, im);
+        for (int k = 0; k < fft.bins(); k++) {
+            assertEquals(expected[0][k], re[k], TOL * n, "re[" + k + "]");
+            assertEquals(expected[1][k], im[k], TOL * n, "im[" + k + "]");
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {64, 97})
+    void plans_are_cached_per_length(int n) {
+        assertSame(FftPlans.complex(n), FftPlans.complex(n));
+        assertSame(FftPlans.real(n), FftPlans.real(n));
+    }
+
+    @Test
+    void plan_cache_is_bounded_by_table_bytes() {
+        // 혼합 기수 3·2^20 은 트위들만 48MB → 예산(32MB) 초과라 캐시하지 않는다
+        assertNotSame(FftPlans.complex(3 << 20), FftPlans.complex(3 << 20));
+        // 8MB + 24MB + 20MB: 합치면 예산을 넘어 오래된 계획부터 빠진다
+        for (int n : new int[]{1 << 20, 3 << 19, 5 << 18}) {
+            FftPlans.complex(n);
+        }
+        assertTrue(FftPlans.cachedBytes() <= 2 * FftPlans.MAX_BYTES);
+        assertSame(FftPlans.complex(5 << 18), FftPlans.complex(5 << 18));
+    }
+}
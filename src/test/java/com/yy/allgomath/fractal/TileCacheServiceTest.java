@@ -0,0 +1,69 @@
+package com.yy.allgomath.fractal;
+
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.store.DiskTileStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TileCacheServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private DiskTileStore store;
+    private final TileCacheService service = new TileCacheService();
+
+    @BeforeEach
+    void setUp() {
+        store = new DiskTileStore(dir.toString(), 64L << 20, 0);
+        store.open();
+        ReflectionTestUtils.setField(service, "diskTileStore", store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void deep_zoom_neighbours_get_distinct_store_keys() {
+        double w = 1e-7; // 1e-4 반올림 키로는 이웃 수백 개가 한 키로 겹치는 폭
+        double x = -0.743643887, y = 0.131825904;
+
+        assertThat(TileCacheService.tileKey(500, true, x, y, x + w, y + w))
+                .isEqualTo(TileCacheService.tileKey(500, true, x + w, y, x + 2 * w, y + w));
+        assertThat(TileCacheService.storeKey(500, true, x, y, x + w, y + w))
+                .isNotEqualTo(TileCacheService.storeKey(500, true, x + w, y, x + 2 * w, y + w))
+                .isNotEqualTo(TileCacheService.storeKey(500, true, x, y + w, x + w, y + 2 * w));
+    }
+
+    @Test
+    void store_key_absorbs_rounding_noise_of_the_same_tile() {
+        double x = -0.75, y = 0.1, w = 1.0 / 3;
+        // 같은 타일을 다른 뷰 원점에서 계산하면 마지막 비트 정도가 달라진다
+        double xs = Math.nextUp(Math.nextUp(x));
+
+        assertThat(TileCacheService.storeKey(500, true, xs, y, xs + w, y + w))
+                .isEqualTo(TileCacheService.storeKey(500, true, x, y, x + w, y + w));
+    }
+
+    @Test
+    void disk_tier_returns_each_deep_neighbour_its_own_tile() {
+        FractalParameters params = FractalParameters.mandelbrotDefaults().maxIterations(200).smooth(true).build();
+        double w = 1e-6, x = -0.743643887, y = 0.131825904;
+
+        service.calculateTile(params, x, y, x + w, y + w);
+        service.calculateTile(params, x + w, y, x + 2 * w, y + w);
+        assertThat(store.size()).isEqualTo(2);
+
+        assertThat(service.calculateTile(params, x + w, y, x + 2 * w, y + w).getValues())
+                .isDeepEqualTo(service.computeTile(params, x + w, y, x + 2 * w, y + w).getValues());
+    }
+}
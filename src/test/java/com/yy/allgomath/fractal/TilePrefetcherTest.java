@@ -0,0 +1,70 @@
+package com.yy.allgomath.fractal;
+
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class TilePrefetcherTest {
+
+    private final TileCacheService tileCacheService = mock(TileCacheService.class);
+    private final FractalCalculatorFactory factory = mock(FractalCalculatorFactory.class);
+    private TilePrefetcher prefetcher;
+
+    @AfterEach
+    void tearDown() {
+        if (prefetcher != null) prefetcher.shutdown();
+    }
+
+    private FractalParameters view64() {
+        return FractalParameters.defaults()
+                .xMin(-2).xMax(2).yMin(-2).yMax(2)
+                .width(64).height(64).maxIterations(20).build();
+    }
+
+    @Test
+    void plan_is_neighbour_ring_then_zoomed_children() {
+        prefetcher = new TilePrefetcher(tileCacheService, factory, true, false, 64);
+
+        List<TilePrefetcher.TileBounds> plan = prefetcher.plan(view64());
+
+        // 2x2 타일 격자: 링 4x4-2x2=12, 자식 2x2=4
+        assertEquals(16, plan.size());
+        TilePrefetcher.TileBounds corner = plan.get(0);
+        assertEquals(-4.0, corner.xMin(), 1e-12);
+        assertEquals(-4.0, corner.yMin(), 1e-12);
+        assertEquals(-2.0, corner.xMax(), 1e-12);
+        TilePrefetcher.TileBounds firstChild = plan.get(12);
+        assertEquals(-1.0, firstChild.xMin(), 1e-12);
+        assertEquals(0.0, firstChild.xMax(), 1e-12);
+    }
+
+    @Test
+    void prefetch_computes_planned_tiles_in_background() {
+        prefetcher = new TilePrefetcher(tileCacheService, factory, true, false, 64);
+
+        prefetcher.prefetchAround(view64());
+
+        verify(tileCacheService, timeout(5_000).times(16))
+                .calculateTile(any(), anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    void disabled_prefetcher_does_nothing() throws Exception {
+        prefetcher = new TilePrefetcher(tileCacheService, factory, false, false, 64);
+
+        prefetcher.prefetchAround(view64());
+        Thread.sleep(100);
+
+        verify(tileCacheService, never()).calculateTile(any(), anyDouble(), anyDouble(), anyDouble(), anyDouble());
+    }
+}
@@ -0,0 +1,58 @@
+package com.yy.allgomath.fractal.calculator;
+
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DoubleDoubleKernelTest {
+
+    @Test
+    void matches_double_path_at_shallow_zoom() {
+        int n = 64;
+        double spacing = 3.0 / n;
+        FractalParameters params = FractalParameters.defaults()
+                .xMin(-0.5 - 1.5).xMax(-0.5 + 1.5).yMin(-1.5).yMax(1.5)
+                .width(n).height(n).maxIterations(200).smooth(false).build();
+
+        double[][] expected = new MandelbrotCalculator(null, null).calculate(params);
+        double[][] actual = DoubleDoubleKernel.render(false, -0.5, 0.0, spacing, n, n, 200, false, 0, 0);
+
+        assertThat(actual).isDeepEqualTo(expected);
+    }
+
+    @Test
+    void resolves_offsets_below_double_precision() {
+        // 줄리아 c=0: z0 = 1 + 1e-20 은 반복 제곱으로 (1+δ)^(2^k) 가 되어 k=66 에서 |z| ≥ 2.
+        // double 로는 1 + 1e-20 == 1 이라 영원히 수렴(-1)으로 보인다.
+        double[][] v = DoubleDoubleKernel.render(true, 1.0, 0.0, 1e-20, 4, 2, 1000, false, 0, 0);
+
+        assertThat(v[1][3]).isEqualTo(66);
+        assertThat(v[1][2]).isEqualTo(-1); // 정확히 1
+    }
+
+    @Test
+    void centre_between_two_doubles_is_kept_as_hi_lo_pair() {
+        // 1 + 1e-20 는 double 로는 1 이지만 (hi, lo) = (1, 1e-20) 이면 중심 픽셀이 66 회에 발산한다
+        double[] c = DoubleDoubleKernel.split(new BigDecimal("1.00000000000000000001"));
+        assertThat(c[0]).isEqualTo(1.0);
+        assertThat(c[1]).isCloseTo(1e-20, within(1e-36));
+
+        double[][] v = DoubleDoubleKernel.render(true, c[0], c[1], 0.0, 0.0, 1e-24, 4, 2, 1000, false, 0, 0);
+        double[][] rounded = DoubleDoubleKernel.render(true, c[0], 0.0, 1e-24, 4, 2, 1000, false, 0, 0);
+
+        assertThat(v[1][2]).isEqualTo(66);
+        assertThat(rounded[1][2]).isEqualTo(-1);
+    }
+
+    @Test
+    void selects_tier_from_relative_pixel_spacing() {
+        assertThat(DoubleDoubleKernel.required(-0.75, 0.1, 4.0 / 512)).isFalse();
+        assertThat(DoubleDoubleKernel.required(-0.75, 0.1, 4e-14 / 512)).isTrue();
+        assertThat(DoubleDoubleKernel.supported(-0.75, 0.1, 4e-25 / 512)).isTrue();
+        assertThat(DoubleDoubleKernel.supported(-0.75, 0.1, 4e-31 / 512)).isFalse();
+    }
+}
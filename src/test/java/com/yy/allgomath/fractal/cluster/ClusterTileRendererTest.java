@@ -0,0 +1,149 @@
+package com.yy.allgomath.fractal.cluster;
+
+import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.dto.TileData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Redis 대신 인메모리 큐로 코디네이터/워커 왕복을 검증한다(여러 노드 = 같은 큐를 보는 워커들). */
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = ClusterTileRendererTest.Config.class)
+class ClusterTileRendererTest {
+
+    /** Redis 리스트 + INCR 카운터의 인메모리 대체. */
+    static class InMemoryTileJobQueue implements TileJobQueue {
+        final BlockingDeque<String> list = new LinkedBlockingDeque<>();
+        final Map<String, AtomicLong> done = new ConcurrentHashMap<>();
+
+        @Override
+        public void pushAll(List<TileJob> jobs) {
+            jobs.forEach(j -> list.addFirst(j.encode()));
+        }
+
+        @Override
+        public TileJob poll(Duration timeout) {
+            try {
+                String raw = list.pollLast(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                return raw == null ? null : TileJob.decode(raw);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+
+        @Override
+        public void markDone(TileJob job) {
+            done.computeIfAbsent(job.renderId(), k -> new AtomicLong()).incrementAndGet();
+        }
+
+        @Override
+        public long doneCount(String renderId) {
+            AtomicLong v = done.get(renderId);
+            return v == null ? 0 : v.get();
+        }
+    }
+
+    @Configuration
+    @EnableCaching(proxyTargetClass = true)
+    static class Config {
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("mandelbrot_tile");
+        }
+
+        @Bean
+        TileCacheService tileCacheService() {
+            return new TileCacheService();
+        }
+
+        @Bean
+        InMemoryTileJobQueue queue() {
+            return new InMemoryTileJobQueue();
+        }
+
+        @Bean
+        TileJobWorker tileJobWorker(InMemoryTileJobQueue queue, TileCacheService tileCacheService) {
+            return new TileJobWorker(queue, tileCacheService, 2, 10_000);
+        }
+
+        @Bean
+        ClusterTileRenderer clusterTileRenderer(InMemoryTileJobQueue queue, TileCacheService tileCacheService,
+                                                CacheManager cacheManager) {
+            return new ClusterTileRenderer(queue, tileCacheService, cacheManager, 1, 5_000);
+        }
+    }
+
+    @Autowired
+    ClusterTileRenderer renderer;
+
+    @Autowired
+    TileJobWorker worker;
+
+    @Autowired
+    InMemoryTileJobQueue queue;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        worker.stop();
+        cacheManager.getCache("mandelbrot_tile").clear();
+    }
+
+    private static double[][] quadrants() {
+        return new double[][]{
+                {-2.0, -1.5, -0.75, 0.0}, {-0.75, -1.5, 0.5, 0.0},
+                {-2.0, 0.0, -0.75, 1.5}, {-0.75, 0.0, 0.5, 1.5}};
+    }
+
+    @Test
+    void workers_fill_cache_and_coordinator_assembles_same_tiles() {
+        worker.start();
+        FractalParameters params = FractalParameters.mandelbrotDefaults().maxIterations(40).build();
+        double[][] bounds = quadrants();
+
+        TileData[] tiles = renderer.render(params, bounds);
+
+        TileCacheService direct = new TileCacheService();
+        for (int i = 0; i < bounds.length; i++) {
+            TileData expected = direct.calculateTile(params, bounds[i][0], bounds[i][1], bounds[i][2], bounds[i][3]);
+            assertThat(tiles[i].getValues()).isDeepEqualTo(expected.getValues());
+        }
+        assertThat(queue.done.values().stream().mapToLong(AtomicLong::get).sum()).isEqualTo(bounds.length);
+    }
+
+    @Test
+    void stragglers_fall_back_to_local_compute() {
+        // 워커 미기동: 큐에 쌓이기만 하고 아무도 가져가지 않는다
+        ClusterTileRenderer impatient = new ClusterTileRenderer(queue, new TileCacheService(), cacheManager, 1, 50);
+        FractalParameters params = FractalParameters.mandelbrotDefaults().maxIterations(40).build();
+
+        TileData[] tiles = impatient.render(params, quadrants());
+
+        assertThat(tiles).hasSize(4).doesNotContainNull();
+        assertThat(queue.list).hasSize(4);
+        queue.list.clear();
+    }
+}
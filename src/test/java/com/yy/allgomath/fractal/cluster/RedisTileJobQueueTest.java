@@ -0,0 +1,71 @@
+package com.yy.allgomath.fractal.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/** Redis 큐의 명령 매핑(LPUSH / BRPOP / INCR+EXPIRE / GET)을 목 템플릿으로 확인한다. */
+class RedisTileJobQueueTest {
+
+    @SuppressWarnings("unchecked")
+    private final ListOperations<String, String> list = mock(ListOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> value = mock(ValueOperations.class);
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final RedisTileJobQueue queue = new RedisTileJobQueue(redis, Duration.ofMillis(2000));
+
+    private final TileJob job = new TileJob("r1", 500, true, -0.5, 0.25, -0.25, 0.5, 1234L);
+
+    {
+        when(redis.opsForList()).thenReturn(list);
+        when(redis.opsForValue()).thenReturn(value);
+    }
+
+    @Test
+    void push_encodes_jobs_onto_the_shared_list() {
+        queue.pushAll(List.of(job));
+
+        verify(list).leftPushAll(RedisTileJobQueue.KEY, List.of(job.encode()));
+    }
+
+    @Test
+    void poll_blocks_well_inside_the_command_timeout_and_decodes() {
+        when(list.rightPop(eq(RedisTileJobQueue.KEY), any(Duration.class))).thenReturn(job.encode());
+
+        assertThat(queue.poll(Duration.ofMillis(500))).isEqualTo(job);
+        verify(list).rightPop(RedisTileJobQueue.KEY, Duration.ofMillis(500));
+
+        // 명령 타임아웃 이상 기다리라고 해도 절반으로 묶는다
+        queue.poll(Duration.ofSeconds(5));
+        verify(list).rightPop(RedisTileJobQueue.KEY, Duration.ofMillis(1000));
+    }
+
+    @Test
+    void empty_poll_returns_null() {
+        assertThat(queue.poll(Duration.ofMillis(100))).isNull();
+    }
+
+    @Test
+    void ack_increments_the_render_counter_with_ttl() {
+        String key = RedisTileJobQueue.doneKey("r1");
+        queue.markDone(job);
+
+        verify(value).increment(key);
+        verify(redis).expire(eq(key), any(Duration.class));
+
+        when(value.get(key)).thenReturn("3");
+        assertThat(queue.doneCount("r1")).isEqualTo(3);
+        assertThat(queue.doneCount("other")).isZero();
+    }
+}
@@ -0,0 +1,122 @@
+package com.yy.allgomath.fractal.pyramid;
+
+import com.yy.allgomath.common.exception.ComputationException;
+import com.yy.allgomath.fractal.TileCacheService;
+import com.yy.allgomath.fractal.calculator.JuliaCalculator;
+import com.yy.allgomath.fractal.calculator.MandelbrotCalculator;
+import com.yy.allgomath.fractal.dto.FractalParameters;
+import com.yy.allgomath.fractal.store.DiskTileStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class PyramidGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private DiskTileStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new DiskTileStore(dir.resolve("tiles").toString(), 256L << 20, 500);
+        store.open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    private PyramidGenerator generator(TileCacheService tiles) {
+        return new PyramidGenerator(tiles, new JuliaCalculator(null), store,
+                64, 50, true, 1, 1, 2, dir.resolve("pyramid.checkpoint").toString());
+    }
+
+    /** FractalService.generate 와 같은 방식으로 만든 뷰 */
+    private static FractalParameters view(double centerX, double centerY, double zoom) {
+        return viewBuilder(centerX, centerY, zoom).build();
+    }
+
+    private static FractalParameters.FractalParametersBuilder viewBuilder(double centerX, double centerY, double zoom) {
+        double range = 4.0 / zoom;
+        return FractalParameters.defaults()
+                .xMin(centerX - range / 2).xMax(centerX + range / 2)
+                .yMin(centerY - range / 2).yMax(centerY + range / 2)
+                .width(64).height(64).maxIterations(50).smooth(true);
+    }
+
+    @Test
+    void mandelbrot_views_at_pyramid_zooms_are_fully_precomputed() {
+        generator(new TileCacheService()).generate();
+
+        MandelbrotCalculator geometry = new MandelbrotCalculator(null, null);
+        double tileWidth = 2.0 / 2; // zoom 2, 64px → 2 타일
+        for (FractalParameters v : new FractalParameters[]{
+                view(-0.75, 0, 1), view(-0.75, 0, 2), view(-0.75 + tileWidth, 0, 2), view(0.25, -1, 2)}) {
+            for (int ty = 0; ty < 2; ty++) {
+                for (int tx = 0; tx < 2; tx++) {
+                    String key = TileCacheService.storeKey(50, true,
+                            geometry.calculateTileXMin(v, tx), geometry.calculateTileYMin(v, ty),
+                            geometry.calculateTileXMax(v, tx), geometry.calculateTileYMax(v, ty));
+                    assertThat(store.contains(key)).as(key).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    void julia_constant_views_are_stored_under_view_key() {
+        generator(new TileCacheService()).generate();
+
+        FractalParameters v = viewBuilder(1, -1, 2).cReal(-0.7).cImag(0.27015).build();
+        assertThat(store.contains(JuliaCalculator.viewKey(v))).isTrue();
+        assertThat(store.get(JuliaCalculator.viewKey(v)).getValues())
+                .isDeepEqualTo(new JuliaCalculator(null).compute(v));
+    }
+
+    @Test
+    void rerun_resumes_from_checkpoint_without_recomputing() {
+        generator(new TileCacheService()).generate();
+        int stored = store.size();
+
+        TileCacheService tiles = spy(new TileCacheService());
+        generator(tiles).generate();
+
+        verify(tiles, never()).computeTile(any(), anyDouble(), anyDouble(), anyDouble(), anyDouble());
+        assertThat(store.size()).isEqualTo(stored);
+    }
+
+    @Test
+    void full_store_stops_the_run_without_advancing_the_checkpoint() {
+        store.close();
+        // 32x32 타일 레코드(약 8KB) 세 개 분량: 첫 청크 도중에 가득 찬다
+        store = new DiskTileStore(dir.resolve("small").toString(), 3 * 8300L, 500);
+        store.open();
+
+        assertThatThrownBy(() -> generator(new TileCacheService()).generate())
+                .isInstanceOf(ComputationException.class)
+                .hasMessageContaining("가득");
+
+        assertThat(store.size()).isPositive();
+        PyramidCheckpoint checkpoint = new PyramidCheckpoint(dir.resolve("pyramid.checkpoint"));
+        assertThat(checkpoint.position("mandelbrot_r64_i50_strue")).containsExactly(0, 0);
+    }
+
+    @Test
+    void aliased_julia_constants_are_rendered_once() {
+        assertThat(PyramidGenerator.juliaConstants()).containsOnlyKeys(
+                "dragon", "lightning", "spiral", "rabbit", "san_marco_dragon", "dendrite");
+    }
+}
@@ -0,0 +1,118 @@
+package com.yy.allgomath.fractal.store;
+
+import com.yy.allgomath.fractal.dto.TileData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DiskTileStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static TileData tile(double seed) {
+        double[][] v = new double[32][32];
+        for (int y = 0; y < 32; y++) {
+            for (int x = 0; x < 32; x++) {
+                v[y][x] = seed + y * 32 + x;
+            }
+        }
+        return new TileData(v);
+    }
+
+    private DiskTileStore open(long maxBytes) {
+        DiskTileStore store = new DiskTileStore(dir.toString(), maxBytes, 500);
+        store.open();
+        return store;
+    }
+
+    @Test
+    void put_then_get_round_trips_values() {
+        DiskTileStore store = open(64L << 20);
+        assertThat(store.put("a", tile(1))).isTrue();
+
+        assertThat(store.get("a").getValues()).isDeepEqualTo(tile(1).getValues());
+        assertThat(store.get("missing")).isNull();
+        store.close();
+    }
+
+    @Test
+    void tiles_survive_reopen_and_latest_write_wins() {
+        DiskTileStore store = open(64L << 20);
+        store.put("a", tile(1));
+        store.put("b", tile(2));
+        store.put("a", tile(3));
+        store.close();
+
+        DiskTileStore reopened = open(64L << 20);
+        assertThat(reopened.size()).isEqualTo(2);
+        assertThat(reopened.get("a").getValues()).isDeepEqualTo(tile(3).getValues());
+        assertThat(reopened.get("b").getValues()).isDeepEqualTo(tile(2).getValues());
+        reopened.close();
+    }
+
+    @Test
+    void compaction_drops_overwritten_records_and_keeps_live_ones() {
+        DiskTileStore store = open(64L << 20);
+        for (int i = 0; i < 10; i++) {
+            store.put("k" + (i % 3), tile(i));
+        }
+        store.compact();
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.get("k0").getValues()).isDeepEqualTo(tile(9).getValues());
+        assertThat(store.get("k2").getValues()).isDeepEqualTo(tile(8).getValues());
+        store.close();
+    }
+
+    @Test
+    void full_store_evicts_oldest_on_compaction() {
+        // 타일 1개 ≈ 8KB → 1MB 용량이면 약 120개
+        DiskTileStore store = open(1L << 20);
+        for (int i = 0; i < 200; i++) {
+            store.put("k" + i, tile(i));
+        }
+        store.compact();
+
+        assertThat(store.size()).isLessThan(120);
+        assertThat(store.get("k0")).isNull();
+        store.close();
+    }
+
+    @Test
+    void put_reports_tiles_dropped_when_full() {
+        DiskTileStore store = open(2 * 8300L); // 타일 2개 분량
+        assertThat(store.put("k0", tile(0))).isTrue();
+        assertThat(store.put("k1", tile(1))).isTrue();
+        assertThat(store.put("k2", tile(2))).isFalse();
+        assertThat(store.contains("k2")).isFalse();
+        store.close();
+    }
+
+    @Test
+    void second_opener_of_the_same_directory_fails_fast() {
+        DiskTileStore store = open(1L << 20);
+        store.put("a", tile(1));
+
+        assertThatThrownBy(() -> open(1L << 20))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(dir.toString());
+
+        // 첫 번째가 닫히면 다시 열 수 있다
+        store.close();
+        DiskTileStore reopened = open(1L << 20);
+        assertThat(reopened.get("a").getValues()[0][1]).isEqualTo(2.0);
+        reopened.close();
+    }
+
+    @Test
+    void only_expensive_tiles_are_worth_storing() {
+        DiskTileStore store = new DiskTileStore(dir.toString(), 1L << 20, 500);
+        assertThat(store.worthStoring(499)).isFalse();
+        assertThat(store.worthStoring(500)).isTrue();
+    }
+}
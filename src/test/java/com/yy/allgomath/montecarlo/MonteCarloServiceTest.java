@@ -2,9 +2,18 @@ package com.yy.allgomath.montecarlo;
 
 import com.yy.allgomath.montecarlo.dto.MonteCarloRequest;
 import com.yy.allgomath.montecarlo.dto.MonteCarloResult;
+import com.yy.allgomath.montecarlo.dto.MonteCarloSnapshot;
+import com.yy.allgomath.montecarlo.function.MathFunction;
+import com.yy.allgomath.montecarlo.function.MathFunctionFactory;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class MonteCarloServiceTest {
@@ -52,4 +61,174 @@ class MonteCarloServiceTest {
         assertTrue(result.getEstimate() >= 0.0 && result.getEstimate() <= 4.0);
         assertTrue(result.getConvergenceHistory().size() > 0);
     }
+
+    @Test
+    void sameSeedReproducesEstimateAndHistory() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                300_000,
+                new MonteCarloRequest.Bounds(-2.0, 2.0, -1.0, 1.0),
+                "ellipse");
+        req.setSeed(42L);
+
+        MonteCarloResult a = service.performMonteCarloIntegration(req);
+        MonteCarloResult b = service.performMonteCarloIntegration(req);
+        req.setSeed(43L);
+        MonteCarloResult c = service.performMonteCarloIntegration(req);
+
+        assertEquals(a.getInsideCount(), b.getInsideCount());
+        assertEquals(a.getConvergenceHistory(), b.getConvergenceHistory());
+        assertNotEquals(a.getInsideCount(), c.getInsideCount());
+        assertEquals(2 * Math.PI, a.getEstimate(), 0.05);
+    }
+
+    @Test
+    void historyIsCappedAndEndsAtEstimate() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                1_000_000,
+                new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0),
+                "unit_circle");
+
+        MonteCarloResult result = service.performMonteCarloIntegration(req);
+
+        List<Double> history = result.getConvergenceHistory();
+        assertEquals(MonteCarloService.MAX_HISTORY, history.size());
+        assertEquals(result.getEstimate(), history.get(history.size() - 1), 1e-12);
+        assertEquals(MonteCarloService.MAX_POINTS, result.getPoints().size());
+    }
+
+    @Test
+    void sobolBeatsPlainSamplingAndReportsReferenceHistory() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                1 << 16,
+                new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0),
+                "unit_circle");
+        req.setSampler("sobol_owen");
+
+        MonteCarloResult result = service.performMonteCarloIntegration(req);
+
+        // 같은 표본 수에서 의사난수 표준오차는 약 6.4e-3
+        assertEquals("sobol_owen", result.getSampler());
+        assertEquals(Math.PI, result.getEstimate(), 2e-3);
+        assertEquals(result.getConvergenceHistory().size(), result.getReferenceHistory().size());
+        assertNull(service.performMonteCarloIntegration(
+                new MonteCarloRequest(1000, new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0), "unit_circle"))
+                .getReferenceHistory());
+    }
+
+    @Test
+    void varianceReductionShrinksStandardErrorAndCoversTruth() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                200_000,
+                new MonteCarloRequest.Bounds(-4.0, 4.0, -4.0, 4.0),
+                "unit_circle");
+        req.setSeed(7L);
+        MonteCarloResult plain = service.performMonteCarloIntegration(req);
+
+        for (String mode : List.of("stratified", "antithetic", "importance")) {
+            req.setVariance(mode);
+            MonteCarloResult r = service.performMonteCarloIntegration(req);
+            assertEquals(mode, r.getVariance());
+            // 95% 구간이라 고정 시드에서 4 SE 여유로 확인
+            assertEquals(Math.PI, r.getEstimate(), 4 * r.getStandardError() + 1e-12, mode);
+            assertTrue(r.getConfidenceLow() < r.getEstimate() && r.getEstimate() < r.getConfidenceHigh(), mode);
+            assertTrue(r.getTotalCount() <= 200_000, mode);
+        }
+
+        req.setVariance("stratified");
+        assertTrue(service.performMonteCarloIntegration(req).getStandardError() < plain.getStandardError() / 2);
+        req.setVariance("importance");
+        assertTrue(service.performMonteCarloIntegration(req).getStandardError() < plain.getStandardError() / 2);
+        assertEquals("none", plain.getVariance());
+        assertEquals(Math.PI, plain.getEstimate(), 4 * plain.getStandardError());
+    }
+
+    @Test
+    void toleranceStopsEarlyAndReportsSamplesUsed() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                20_000_000,
+                new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0),
+                "unit_circle");
+        req.setTolerance(0.01);
+
+        MonteCarloResult result = service.performMonteCarloIntegration(req);
+
+        // 표본당 분산 약 2.7 → 반폭 0.01 에는 약 10만 표본이면 충분
+        assertEquals(Boolean.TRUE, result.getConverged());
+        assertTrue(result.getTotalCount() < 1_000_000, "used " + result.getTotalCount());
+        assertTrue(MonteCarloEngine.Z_95 * result.getStandardError() <= 0.01);
+        assertEquals(Math.PI, result.getEstimate(), 0.02);
+        // 이력은 실제로 쓴 표본까지만
+        assertEquals(result.getTotalCount() / (20_000_000 / MonteCarloService.MAX_HISTORY),
+                result.getConvergenceHistory().size());
+        assertTrue(result.getPoints().stream().allMatch(p -> p != null));
+
+        // 예산 안에 도달할 수 없는 허용오차는 예산을 다 쓰고 미수렴으로 보고
+        req.setIterations(200_000);
+        req.setTolerance(1e-4);
+        MonteCarloResult capped = service.performMonteCarloIntegration(req);
+        assertEquals(Boolean.FALSE, capped.getConverged());
+        assertEquals(200_000, capped.getTotalCount());
+        assertNull(service.performMonteCarloIntegration(
+                new MonteCarloRequest(1000, new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0), "unit_circle"))
+                .getConverged());
+    }
+
+    @Test
+    void streamedRunSendsLogSpacedSnapshotsAndMatchesPlainRun() {
+        MonteCarloRequest req = new MonteCarloRequest(
+                1_000_000,
+                new MonteCarloRequest.Bounds(-1.0, 1.0, -1.0, 1.0),
+                "unit_circle");
+        req.setSeed(11L);
+        List<MonteCarloSnapshot> snapshots = new ArrayList<>();
+
+        MonteCarloResult streamed = service.streamMonteCarloIntegration(req, snapshots::add);
+        MonteCarloResult plain = service.performMonteCarloIntegration(req);
+
+        // 청크 1, 1, 2, 4, 8 개 단위 웨이브 → 스냅숏 5 개, 마지막은 전체 표본
+        assertEquals(5, snapshots.size());
+        assertEquals(1_000_000, snapshots.get(snapshots.size() - 1).getSamples());
+        assertEquals(plain.getEstimate(), streamed.getEstimate(), 1e-12);
+        assertEquals(plain.getEstimate(), snapshots.get(snapshots.size() - 1).getEstimate(), 1e-12);
+
+        // 이력은 10 배당 STREAM_CHECKPOINTS_PER_DECADE 개, 스냅숏 조각을 이으면 최종 이력과 같다
+        List<Long> samples = new ArrayList<>();
+        List<Double> history = new ArrayList<>();
+        int points = 0;
+        for (MonteCarloSnapshot s : snapshots) {
+            samples.addAll(s.getHistorySamples());
+            history.addAll(s.getHistory());
+            points += s.getPoints().size();
+        }
+        assertEquals(streamed.getHistorySamples(), samples);
+        assertEquals(streamed.getConvergenceHistory(), history);
+        assertTrue(history.size() <= 5 * MonteCarloService.STREAM_CHECKPOINTS_PER_DECADE + 2, "" + history.size());
+        assertEquals(10L, (long) samples.get(0));
+        assertEquals(1_000_000L, (long) samples.get(samples.size() - 1));
+        assertEquals(streamed.getEstimate(), history.get(history.size() - 1), 1e-12);
+        assertEquals(MonteCarloService.MAX_POINTS, points);
+        assertNull(plain.getHistorySamples());
+    }
+
+    @Test
+    void blockEvaluateMatchesScalarEvaluate() {
+        SplittableRandom rng = new SplittableRandom(5L);
+        int n = 1000;
+        double[] xs = new double[n + 3], ys = new double[n + 3], out = new double[n + 3];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = rng.nextDouble(-3.0, 3.0);
+            ys[i] = rng.nextDouble(-3.0, 3.0);
+        }
+        out[n] = -7.0;
+
+        for (String type : List.of("unit_circle", "square", "ellipse", "diamond", "sin_product")) {
+            MathFunction f = MathFunctionFactory.createFunction(type);
+            f.evaluate(xs, ys, out, n);
+            for (int i = 0; i < n; i++) {
+                assertEquals(f.evaluate(xs[i], ys[i]), out[i], 0.0, type);
+            }
+            // n 이후 칸은 건드리지 않는다
+            assertEquals(-7.0, out[n], 0.0, type);
+        }
+    }
 }
@@ -33,7 +33,7 @@ class MonteCarloValidationTest {
 
     @Test
     void oversizedIterations_violates() {
-        assertFalse(validator.validate(req(50_000_000, "ellipse")).isEmpty());
+        assertFalse(validator.validate(req(200_000_000, "ellipse")).isEmpty());
     }
 
     @Test
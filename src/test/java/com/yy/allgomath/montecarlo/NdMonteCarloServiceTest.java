@@ -0,0 +1,101 @@
+package com.yy.allgomath.montecarlo;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloRequest;
+import com.yy.allgomath.montecarlo.dto.NdMonteCarloResult;
+import com.yy.allgomath.montecarlo.nd.NdIntegrandFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdMonteCarloServiceTest {
+
+    private final NdMonteCarloService service = new NdMonteCarloService();
+
+    private NdMonteCarloRequest req(int iterations, int dims, double lower, double upper, String fn) {
+        return new NdMonteCarloRequest(iterations, dims, List.of(lower), List.of(upper), fn);
+    }
+
+    @Test
+    void ballVolumeInFiveDimensions() {
+        NdMonteCarloResult result = service.integrate(req(400_000, 5, -1.0, 1.0, "ball"));
+
+        // V5 = 8π²/15
+        assertEquals(8 * Math.PI * Math.PI / 15, result.getActualValue(), 1e-12);
+        assertEquals(result.getActualValue(), result.getEstimate(), 4 * result.getStandardError());
+        assertTrue(result.getConfidenceLow() < result.getEstimate() && result.getEstimate() < result.getConfidenceHigh());
+        assertEquals(400_000, result.getTotalCount());
+        assertEquals(result.getEstimate(), result.getConvergenceHistory().get(result.getConvergenceHistory().size() - 1),
+                1e-9);
+        assertEquals(400_000L, (long) result.getHistorySamples().get(result.getHistorySamples().size() - 1));
+
+        // 한 축이 절반이면 부피도 절반, 닫힌 꼴이 없는 상자는 actualValue 없음
+        NdMonteCarloRequest half = new NdMonteCarloRequest(1000, 3, List.of(0.0, -1.0, -1.0), List.of(1.0), "ball");
+        assertEquals(2 * Math.PI / 3, service.integrate(half).getActualValue(), 1e-12);
+        assertNull(service.integrate(req(1000, 3, -0.5, 0.5, "ball")).getActualValue());
+    }
+
+    @Test
+    void gaussianAndOscillatoryMatchClosedForms() {
+        // [-2,2]^d 의 exp(-|x|²) = (√π·erf(2))^d
+        double erf2 = 0.9953222650189527;
+        NdMonteCarloResult gauss = service.integrate(req(200_000, 8, -2.0, 2.0, "gaussian"));
+        assertEquals(Math.pow(Math.sqrt(Math.PI) * erf2, 8), gauss.getActualValue(), 1e-9);
+        assertEquals(gauss.getActualValue(), gauss.getEstimate(), 4 * gauss.getStandardError());
+
+        // [0,1]^d 의 cos(Σx) = Re((e^i - 1)/i)^d
+        NdMonteCarloResult osc = service.integrate(req(200_000, 6, 0.0, 1.0, "oscillatory"));
+        double re = Math.sin(1), im = 1 - Math.cos(1);
+        double r = Math.hypot(re, im), phi = Math.atan2(im, re);
+        assertEquals(Math.pow(r, 6) * Math.cos(6 * phi), osc.getActualValue(), 1e-12);
+        assertEquals(osc.getActualValue(), osc.getEstimate(), 4 * osc.getStandardError());
+    }
+
+    @Test
+    void sobolBeatsPseudoRandomInModerateDimensions() {
+        NdMonteCarloRequest request = req(1 << 16, 10, -2.0, 2.0, "gaussian");
+        request.setSeed(3L);
+        NdMonteCarloResult random = service.integrate(request);
+        request.setSampler("sobol_owen");
+        NdMonteCarloResult sobol = service.integrate(request);
+
+        assertEquals("sobol_owen", sobol.getSampler());
+        double actual = sobol.getActualValue();
+        // 스크램블 Sobol 은 같은 표본 수에서 의사난수 표준오차보다 훨씬 가깝다
+        assertTrue(Math.abs(sobol.getEstimate() - actual) < random.getStandardError() / 4,
+                sobol.getEstimate() + " vs " + actual);
+        // 같은 시드는 같은 추정값
+        request.setSampler(null);
+        assertEquals(random.getEstimate(), service.integrate(request).getEstimate(), 0.0);
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThrows(InvalidParameterException.class, () -> NdIntegrandFactory.createIntegrand("torus"));
+        NdMonteCarloRequest tooMany = req(1000, 30, 0.0, 1.0, "ball");
+        tooMany.setSampler("sobol");
+        assertThrows(InvalidParameterException.class, () -> service.integrate(tooMany));
+        assertThrows(InvalidParameterException.class, () -> service.integrate(
+                new NdMonteCarloRequest(1000, 3, List.of(0.0, 0.0), List.of(1.0), "ball")));
+        assertThrows(InvalidParameterException.class, () -> service.integrate(req(1000, 3, 1.0, 1.0, "ball")));
+        // 의사난수는 차원 제한 없음
+        tooMany.setSampler("random");
+        assertEquals(30, service.integrate(tooMany).getDims());
+    }
+
+    @Test
+    void oversizedWorkAndUnboundedVolumesAreRejected() {
+        // 1e8 × 100 = 1e10 좌표
+        assertThrows(InvalidParameterException.class, () -> service.integrate(req(100_000_000, 100, 0.0, 1.0, "ball")));
+        // 폭 1e4 를 100 차원 곱하면 1e400 → Infinity
+        assertThrows(InvalidParameterException.class, () -> service.integrate(req(1000, 100, -5e3, 5e3, "gaussian")));
+        // 폭 1e-4 를 100 차원 곱하면 1e-400 → 0
+        assertThrows(InvalidParameterException.class, () -> service.integrate(req(1000, 100, 0.0, 1e-4, "gaussian")));
+        assertEquals(100, service.integrate(req(1000, 100, -2.0, 2.0, "gaussian")).getDims());
+    }
+}
@@ -0,0 +1,95 @@
+package com.yy.allgomath.montecarlo.qmc;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SamplerTest {
+
+    private static double[][] take(PointSource source, int dims, long from, int n) {
+        PointStream stream = source.stream(from, new SplittableRandom(1));
+        double[][] out = new double[n][dims];
+        for (int i = 0; i < n; i++) {
+            stream.next(out[i]);
+        }
+        return out;
+    }
+
+    @Test
+    void sobolStartsWithTheTextbookPoints() {
+        double[][] p = take(Sampler.SOBOL.prepare(2, 0), 2, 0, 4);
+        assertArrayEquals(new double[]{0, 0}, p[0]);
+        assertArrayEquals(new double[]{0.5, 0.5}, p[1]);
+        assertArrayEquals(new double[]{0.75, 0.25}, p[2]);
+        assertArrayEquals(new double[]{0.25, 0.75}, p[3]);
+    }
+
+    @Test
+    void haltonStartsWithRadicalInverses() {
+        double[][] p = take(Sampler.HALTON.prepare(3, 0), 3, 1, 3);
+        assertArrayEquals(new double[]{0.5, 1.0 / 3, 0.2}, p[0], 1e-15);
+        assertArrayEquals(new double[]{0.25, 2.0 / 3, 0.4}, p[1], 1e-15);
+        assertArrayEquals(new double[]{0.75, 1.0 / 9, 0.6}, p[2], 1e-15);
+    }
+
+    @Test
+    void streamsOpenedMidwayContinueTheSequence() {
+        for (Sampler s : Sampler.values()) {
+            if (!s.isQuasiRandom()) continue;
+            PointSource source = s.prepare(5, 7);
+            double[][] all = take(source, 5, 0, 3000);
+            double[][] tail = take(source, 5, 1234, 1766);
+            for (int i = 0; i < tail.length; i++) {
+                assertArrayEquals(all[1234 + i], tail[i], s.name());
+            }
+        }
+    }
+
+    @Test
+    void sobolFirstTwoDimensionsAreAZeroTwoNet() {
+        // 처음 2^m 점은 넓이 2^-m 인 모든 기본 상자(2^a × 2^b, a+b=m)에 정확히 한 점씩 — Owen 스크램블도 보존
+        int m = 10, n = 1 << m;
+        for (Sampler s : new Sampler[]{Sampler.SOBOL, Sampler.SOBOL_OWEN}) {
+            double[][] p = take(s.prepare(2, 99), 2, 0, n);
+            for (int a = 0; a <= m; a++) {
+                int[] count = new int[n];
+                for (double[] u : p) {
+                    int bx = (int) (u[0] * (1 << a)), by = (int) (u[1] * (1 << (m - a)));
+                    count[(bx << (m - a)) | by]++;
+                }
+                for (int c : count) {
+                    assertEquals(1, c, s + " a=" + a);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scrambledPointsStayInTheUnitCubeAndDependOnSeed() {
+        for (Sampler s : new Sampler[]{Sampler.SOBOL_OWEN, Sampler.HALTON_SCRAMBLED}) {
+            double[][] a = take(s.prepare(8, 1), 8, 0, 5000);
+            double[][] b = take(s.prepare(8, 2), 8, 0, 5000);
+            int same = 0;
+            for (int i = 0; i < a.length; i++) {
+                for (int d = 0; d < 8; d++) {
+                    assertTrue(a[i][d] >= 0 && a[i][d] < 1);
+                    if (a[i][d] == b[i][d]) same++;
+                }
+            }
+            assertTrue(same < 100, s.name());
+        }
+    }
+
+    @Test
+    void unknownSamplerIsRejected() {
+        assertEquals(Sampler.RANDOM, Sampler.from(null));
+        assertEquals(Sampler.SOBOL_OWEN, Sampler.from("Sobol_Owen"));
+        assertThrows(InvalidParameterException.class, () -> Sampler.from("lattice"));
+    }
+}
@@ -1,12 +1,27 @@
 package com.yy.allgomath.plotter;
 
 import com.yy.allgomath.common.exception.InvalidParameterException;
+import com.yy.allgomath.plotter.dto.AdaptiveMesh;
+import com.yy.allgomath.plotter.dto.AdaptiveMeshParams;
+import com.yy.allgomath.plotter.dto.BasinMap;
+import com.yy.allgomath.plotter.dto.BasinParams;
+import com.yy.allgomath.plotter.dto.CompareParams;
+import com.yy.allgomath.plotter.dto.CompareResult;
+import com.yy.allgomath.plotter.dto.ContourLevel;
+import com.yy.allgomath.plotter.dto.ContourParams;
+import com.yy.allgomath.plotter.dto.ContourResult;
 import com.yy.allgomath.plotter.dto.DescentParams;
 import com.yy.allgomath.plotter.dto.DescentResult;
+import com.yy.allgomath.plotter.dto.MeshParams;
+import com.yy.allgomath.plotter.dto.OptimizerPath;
+import com.yy.allgomath.plotter.dto.SurfaceMesh;
 import com.yy.allgomath.plotter.dto.SurfaceParams;
 import com.yy.allgomath.plotter.dto.SurfaceResult;
+import com.yy.allgomath.plotter.optim.Optimizer;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlotterServiceTest {
@@ -29,6 +44,238 @@ class PlotterServiceTest {
         assertEquals(8.0, r.z()[0][0], 1e-9); // corner (-2,-2): 4+4
     }
 
+    @Test
+    void mesh_matches_json_grid_and_round_trips_through_codec() {
+        SurfaceResult grid = svc.surface(new SurfaceParams("ripple", 3.0, 80));
+        SurfaceMesh mesh = svc.mesh(new MeshParams("ripple", 3.0, 80, true));
+
+        assertEquals(81 * 81, mesh.z().length);
+        for (int i = 0; i <= 80; i++) {
+            for (int j = 0; j <= 80; j++) {
+                assertEquals((float) grid.z()[i][j], mesh.z()[i * 81 + j]);
+            }
+        }
+        assertEquals((float) grid.zMin(), mesh.zMin());
+        assertEquals((float) grid.zMax(), mesh.zMax());
+        // 법선은 단위 길이이고 z 성분이 양수
+        for (int k = 0; k < mesh.normals().length; k += 3) {
+            float nx = mesh.normals()[k], ny = mesh.normals()[k + 1], nz = mesh.normals()[k + 2];
+            assertEquals(1.0, Math.sqrt(nx * nx + ny * ny + nz * nz), 1e-6);
+            assertTrue(nz > 0);
+        }
+
+        byte[] bytes = SurfaceMeshCodec.encode(mesh);
+        assertEquals(SurfaceMeshCodec.HEADER_BYTES + 81 * 81 * 4 * 4, bytes.length);
+        SurfaceMesh decoded = SurfaceMeshCodec.decode(bytes);
+        assertEquals(80, decoded.resolution());
+        assertArrayEquals(mesh.z(), decoded.z());
+        assertArrayEquals(mesh.normals(), decoded.normals());
+    }
+
+    @Test
+    void non_finite_samples_are_left_out_of_min_max() {
+        // x = 0 열은 1/x² = Infinity, x = -1 열의 e^90 은 double 로는 유한하지만 float 로 넘친다
+        PlotterFunction fn = PlotterFunction.of("exp(-90*x) + 1/x^2");
+
+        double[][] grid = new double[5][5];
+        double[] minMax = SurfaceSampler.sampleInto(fn, 1.0, 4, grid);
+        assertEquals(Double.POSITIVE_INFINITY, grid[2][0]);
+        assertEquals(1.0, minMax[0], 1e-12);
+        assertEquals(Math.exp(90) + 1, minMax[1], Math.exp(90) * 1e-12);
+
+        float[] z = new float[25];
+        minMax = SurfaceSampler.sampleInto(fn, 1.0, 4, z, null);
+        assertEquals(Float.POSITIVE_INFINITY, z[0]);
+        assertEquals(1.0, minMax[0], 1e-12);
+        assertEquals(Math.exp(45) + 4, minMax[1], Math.exp(45) * 1e-12);
+    }
+
+    @Test
+    void adaptive_mesh_tiles_the_square_without_gaps_or_overlaps() {
+        AdaptiveMesh m = svc.adaptiveMesh(new AdaptiveMeshParams("rosenbrock", 2.0, 0.001, 20000));
+        float[] v = m.vertices();
+        int[] t = m.triangles();
+        assertTrue(m.samples() <= 20000);
+        double area = 0;
+        for (int k = 0; k < t.length; k += 3) {
+            int a = 3 * t[k], b = 3 * t[k + 1], c = 3 * t[k + 2];
+            double cross = (v[b] - v[a]) * (v[c + 1] - v[a + 1]) - (v[b + 1] - v[a + 1]) * (v[c] - v[a]);
+            assertTrue(cross > 0, "반시계 방향 삼각형");
+            area += 0.5 * cross;
+        }
+        assertEquals(16.0, area, 1e-3);
+        for (int k = 0; k < v.length; k += 3) {
+            assertEquals(SurfaceFunction.of("rosenbrock").z(v[k], v[k + 1]), v[k + 2], Math.abs(v[k + 2]) * 1e-5 + 1e-3);
+        }
+    }
+
+    @Test
+    void adaptive_mesh_spends_points_where_the_surface_bends() {
+        // 평면은 시작 격자에서 더 나누지 않는다
+        AdaptiveMesh flat = svc.adaptiveMesh(new AdaptiveMeshParams("0.5*x - y", 2.0, 0.001, 20000));
+        assertEquals(64, flat.leaves());
+        assertEquals(81 * 3, flat.vertices().length);
+
+        // 로젠브록: 같은 정점 수의 균일 격자보다 보간 오차가 작다
+        AdaptiveMesh m = svc.adaptiveMesh(new AdaptiveMeshParams("rosenbrock", 2.0, 0.0005, 4000));
+        int n = (int) Math.sqrt(m.vertices().length / 3.0) - 1;
+        SurfaceResult uniform = svc.surface(new SurfaceParams("rosenbrock", 2.0, n));
+        assertTrue(maxCenterError(m) < maxCenterError(uniform, n, 2.0));
+    }
+
+    /** 삼각형 무게중심에서 선형 보간과 참값의 차이 최댓값. */
+    private static double maxCenterError(AdaptiveMesh m) {
+        float[] v = m.vertices();
+        int[] t = m.triangles();
+        double worst = 0;
+        for (int k = 0; k < t.length; k += 3) {
+            double x = 0, y = 0, z = 0;
+            for (int c = 0; c < 3; c++) {
+                x += v[3 * t[k + c]] / 3.0;
+                y += v[3 * t[k + c] + 1] / 3.0;
+                z += v[3 * t[k + c] + 2] / 3.0;
+            }
+            worst = Math.max(worst, Math.abs(SurfaceFunction.of("rosenbrock").z(x, y) - z));
+        }
+        return worst;
+    }
+
+    private static double maxCenterError(SurfaceResult r, int n, double range) {
+        double step = 2 * range / n, worst = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double avg = 0.25 * (r.z()[i][j] + r.z()[i + 1][j] + r.z()[i][j + 1] + r.z()[i + 1][j + 1]);
+                double z = SurfaceFunction.of("rosenbrock").z(-range + (i + 0.5) * step, -range + (j + 0.5) * step);
+                worst = Math.max(worst, Math.abs(z - avg));
+            }
+        }
+        return worst;
+    }
+
+    @Test
+    void bowl_contours_are_closed_circles() {
+        ContourResult r = svc.contours(new ContourParams("bowl", 2.0, 200, new double[]{1.0, 2.25}));
+        for (ContourLevel level : r.levels()) {
+            assertEquals(1, level.lines().size());
+            float[] line = level.lines().get(0);
+            double radius = Math.sqrt(level.level());
+            assertEquals(line[0], line[line.length - 2]);
+            assertEquals(line[1], line[line.length - 1]);
+            for (int k = 0; k < line.length; k += 2) {
+                assertEquals(radius, Math.hypot(line[k], line[k + 1]), 1e-3);
+            }
+        }
+    }
+
+    @Test
+    void saddle_contours_are_open_branches_ending_on_the_boundary() {
+        ContourResult r = svc.contours(new ContourParams("saddle", 2.0, 64, new double[]{1.0, -1.0, 9.0}));
+        for (ContourLevel level : r.levels().subList(0, 2)) {
+            assertEquals(2, level.lines().size());
+            for (float[] line : level.lines()) {
+                assertEquals(2.0, Math.max(Math.abs(line[0]), Math.abs(line[1])), 1e-6);
+                assertEquals(2.0, Math.max(Math.abs(line[line.length - 2]), Math.abs(line[line.length - 1])), 1e-6);
+                for (int k = 0; k < line.length; k += 2) {
+                    assertEquals(level.level(), line[k] * line[k] - line[k + 1] * line[k + 1], 0.01);
+                }
+            }
+        }
+        assertTrue(r.levels().get(2).lines().isEmpty());
+    }
+
+    @Test
+    void user_expression_samples_like_catalog_surface_and_descends() {
+        SurfaceResult bowl = svc.surface(new SurfaceParams("bowl", 2.0, 10));
+        SurfaceResult expr = svc.surface(new SurfaceParams("x^2 + y^2", 2.0, 10));
+        for (int i = 0; i <= 10; i++) {
+            assertArrayEquals(bowl.z()[i], expr.z()[i], 1e-12);
+        }
+
+        DescentResult r = svc.descend(new DescentParams("(x-1)^2 + 2*(y+0.5)^2", 2.0, 2.0, 0.1, 300));
+        assertTrue(r.converged());
+        var last = r.path().get(r.path().size() - 1);
+        assertEquals(1.0, last.x(), 1e-3);
+        assertEquals(-0.5, last.y(), 1e-3);
+    }
+
+    @Test
+    void compare_runs_every_optimizer_to_the_bowl_minimum() {
+        CompareResult r = svc.compare(new CompareParams("bowl", 2.0, -1.5, 0.05, 500, List.of(), 0));
+        assertEquals(Optimizer.values().length, r.paths().size());
+        for (OptimizerPath p : r.paths()) {
+            int last = p.x().length - 1;
+            assertTrue(p.converged(), p.optimizer());
+            assertEquals(p.iterations(), last, p.optimizer());
+            assertEquals(2.0, p.x()[0], 1e-12);
+            assertEquals(0.0, p.x()[last], 1e-3, p.optimizer());
+            assertEquals(0.0, p.y()[last], 1e-3, p.optimizer());
+        }
+        // 이차식에서 뉴턴은 한 스텝
+        assertEquals(1, r.paths().get(Optimizer.NEWTON.ordinal()).iterations());
+    }
+
+    @Test
+    void compare_keeps_request_order_and_reports_divergence() {
+        CompareResult r = svc.compare(new CompareParams("rosenbrock", -1.2, 1.0, 0.01, 500,
+                List.of(Optimizer.BFGS, Optimizer.NEWTON, Optimizer.GD), 0));
+        assertEquals(List.of("bfgs", "newton", "gd"), r.paths().stream().map(OptimizerPath::optimizer).toList());
+        for (OptimizerPath p : r.paths().subList(0, 2)) {
+            assertTrue(p.converged(), p.optimizer());
+            assertEquals(1.0, p.x()[p.x().length - 1], 1e-4);
+            assertEquals(1.0, p.y()[p.y().length - 1], 1e-4);
+        }
+        OptimizerPath gd = r.paths().get(2);
+        assertFalse(gd.converged());
+        assertEquals("diverged", gd.stop());
+    }
+
+    @Test
+    void basin_map_splits_double_well_into_two_minima() {
+        // 극소 (±1, 0), x = 0 선 위 시작점은 안장점 (0, 0) 으로 간다
+        BasinMap m = svc.basins(new BasinParams("(x^2-1)^2 + y^2", 2.0, 21, 0.05, 500));
+        assertEquals(21 * 21, m.basin().length);
+        assertEquals(3, m.attractors().size());
+        for (int a = 0; a < 2; a++) {
+            assertEquals("minimum", m.attractors().get(a).kind());
+            assertEquals(1.0, Math.abs(m.attractors().get(a).x()), 1e-3);
+            assertEquals(210, m.attractors().get(a).count());
+        }
+        assertEquals("saddle", m.attractors().get(2).kind());
+        int left = m.basin()[0], right = m.basin()[20 * 21];
+        assertNotEquals(left, right);
+        assertTrue(m.attractors().get(left).x() < 0);
+        for (int i = 0; i < 21; i++) {
+            for (int j = 0; j < 21; j++) {
+                int expected = i < 10 ? left : i > 10 ? right : 2;
+                assertEquals(expected, m.basin()[i * 21 + j], i + "," + j);
+            }
+        }
+    }
+
+    @Test
+    void basin_map_marks_overflowing_descents_as_stopped() {
+        // 원점(극대)을 피하는 짝수 격자. 반지름 ~26.6 을 넘으면 exp 가 넘쳐 라인서치가 멈춘다
+        BasinMap m = svc.basins(new BasinParams("-exp(x^2+y^2)", 2.0, 4, 0.1, 500));
+        assertTrue(m.attractors().isEmpty());
+        for (int b : m.basin()) {
+            assertEquals(BasinMap.STOPPED, b);
+        }
+    }
+
+    @Test
+    void basin_lane_matches_single_descent() {
+        String fn = "(x-1)^2 + 2*(y+0.5)^2 + 0.3*sin(3*x)";
+        BasinMap m = svc.basins(new BasinParams(fn, 3.0, 7, 0.1, 300));
+        // 시작점 (i=1, j=5) = (-2, 2)
+        DescentResult r = svc.descend(new DescentParams(fn, -2.0, 2.0, 0.1, 300));
+        assertTrue(r.converged());
+        assertEquals(r.iterations(), m.iterations()[7 + 5]);
+        var last = r.path().get(r.path().size() - 1);
+        var a = m.attractors().get(m.basin()[7 + 5]);
+        assertEquals(last.x(), a.x(), 2e-3);
+        assertEquals(last.y(), a.y(), 2e-3);
+    }
+
     @Test
     void function_gradients_are_analytic() {
         assertArrayEquals(new double[]{2, 2}, SurfaceFunction.of("bowl").grad(1, 1), 1e-9);
@@ -0,0 +1,70 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.plotter.PlotterFunction;
+import com.yy.allgomath.plotter.SurfaceFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AutoDiffTest {
+
+    @ParameterizedTest
+    @EnumSource(SurfaceFunction.class)
+    void catalog_value_and_gradient_match_hand_written(SurfaceFunction fn) {
+        AutoDiff ad = fn.autoDiff();
+        double[] d = new double[6];
+        for (double x = -1.7; x < 2; x += 0.45) {
+            for (double y = -1.3; y < 2; y += 0.55) {
+                ad.evalInto(x, y, d);
+                double[] g = fn.grad(x, y);
+                double scale = Math.max(1, Math.abs(fn.z(x, y)));
+                assertEquals(fn.z(x, y), d[AutoDiff.VALUE], 1e-12 * scale);
+                assertEquals(g[0], d[AutoDiff.DX], 1e-9 * Math.max(1, Math.abs(g[0])));
+                assertEquals(g[1], d[AutoDiff.DY], 1e-9 * Math.max(1, Math.abs(g[1])));
+            }
+        }
+    }
+
+    @Test
+    void rosenbrock_hessian_at_minimum() {
+        double[] d = new double[6];
+        SurfaceFunction.ROSENBROCK.autoDiff().evalInto(1, 1, d);
+        assertEquals(0, d[AutoDiff.DX], 0);
+        assertEquals(802, d[AutoDiff.DXX], 1e-9);
+        assertEquals(-400, d[AutoDiff.DXY], 1e-9);
+        assertEquals(200, d[AutoDiff.DYY], 1e-9);
+    }
+
+    /** 헤시안 = 기울기의 중앙 차분. */
+    @ParameterizedTest
+    @ValueSource(strings = {"sin(x)*cos(y)", "exp(-(x^2+y^2))", "x^y", "sqrt(x^2+y^2+1)", "x/(y+3)",
+            "log(x^2+1)*tanh(y)", "atan(x*y) + asin(x/3) - acos(y/3)", "x^2.5*cosh(y) + sinh(x)*tan(y/2)"})
+    void hessian_matches_difference_of_gradient(String source) {
+        PlotterFunction f = PlotterFunction.of(source);
+        AutoDiff ad = f.autoDiff();
+        double[] d = new double[6];
+        double[] p = new double[6];
+        double[] m = new double[6];
+        double h = 1e-5;
+        for (double x = 0.3; x < 2; x += 0.37) {
+            for (double y = 0.4; y < 2; y += 0.41) {
+                ad.evalInto(x, y, d);
+                assertEquals(f.z(x, y), d[AutoDiff.VALUE], 1e-12 * Math.max(1, Math.abs(d[AutoDiff.VALUE])));
+
+                ad.evalInto(x + h, y, p);
+                ad.evalInto(x - h, y, m);
+                double tol = 1e-5 * Math.max(1, Math.abs(d[AutoDiff.DXX]) + Math.abs(d[AutoDiff.DXY]));
+                assertEquals((p[AutoDiff.DX] - m[AutoDiff.DX]) / (2 * h), d[AutoDiff.DXX], tol);
+                assertEquals((p[AutoDiff.DY] - m[AutoDiff.DY]) / (2 * h), d[AutoDiff.DXY], tol);
+
+                ad.evalInto(x, y + h, p);
+                ad.evalInto(x, y - h, m);
+                tol = 1e-5 * Math.max(1, Math.abs(d[AutoDiff.DYY]));
+                assertEquals((p[AutoDiff.DY] - m[AutoDiff.DY]) / (2 * h), d[AutoDiff.DYY], tol);
+            }
+        }
+    }
+}
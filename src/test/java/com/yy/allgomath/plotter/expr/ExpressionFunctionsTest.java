@@ -0,0 +1,67 @@
+package com.yy.allgomath.plotter.expr;
+
+import com.yy.allgomath.common.exception.InvalidParameterException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpressionFunctionsTest {
+
+    @Test
+    void equivalent_spellings_share_one_compiled_function() {
+        ExpressionFunction a = ExpressionFunctions.compile("z = x^2 + y^2");
+        ExpressionFunction b = ExpressionFunctions.compile("x**2+y**2");
+        assertSame(a, b);
+        assertEquals("x^2+y^2", a.expr());
+        assertEquals("2*x", a.dxExpr());
+        assertEquals(8.0, a.z(2, 2), 0);
+    }
+
+    @Test
+    void precedence_and_associativity() {
+        assertEquals(-9.0, ExpressionFunctions.compile("-x^2").z(3, 0), 0);
+        assertEquals(9.0, ExpressionFunctions.compile("(-x)^2").z(3, 0), 0);
+        assertEquals(512.0, ExpressionFunctions.compile("x^y^2").z(2, 3), 0);
+        assertEquals(2.0, ExpressionFunctions.compile("x-(y-1)").z(2, 1), 0);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sin(x)*cos(y)", "exp(-(x^2+y^2))", "x^y", "sqrt(x^2+y^2+1)",
+            "log(x^2+1)*tanh(y)", "x/(y*2) + atan(x*y)", "x^3-3*x*y^2"})
+    void symbolic_gradient_matches_central_difference(String source) {
+        ExpressionFunction f = ExpressionFunctions.compile(source);
+        double h = 1e-6;
+        for (double x = 0.3; x < 2; x += 0.37) {
+            for (double y = 0.4; y < 2; y += 0.41) {
+                double[] g = f.grad(x, y);
+                assertEquals((f.z(x + h, y) - f.z(x - h, y)) / (2 * h), g[0], 1e-6 * Math.max(1, Math.abs(g[0])));
+                assertEquals((f.z(x, y + h) - f.z(x, y - h)) / (2 * h), g[1], 1e-6 * Math.max(1, Math.abs(g[1])));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"sin(x)*cos(y)", "x^y", "x/(y*2) + atan(x*y)"})
+    void first_order_evaluation_agrees_with_autodiff(String source) {
+        ExpressionFunction f = ExpressionFunctions.compile(source);
+        AutoDiff ad = f.autoDiff();
+        double[] first = new double[3], jet = new double[6];
+        for (double x = 0.3; x < 2; x += 0.37) {
+            for (double y = 0.4; y < 2; y += 0.41) {
+                f.valueAndGradInto(x, y, first);
+                ad.evalInto(x, y, jet);
+                for (int k = AutoDiff.VALUE; k <= AutoDiff.DY; k++) {
+                    assertEquals(jet[k], first[k], 1e-12 * Math.max(1, Math.abs(jet[k])));
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"nope", "x+", "sin x", "(x", "x y", "", "getClass()"})
+    void malformed_expressions_are_rejected(String source) {
+        assertThrows(InvalidParameterException.class, () -> ExpressionFunctions.compile(source));
+    }
+}